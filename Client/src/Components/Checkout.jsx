@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useRef, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useAuth  } from "../Contexts/AuthContext";
 import './Checkout.css';
@@ -11,6 +11,9 @@ const Checkout = ({ cart, clearCart, removeItemFromCart, updateCartItems }) => {
   const authorityId = 1;
   const selfCheckout = selfCheckoutEnabled;
   const cartItems = cart; // Passed down from App.js
+  // Key and date of the order being submitted, reused when the same order is resent after a network
+  // failure so the server can answer the retry instead of checking out twice.
+  const pendingOrder = useRef(null);
 
   const handleQuantityChange = (itemId, delta) => {
     const updatedItems = cartItems.map(item => {
@@ -60,29 +63,45 @@ const Checkout = ({ cart, clearCart, removeItemFromCart, updateCartItems }) => {
     setIsSubmitting(true);
   
     try {
-      const orderPayload = {
+      const order = {
         studentId,
         authorityId,
         selfCheckout,
-        checkoutDate: new Date().toISOString(),
         checkoutItems: cartItems.map(item => ({
           itemId: item.itemId,
           quantity: item.quantity
         }))
       };
+      const signature = JSON.stringify(order);
+      if (pendingOrder.current?.signature !== signature) {
+        pendingOrder.current = {
+          signature,
+          key: crypto.randomUUID(),
+          checkoutDate: new Date().toISOString()
+        };
+      }
+      const orderPayload = { ...order, checkoutDate: pendingOrder.current.checkoutDate };
   
       console.log("Submitting order payload:", orderPayload); // for debug
   
       const response = await fetch('http://localhost:8080/api/checkout-order', {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
+        headers: {
+          'Content-Type': 'application/json',
+          'Idempotency-Key': pendingOrder.current.key
+        },
         body: JSON.stringify(orderPayload)
       });
   
       if (!response.ok) {
+        // 409 means the first attempt is still running; anything else was a real answer.
+        if (response.status !== 409) {
+          pendingOrder.current = null;
+        }
         throw new Error('Checkout order failed');
       }
       else {
+        pendingOrder.current = null;
         alert('Checkout successful!');
         window.dispatchEvent(new Event('categoryUpdated'));
       }
@@ -33,11 +33,8 @@ function AddPurchaseForm() {
   // Load items from selected vendor
   useEffect(() => {
     if (selectedVendorId) {
-      axios.get('http://localhost:8080/api/item')
-        .then(res => {
-          const vendorItems = res.data.filter(item => item.enabled);
-          setItems(vendorItems);
-        })
+      axios.get('http://localhost:8080/api/item/enabled')
+        .then(res => setItems(res.data))
         .catch(err => console.error('Failed to load items', err));
     } else {
       setItems([]);
@@ -19,8 +19,8 @@ function EditCheckoutItemForm() {
 
   useEffect(() => {
     // Fetch item list
-    axios.get('http://localhost:8080/api/item')
-      .then(res => setItems(res.data.filter(i => i.enabled)))
+    axios.get('http://localhost:8080/api/item/enabled')
+      .then(res => setItems(res.data))
       .catch(err => console.error("Error fetching items:", err));
 
     // Fetch current checkout item
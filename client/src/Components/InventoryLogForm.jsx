@@ -34,8 +34,8 @@ function InventoryLogForm() {
 
   // Load items
   useEffect(() => {
-    axios.get('http://localhost:8080/api/item')
-      .then(res => setItems(res.data.filter(item => item.enabled)))
+    axios.get('http://localhost:8080/api/item/enabled')
+      .then(res => setItems(res.data))
       .catch(err => console.error("Failed to fetch items", err));
   }, []);
 
@@ -141,6 +141,82 @@ CREATE TABLE purchase_item (
     UNIQUE (purchase_id, item_id)
 );
 
+-- Table: checkout_hourly_summary
+/*
+Primary Key (PK): day_of_week, hour, shard
+Checkout counts per weekday (1 = Sunday, as returned by DAYOFWEEK) and hour of day, kept in step
+with checkout_order by the API so the dashboard heatmap never scans checkout_order. Each write lands on
+a random shard so concurrent checkouts in the same hour do not queue on one row; readers sum the shards.
+*/
+CREATE TABLE checkout_hourly_summary (
+    day_of_week TINYINT NOT NULL,
+    hour TINYINT NOT NULL,
+    shard TINYINT NOT NULL DEFAULT 0,
+    total_checkouts INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day_of_week, hour, shard)
+);
+
+-- Table: checkout_item_daily_tally
+/*
+Primary Key (PK): checkout_day, item_id
+Quantity checked out per item per day, kept in step with checkout_item by the API so the popular
+items and categories reports (including the ?since= window) never scan checkout_item.
+*/
+CREATE TABLE checkout_item_daily_tally (
+    checkout_day DATE NOT NULL,
+    item_id INT NOT NULL,
+    total_quantity INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (checkout_day, item_id)
+);
+
+-- Table: inventory_ledger
+/*
+Primary Key (PK): entry_id
+Foreign Key (FK): item_id references item(item_id)
+Append-only record of every change to item.current_count, written by the API in the same transaction
+as the change. source names the service operation that made it. An item's entries always sum to its
+current_count; the first one is its opening balance.
+*/
+CREATE TABLE inventory_ledger (
+    entry_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    item_id INT NOT NULL,
+    quantity_change INT NOT NULL,
+    recorded_at DATETIME(6) NOT NULL,
+    source VARCHAR(60) NULL,
+    FOREIGN KEY (item_id) REFERENCES item(item_id)
+);
+
+-- Table: inventory_snapshot
+/*
+Primary Key (PK): item_id, snapshot_day
+Closing stock of every item on each day since its first ledger entry, rolled up from inventory_ledger
+once the day is over. Stock at any moment is the last snapshot before that day plus the ledger entries
+since.
+*/
+CREATE TABLE inventory_snapshot (
+    item_id INT NOT NULL,
+    snapshot_day DATE NOT NULL,
+    stock INT NOT NULL,
+    PRIMARY KEY (item_id, snapshot_day)
+);
+
+-- Table: idempotency_key
+/*
+Primary Key (PK): endpoint, idempotency_key
+Responses to POSTs sent with an Idempotency-Key header, so a client retrying after a dropped
+connection gets the original response back instead of a second order. status_code is 0 while the
+first request is still running. Rows older than the configured TTL are purged by the API.
+*/
+CREATE TABLE idempotency_key (
+    endpoint VARCHAR(50) NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status_code SMALLINT NOT NULL DEFAULT 0,
+    response_body MEDIUMTEXT NULL,
+    created_at DATETIME NOT NULL,
+    PRIMARY KEY (endpoint, idempotency_key)
+);
+
 -- Index to speed up queries for busiest hours.
 CREATE INDEX idx_checkout_order_date ON checkout_order(checkout_date);
 
@@ -157,6 +233,28 @@ CREATE INDEX idx_checkout_item_date ON checkout_item(checkout_id, quantity);
 CREATE INDEX idx_checkout_item_item_id ON checkout_item(item_id);
 CREATE INDEX idx_purchase_item_item_id ON purchase_item(item_id);
 
+-- Composite indexes backing the duplicate checks run on every insert/update. The inventory log's
+-- check uses idx_inventory_log_item_time below.
+CREATE INDEX idx_checkout_order_student_date ON checkout_order(student_id, checkout_date);
+CREATE INDEX idx_purchase_order_vendor_date ON purchase_order(vendor_id, purchase_date);
+
+-- Indexes backing time-range audits of the inventory log, newest first. InnoDB appends log_id to
+-- each, so they also cover the ORDER BY time_stamp DESC, log_id DESC tiebreak. The (item_id, time_stamp)
+-- one also serves the duplicate check: an item has next to no rows at the same instant, so
+-- authority_id is filtered from those without a column of its own.
+CREATE INDEX idx_inventory_log_item_time ON inventory_log(item_id, time_stamp);
+CREATE INDEX idx_inventory_log_time_stamp ON inventory_log(time_stamp);
+CREATE INDEX idx_inventory_log_authority_time ON inventory_log(authority_id, time_stamp);
+
+-- Index backing the purge of expired idempotency keys.
+CREATE INDEX idx_idempotency_key_created_at ON idempotency_key(created_at);
+
+-- Indexes backing the inventory ledger: per-item sums up to a point in time (covering, so neither
+-- the point-in-time lookup nor reconciliation touches the table rows) and the daily snapshot rollup.
+CREATE INDEX idx_inventory_ledger_item_time ON inventory_ledger(item_id, recorded_at, quantity_change);
+CREATE INDEX idx_inventory_ledger_recorded_at ON inventory_ledger(recorded_at, item_id, quantity_change);
+CREATE INDEX idx_inventory_snapshot_day ON inventory_snapshot(snapshot_day);
+
 -- -----------------------------------------------------
 -- Known Good State
 -- -----------------------------------------------------
@@ -176,6 +274,11 @@ BEGIN
     TRUNCATE TABLE vendor;
     TRUNCATE TABLE item;
     TRUNCATE TABLE app_user;
+    TRUNCATE TABLE checkout_hourly_summary;
+    TRUNCATE TABLE checkout_item_daily_tally;
+    TRUNCATE TABLE idempotency_key;
+    TRUNCATE TABLE inventory_ledger;
+    TRUNCATE TABLE inventory_snapshot;
 
     -- Re-enable foreign key checks
     SET FOREIGN_KEY_CHECKS = 1;
@@ -278,6 +381,12 @@ BEGIN
 		('VF28040', 2, TRUE,  '2025-04-04 15:45:00'), -- Fri
 		('VF73068', 3, TRUE,  '2025-04-04 11:00:00'); -- Fri
 
+    -- Rebuild the heatmap summary from the orders above
+    INSERT INTO checkout_hourly_summary (day_of_week, hour, total_checkouts)
+        SELECT DAYOFWEEK(checkout_date), HOUR(checkout_date), COUNT(*)
+        FROM checkout_order
+        GROUP BY DAYOFWEEK(checkout_date), HOUR(checkout_date);
+
     -- Checkout Items
     INSERT INTO checkout_item (checkout_id, item_id, quantity) VALUES
         (1, 1, 2), (1, 4, 1),
@@ -291,6 +400,13 @@ BEGIN
         (9, 12, 2), (9, 23, 1),
         (10, 25, 1);
 
+    -- Rebuild the popularity tally from the items above
+    INSERT INTO checkout_item_daily_tally (checkout_day, item_id, total_quantity)
+        SELECT DATE(o.checkout_date), ci.item_id, SUM(ci.quantity)
+        FROM checkout_item ci
+        INNER JOIN checkout_order o ON o.checkout_id = ci.checkout_id
+        GROUP BY DATE(o.checkout_date), ci.item_id;
+
     -- Sample inventory log (tracking item adjustments)
     INSERT INTO inventory_log (authority_id, item_id, quantity_change, reason) VALUES
         (2, 4, -2, 'Damaged Packaging'),
@@ -298,6 +414,11 @@ BEGIN
         (1, 6, 2, 'Re-stock correction'),
         (1, 4, 1, 'Extra bag in box from vendor.');
 
+    -- Opening balances, so each item's ledger sums to its current_count
+    INSERT INTO inventory_ledger (item_id, quantity_change, recorded_at, source)
+        SELECT item_id, current_count, '2025-01-01 00:00:00', 'opening balance'
+        FROM item;
+
 END //
 
 DELIMITER ;
\ No newline at end of file
@@ -5,6 +5,11 @@ USE re_inventory;
 DROP TABLE IF EXISTS inventory_log;
 DROP TABLE IF EXISTS checkout_item;
 DROP TABLE IF EXISTS purchase_item;
+DROP TABLE IF EXISTS checkout_hourly_summary;
+DROP TABLE IF EXISTS checkout_item_daily_tally;
+DROP TABLE IF EXISTS idempotency_key;
+DROP TABLE IF EXISTS inventory_ledger;
+DROP TABLE IF EXISTS inventory_snapshot;
 
 DROP TABLE IF EXISTS checkout_order;
 DROP TABLE IF EXISTS purchase_order;
@@ -1,5 +1,6 @@
 package re.api.controllers;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -8,6 +9,7 @@ import re.api.domain.Result;
 import re.api.domain.ResultType;
 import re.api.models.CheckoutItem;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -32,13 +34,21 @@ public class CheckoutItemController {
     }
 
     @GetMapping("/popular-items")
-    public List<Map<String, Object>> findPopularItems() {
-        return service.findPopularItems();
+    public List<Map<String, Object>> findPopularItems(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        return service.findPopularItems(since);
     }
 
     @GetMapping("/popular-categories")
-    public List<Map<String, Object>> findPopularCategories() {
-        return service.findPopularCategories();
+    public List<Map<String, Object>> findPopularCategories(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        return service.findPopularCategories(since);
+    }
+
+    @PostMapping("/popular-tally/rebuild")
+    public ResponseEntity<Void> rebuildPopularityTally() {
+        service.rebuildPopularityTally();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     @PutMapping("/{checkoutItemId}")
@@ -1,13 +1,19 @@
 package re.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import re.api.domain.CheckoutOrderService;
+import re.api.domain.IdempotencyService;
 import re.api.domain.Result;
 import re.api.domain.ResultType;
+import re.api.models.CheckoutHistoryLine;
 import re.api.models.CheckoutOrder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -16,15 +22,74 @@ import java.util.Map;
 @CrossOrigin
 public class CheckoutOrderController {
 
+    private static final List<String> HISTORY_HEADER = List.of("checkout_id", "checkout_date", "student_id",
+            "authority_id", "self_checkout", "item_id", "item_name", "category", "quantity", "price_per_unit");
+
     private final CheckoutOrderService service;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
-    public CheckoutOrderController(CheckoutOrderService service) {
+    public CheckoutOrderController(CheckoutOrderService service,
+                                   IdempotencyService idempotencyService,
+                                   ObjectMapper objectMapper) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
+    // Same array as /stream: a semester of orders with their items is too big to build in memory first.
     @GetMapping
-    public List<CheckoutOrder> findAll() {
-        return service.findAll();
+    public ResponseEntity<StreamingResponseBody> findAll() {
+        return StreamingJsonResponse.build(objectMapper, service::streamAll);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<CheckoutOrder>> findPage(@RequestParam(defaultValue = "0") int after,
+                                                        @RequestParam int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.findPage(after, limit));
+    }
+
+    // Newest first; pass the last checkoutOrderId of a page as before to get the next one.
+    @GetMapping("/student/{studentId}")
+    public ResponseEntity<List<CheckoutOrder>> findByStudentId(
+            @PathVariable String studentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int before,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.findByStudentId(studentId, from, to, before, limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return StreamingJsonResponse.build(objectMapper, service::streamAll);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+        boolean gzip = format.equalsIgnoreCase("csv.gz");
+        if (!gzip && !format.equalsIgnoreCase("csv")) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return StreamingCsvResponse.build("checkout-history", gzip, HISTORY_HEADER,
+                CheckoutOrderController::toHistoryRow,
+                consumer -> service.exportHistory(from, to, consumer));
     }
 
     @GetMapping("/{checkoutOrderId}")
@@ -41,13 +106,24 @@ public class CheckoutOrderController {
         return service.findHourlyCheckoutSummary();
     }
 
+    @PostMapping("/hourly-checkout-summary/rebuild")
+    public ResponseEntity<Void> rebuildHourlyCheckoutSummary() {
+        service.rebuildHourlyCheckoutSummary();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> add(@RequestBody CheckoutOrder checkoutOrder) {
-        Result<CheckoutOrder> result = service.add(checkoutOrder);
-        if (result.isSuccess()) {
-            return new ResponseEntity<>(result.getPayload(), HttpStatus.CREATED);
-        }
-        return ErrorResponse.build(result);
+    public ResponseEntity<Object> add(@RequestBody CheckoutOrder checkoutOrder,
+                                      @RequestHeader(name = IdempotentRequest.KEY_HEADER, required = false)
+                                      String idempotencyKey) {
+        return IdempotentRequest.handle(idempotencyService, objectMapper, "checkout-order", idempotencyKey,
+                checkoutOrder, () -> {
+                    Result<CheckoutOrder> result = service.add(checkoutOrder);
+                    if (result.isSuccess()) {
+                        return new ResponseEntity<>(result.getPayload(), HttpStatus.CREATED);
+                    }
+                    return ErrorResponse.build(result);
+                });
     }
 
     @PutMapping("/{checkoutOrderId}")
@@ -77,4 +153,10 @@ public class CheckoutOrderController {
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    private static List<?> toHistoryRow(CheckoutHistoryLine line) {
+        return List.of(line.checkoutOrderId(), line.checkoutDate(), line.studentId(), line.authorityId(),
+                line.selfCheckout(), line.itemId(), line.itemName(), line.category(), line.quantity(),
+                line.pricePerUnit());
+    }
 }
@@ -0,0 +1,90 @@
+package re.api.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import re.api.domain.IdempotencyService;
+import re.api.domain.Result;
+import re.api.domain.ResultType;
+import re.api.models.IdempotentResponse;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+public class IdempotentRequest {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Runs action at most once per key. A retry with the same key and body gets the first response back,
+    // marked with Idempotent-Replayed; 5xx responses and exceptions release the key so it can be retried.
+    // Without a key the action simply runs.
+    public static ResponseEntity<Object> handle(IdempotencyService service, ObjectMapper objectMapper,
+                                                String endpoint, String idempotencyKey, Object request,
+                                                Supplier<ResponseEntity<Object>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+
+        String requestHash = hash(writeJson(objectMapper, request));
+        Result<IdempotentResponse> claim = service.claim(endpoint, idempotencyKey, requestHash);
+        if (claim.getType() == ResultType.DUPLICATE) {
+            return new ResponseEntity<>(claim.getMessages(), HttpStatus.CONFLICT);
+        }
+        if (!claim.isSuccess()) {
+            return ErrorResponse.build(claim);
+        }
+        if (claim.getPayload() != null) {
+            return replay(claim.getPayload());
+        }
+
+        ResponseEntity<Object> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            service.release(endpoint, idempotencyKey);
+            throw ex;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            service.release(endpoint, idempotencyKey);
+        } else {
+            String body = response.getBody() == null ? null : new String(writeJson(objectMapper, response.getBody()),
+                    StandardCharsets.UTF_8);
+            service.complete(endpoint, idempotencyKey, requestHash, response.getStatusCode().value(), body);
+        }
+        return response;
+    }
+
+    private static ResponseEntity<Object> replay(IdempotentResponse stored) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode())
+                .header(REPLAYED_HEADER, "true");
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON)
+                .body(stored.body().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] writeJson(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String hash(byte[] request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(request));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is required by every JVM", ex);
+        }
+    }
+}
@@ -1,21 +1,27 @@
 package re.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import re.api.domain.InventoryLogService;
 import re.api.models.InventoryLog;
 import re.api.domain.Result;
 import re.api.domain.ResultType;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/inventory-log")
 public class InventoryLogController {
     private final InventoryLogService service;
+    private final ObjectMapper objectMapper;
 
-    public InventoryLogController(InventoryLogService service) {
+    public InventoryLogController(InventoryLogService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -23,6 +29,35 @@ public class InventoryLogController {
         return service.findAll();
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<InventoryLog>> findPage(@RequestParam(defaultValue = "0") int after,
+                                                       @RequestParam int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.findPage(after, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Object> findByTimeRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer itemId,
+            @RequestParam(required = false) Integer authorityId,
+            @RequestParam(required = false) String reason,
+            @RequestParam(defaultValue = "100") int limit) {
+        Result<List<InventoryLog>> result = service.findByTimeRange(from, to, itemId, authorityId, reason, limit);
+        if (result.isSuccess()) {
+            return ResponseEntity.ok(result.getPayload());
+        }
+        return ErrorResponse.build(result);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return StreamingJsonResponse.build(objectMapper, service::streamAll);
+    }
+
     @GetMapping("/{logId}")
     public ResponseEntity<InventoryLog> findById(@PathVariable int logId) {
         InventoryLog log = service.findById(logId);
@@ -1,23 +1,50 @@
 package re.api.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import re.api.domain.InventoryLedgerService;
 import re.api.domain.ItemService;
 import re.api.domain.Result;
 import re.api.domain.ResultType;
 import re.api.models.Item;
+import re.api.models.ItemStock;
+import re.api.models.StockDiscrepancy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @RestController
 @CrossOrigin
 @RequestMapping("/api/item")
 public class ItemController {
+    private static final CacheControl CATALOG_CACHE = CacheControl.noCache();
+
     private final ItemService itemService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final ObjectMapper objectMapper;
+
+    // Versions restart at zero with each instance, so the tag also names the instance that issued it.
+    private final String catalogTag = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private volatile EnabledCatalog enabledCatalog;
+
+    private record EnabledCatalog(long version, byte[] json) {
+    }
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService,
+                          InventoryLedgerService inventoryLedgerService,
+                          ObjectMapper objectMapper) {
         this.itemService = itemService;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -25,9 +52,46 @@ public class ItemController {
         return itemService.findAll();
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<Item>> findPage(@RequestParam(defaultValue = "0") int after,
+                                               @RequestParam int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(itemService.findPage(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return StreamingJsonResponse.build(objectMapper, itemService::streamAll);
+    }
+
+    // The kiosk and the admin forms load this on every mount. Clients revalidate each time (no-cache), and
+    // while no item has changed the answer is a 304 decided from the in-memory catalog version alone.
+    // A changed catalog is serialized once and the bytes reused until the next change.
     @GetMapping("/enabled")
-    public List<Item> findAllEnabled() {
-        return itemService.findAllEnabled();
+    public ResponseEntity<byte[]> findAllEnabled(WebRequest request) throws JsonProcessingException {
+        long version = itemService.enabledCatalogVersion();
+        String etag = "\"" + catalogTag + "-" + version + "\"";
+        if (request.checkNotModified(etag)) {
+            // checkNotModified has already set the 304 status and the ETag header
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CATALOG_CACHE).build();
+        }
+
+        EnabledCatalog catalog = enabledCatalog;
+        if (catalog == null || catalog.version() != version) {
+            catalog = new EnabledCatalog(version, objectMapper.writeValueAsBytes(itemService.findAllEnabled()));
+            // Only keep it if nothing changed while loading; it is still safe to send under the old tag.
+            if (itemService.enabledCatalogVersion() == version) {
+                enabledCatalog = catalog;
+            }
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CATALOG_CACHE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
     }
 
     @GetMapping("/item-id/{itemId}")
@@ -39,6 +103,39 @@ public class ItemController {
         return ResponseEntity.ok(item);
     }
 
+    @GetMapping("/item-id/{itemId}/stock")
+    public ResponseEntity<Object> findStockAt(
+            @PathVariable int itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        Result<ItemStock> result = inventoryLedgerService.findStockAt(itemId, at);
+        if (result.isSuccess()) {
+            return ResponseEntity.ok(result.getPayload());
+        }
+        return ErrorResponse.build(result);
+    }
+
+    @GetMapping("/stock")
+    public ResponseEntity<Object> findAllStockAt(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        Result<List<ItemStock>> result = inventoryLedgerService.findAllStockAt(at);
+        if (result.isSuccess()) {
+            return ResponseEntity.ok(result.getPayload());
+        }
+        return ErrorResponse.build(result);
+    }
+
+    @GetMapping("/ledger/reconciliation")
+    public List<StockDiscrepancy> reconcileLedger() {
+        return inventoryLedgerService.reconcile();
+    }
+
+    // Normally run by the nightly schedule; exposed for backfills and for catching up after downtime.
+    @PostMapping("/ledger/snapshots")
+    public ResponseEntity<Void> addLedgerSnapshots() {
+        inventoryLedgerService.addSnapshots();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @GetMapping("/name/{itemName}")
     public ResponseEntity<Item> findByName(@PathVariable String itemName) {
         Item item = itemService.findByName(itemName);
@@ -1,13 +1,20 @@
 package re.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import re.api.domain.IdempotencyService;
+import re.api.domain.PurchaseImportService;
 import re.api.domain.PurchaseOrderService;
 import re.api.domain.Result;
 import re.api.domain.ResultType;
 import re.api.models.PurchaseOrder;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -16,9 +23,18 @@ import java.util.List;
 public class PurchaseOrderController {
 
     private final PurchaseOrderService service;
-
-    public PurchaseOrderController(PurchaseOrderService service) {
+    private final PurchaseImportService importService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public PurchaseOrderController(PurchaseOrderService service,
+                                   PurchaseImportService importService,
+                                   IdempotencyService idempotencyService,
+                                   ObjectMapper objectMapper) {
         this.service = service;
+        this.importService = importService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -26,6 +42,20 @@ public class PurchaseOrderController {
         return service.findAll();
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<PurchaseOrder>> findPage(@RequestParam(defaultValue = "0") int after,
+                                                        @RequestParam int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.findPage(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return StreamingJsonResponse.build(objectMapper, service::streamAll);
+    }
+
     @GetMapping("/{purchaseId}")
     public ResponseEntity<PurchaseOrder> findById(@PathVariable int purchaseId) {
         PurchaseOrder purchaseOrder = service.findById(purchaseId);
@@ -36,14 +66,30 @@ public class PurchaseOrderController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestBody PurchaseOrder purchaseOrder) {
-        Result<PurchaseOrder> result = service.add(purchaseOrder);
+    public ResponseEntity<Object> add(@RequestBody PurchaseOrder purchaseOrder,
+                                      @RequestHeader(name = IdempotentRequest.KEY_HEADER, required = false)
+                                      String idempotencyKey) {
+        return IdempotentRequest.handle(idempotencyService, objectMapper, "purchase", idempotencyKey,
+                purchaseOrder, () -> {
+                    Result<PurchaseOrder> result = service.add(purchaseOrder);
+
+                    if (result.isSuccess()) {
+                        return new ResponseEntity<>(result.getPayload(), HttpStatus.CREATED);
+                    }
+
+                    return ErrorResponse.build(result);
+                });
+    }
 
-        if (result.isSuccess()) {
-            return new ResponseEntity<>(result.getPayload(), HttpStatus.CREATED);
-        }
+    // The body is read as a stream, so large files are never buffered as a single string.
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<Object> importCsv(@RequestParam int adminId, InputStream body) {
+        return importPurchases(adminId, body, PurchaseImportService.Format.CSV);
+    }
 
-        return ErrorResponse.build(result);
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "application/jsonl"})
+    public ResponseEntity<Object> importJsonLines(@RequestParam int adminId, InputStream body) {
+        return importPurchases(adminId, body, PurchaseImportService.Format.JSON_LINES);
     }
 
     @PutMapping("/{purchaseId}")
@@ -75,4 +121,15 @@ public class PurchaseOrderController {
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    private ResponseEntity<Object> importPurchases(int adminId, InputStream body, PurchaseImportService.Format format) {
+        Result<List<PurchaseOrder>> result = importService.importPurchases(adminId,
+                new InputStreamReader(body, StandardCharsets.UTF_8), format);
+
+        if (result.isSuccess()) {
+            return new ResponseEntity<>(result.getPayload(), HttpStatus.CREATED);
+        }
+
+        return ErrorResponse.build(result);
+    }
 }
@@ -0,0 +1,48 @@
+package re.api.controllers;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import re.api.data.QueryCounter;
+
+import java.io.IOException;
+
+// Warns when a single request runs more JDBC statements than query-budget.max-statements, which is
+// almost always an enrich-per-row loop (N+1). /stream bodies are written on an async thread after
+// this filter returns and are not counted; they query in fixed-size chunks by design. Off unless
+// query-budget.enabled is set, like the statement counting it reads.
+@Component
+@ConditionalOnProperty(name = "query-budget.enabled", havingValue = "true")
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final int maxStatements;
+
+    public QueryBudgetFilter(@Value("${query-budget.max-statements:20}") int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            filterChain.doFilter(request, response);
+
+            if (scope.count() > maxStatements) {
+                log.warn("{} {} exceeded query budget: {} JDBC statements (max {})",
+                        request.getMethod(), request.getRequestURI(), scope.count(), maxStatements);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package re.api.controllers;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+public class StreamingCsvResponse {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_GZIP = new MediaType("application", "gzip");
+
+    // CSV counterpart of StreamingJsonResponse: rows are written as the source produces them, optionally
+    // gzipped on the fly, so memory stays at one row plus the writer buffers whatever the export size.
+    public static <T> ResponseEntity<StreamingResponseBody> build(String fileName,
+                                                                  boolean gzip,
+                                                                  List<String> header,
+                                                                  Function<T, List<?>> toRow,
+                                                                  Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = outputStream -> {
+            GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : null;
+            OutputStream target = gzip ? gzipStream : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+
+            writeRow(writer, header);
+            source.accept(element -> {
+                try {
+                    writeRow(writer, toRow.apply(element));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+
+            writer.flush();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+        };
+
+        String fullName = gzip ? fileName + ".csv.gz" : fileName + ".csv";
+        return ResponseEntity.ok()
+                .contentType(gzip ? APPLICATION_GZIP : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fullName).build().toString())
+                .body(body);
+    }
+
+    static void writeRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
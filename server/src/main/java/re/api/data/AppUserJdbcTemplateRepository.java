@@ -9,6 +9,8 @@ import re.api.models.AppUser;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -27,7 +29,7 @@ public class AppUserJdbcTemplateRepository implements AppUserRepository {
                 FROM app_user
                 """;
 
-        return jdbcTemplate.query(sql, new AppUserMapper());
+        return jdbcTemplate.query(sql, AppUserMapper.INSTANCE.rowMapper());
     }
 
     @Override
@@ -38,11 +40,26 @@ public class AppUserJdbcTemplateRepository implements AppUserRepository {
                 WHERE app_user_id = ?
                 """;
 
-        return jdbcTemplate.query(sql, new AppUserMapper(), appUserId).stream()
+        return jdbcTemplate.query(sql, AppUserMapper.INSTANCE.rowMapper(), appUserId).stream()
                 .findFirst()
                 .orElse(null);
     }
 
+    @Override
+    public List<AppUser> findByIds(Collection<Integer> appUserIds) {
+        if (appUserIds == null || appUserIds.isEmpty()) {
+            return List.of();
+        }
+
+        final String sql = """
+                SELECT app_user_id, username, password_hash, user_role, enabled
+                FROM app_user
+                WHERE app_user_id IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(appUserIds.size(), "?")));
+
+        return jdbcTemplate.query(sql, AppUserMapper.INSTANCE.rowMapper(), appUserIds.toArray());
+    }
+
     @Override
     public AppUser findByEmail(String email) {
         final String sql = """
@@ -51,7 +68,7 @@ public class AppUserJdbcTemplateRepository implements AppUserRepository {
                 WHERE username = ?
                 """;
 
-        return jdbcTemplate.query(sql, new AppUserMapper(), email).stream()
+        return jdbcTemplate.query(sql, AppUserMapper.INSTANCE.rowMapper(), email).stream()
                 .findFirst()
                 .orElse(null);
     }
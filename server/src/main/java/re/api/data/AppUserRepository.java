@@ -2,6 +2,7 @@ package re.api.data;
 
 import re.api.models.AppUser;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AppUserRepository {
@@ -9,6 +10,8 @@ public interface AppUserRepository {
 
     AppUser findById(int appUserId);
 
+    List<AppUser> findByIds(Collection<Integer> appUserIds);
+
     AppUser findByEmail(String email);
 
     AppUser add(AppUser appUser);
@@ -0,0 +1,294 @@
+package re.api.data;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import re.api.models.Item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Read-through LRU cache in front of ItemJdbcTemplateRepository for the by-id lookups used on every
+// checkout, purchase and log path. Every write evicts the ids it touched before and after the write and
+// again once the surrounding transaction finishes, and a load that overlaps an eviction is dropped. Each
+// eviction also bumps ItemCatalogVersion.
+//
+// Only reads made outside a transaction fill the cache. Under REPEATABLE READ a transaction may have
+// taken its snapshot before another one committed an item change, so what it loads can already be stale
+// even though no eviction overlapped the load. Transactions still read from the cache, except one that
+// has written through this repository: its reads go straight to the database until it completes, so it
+// sees its own uncommitted rows rather than entries cached meanwhile.
+@Primary
+@Repository
+public class CachingItemRepository implements ItemRepository {
+
+    private static final String CACHE_NAME = "item";
+
+    private final ItemJdbcTemplateRepository delegate;
+    private final ItemCatalogVersion catalogVersion;
+    private final int maxSize;
+    private final Map<Integer, Item> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    // Bumped on every invalidation; a load that started before a bump must not be cached.
+    private long generation;
+
+    public CachingItemRepository(ItemJdbcTemplateRepository delegate,
+                                 ItemCatalogVersion catalogVersion,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${item-cache.max-size:1000}") int maxSize) {
+        this.delegate = delegate;
+        this.catalogVersion = catalogVersion;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Item> eldest) {
+                if (size() > CachingItemRepository.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("cache.size", this, CachingItemRepository::size).tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Item> findPage(int afterItemId, int limit) {
+        return delegate.findPage(afterItemId, limit);
+    }
+
+    @Override
+    public List<Item> findAllEnabled() {
+        return delegate.findAllEnabled();
+    }
+
+    @Override
+    public Stream<Item> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public Item findById(int itemId) {
+        if (writtenInTransaction()) {
+            return delegate.findById(itemId);
+        }
+
+        long loadGeneration;
+        synchronized (cache) {
+            Item cached = cache.get(itemId);
+            if (cached != null) {
+                hits.increment();
+                return copy(cached);
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        Item item = delegate.findById(itemId);
+        if (item != null) {
+            put(List.of(item), loadGeneration);
+        }
+        return item;
+    }
+
+    @Override
+    public List<Item> findByIds(Collection<Integer> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            return List.of();
+        }
+        if (writtenInTransaction()) {
+            return delegate.findByIds(itemIds);
+        }
+
+        List<Item> items = new ArrayList<>(itemIds.size());
+        List<Integer> missingIds = new ArrayList<>();
+        long loadGeneration;
+        synchronized (cache) {
+            for (Integer itemId : itemIds) {
+                Item cached = cache.get(itemId);
+                if (cached != null) {
+                    items.add(copy(cached));
+                } else {
+                    missingIds.add(itemId);
+                }
+            }
+            hits.increment(items.size());
+            misses.increment(missingIds.size());
+            loadGeneration = generation;
+        }
+
+        if (!missingIds.isEmpty()) {
+            List<Item> loaded = delegate.findByIds(missingIds);
+            put(loaded, loadGeneration);
+            items.addAll(loaded);
+        }
+        return items;
+    }
+
+    @Override
+    public Item findByName(String name) {
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public List<Item> findByCategory(String category) {
+        return delegate.findByCategory(category);
+    }
+
+    @Override
+    public boolean existsDuplicate(Item item) {
+        return delegate.existsDuplicate(item);
+    }
+
+    @Override
+    public Item add(Item item) {
+        Item added = delegate.add(item);
+        if (added != null) {
+            invalidate(List.of(added.getItemId()));
+        }
+        return added;
+    }
+
+    @Override
+    public boolean update(Item item) {
+        return write(List.of(item.getItemId()), () -> delegate.update(item));
+    }
+
+    @Override
+    public boolean updateCurrentCount(int itemId, int updateAmount) {
+        return write(List.of(itemId), () -> delegate.updateCurrentCount(itemId, updateAmount));
+    }
+
+    @Override
+    public boolean updateCurrentCounts(Map<Integer, Integer> updateAmountsByItemId) {
+        if (updateAmountsByItemId == null) {
+            return delegate.updateCurrentCounts(null);
+        }
+        return write(List.copyOf(updateAmountsByItemId.keySet()),
+                () -> delegate.updateCurrentCounts(updateAmountsByItemId));
+    }
+
+    @Override
+    public boolean decrementCurrentCount(int itemId, int quantity) {
+        return write(List.of(itemId), () -> delegate.decrementCurrentCount(itemId, quantity));
+    }
+
+    @Override
+    public List<Integer> decrementCurrentCounts(Map<Integer, Integer> quantitiesByItemId) {
+        if (quantitiesByItemId == null) {
+            return delegate.decrementCurrentCounts(null);
+        }
+        return write(List.copyOf(quantitiesByItemId.keySet()),
+                () -> delegate.decrementCurrentCounts(quantitiesByItemId));
+    }
+
+    @Override
+    public boolean disableById(int itemId) {
+        return write(List.of(itemId), () -> delegate.disableById(itemId));
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+            generation++;
+        }
+        catalogVersion.bump();
+    }
+
+    private int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private void put(List<Item> items, long loadGeneration) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        synchronized (cache) {
+            if (loadGeneration != generation) {
+                return;
+            }
+            for (Item item : items) {
+                cache.put(item.getItemId(), copy(item));
+            }
+        }
+    }
+
+    // Evicts before the write so no reader starts trusting the old row, and again once the write is
+    // visible to others: when the surrounding transaction completes, or right away without one.
+    private <T> T write(List<Integer> itemIds, Supplier<T> write) {
+        evict(itemIds);
+        try {
+            return write.get();
+        } finally {
+            invalidate(itemIds);
+        }
+    }
+
+    private void invalidate(List<Integer> itemIds) {
+        evict(itemIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only the transaction that set the flag clears it, so an inner REQUIRES_NEW cannot end it early.
+            boolean marks = !writtenInTransaction();
+            if (marks) {
+                TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (marks) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(CachingItemRepository.this);
+                    }
+                    evict(itemIds);
+                }
+            });
+        }
+    }
+
+    private boolean writtenInTransaction() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
+
+    private void evict(List<Integer> itemIds) {
+        synchronized (cache) {
+            for (Integer itemId : itemIds) {
+                cache.remove(itemId);
+            }
+            generation++;
+        }
+        catalogVersion.bump();
+    }
+
+    // Callers are free to mutate what they get back, so the cache never hands out its own instances.
+    private static Item copy(Item item) {
+        return new Item(item.getItemId(), item.getItemName(), item.getItemDescription(),
+                item.getNutritionFacts(), item.getPicturePath(), item.getCategory(),
+                item.getCurrentCount(), item.getItemLimit(), item.getPricePerUnit(), item.isEnabled());
+    }
+}
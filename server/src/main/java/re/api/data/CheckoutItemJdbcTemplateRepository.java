@@ -1,5 +1,6 @@
 package re.api.data;
 
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -8,7 +9,11 @@ import re.api.data.mappers.CheckoutItemMapper;
 import re.api.models.CheckoutItem;
 
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -28,7 +33,7 @@ public class CheckoutItemJdbcTemplateRepository implements CheckoutItemRepositor
                 WHERE checkout_item_id = ?
                 """;
 
-        return jdbcTemplate.query(sql, new CheckoutItemMapper(), checkoutItemId)
+        return jdbcTemplate.query(sql, CheckoutItemMapper.INSTANCE.rowMapper(), checkoutItemId)
                 .stream()
                 .findFirst()
                 .orElse(null);
@@ -42,35 +47,77 @@ public class CheckoutItemJdbcTemplateRepository implements CheckoutItemRepositor
                 WHERE checkout_id = ?
                 """;
 
-        return jdbcTemplate.query(sql, new CheckoutItemMapper(), checkoutId);
+        return jdbcTemplate.query(sql, CheckoutItemMapper.INSTANCE.rowMapper(), checkoutId);
     }
 
     @Override
-    public List<Map<String, Object>> findPopularItems() {
+    public List<CheckoutItem> findByCheckoutOrderIds(Collection<Integer> checkoutIds) {
+        if (checkoutIds == null || checkoutIds.isEmpty()) {
+            return List.of();
+        }
+
+        final String sql = """
+                SELECT checkout_item_id, checkout_id, item_id, quantity
+                FROM checkout_item
+                WHERE checkout_id IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(checkoutIds.size(), "?")));
+
+        return jdbcTemplate.query(sql, CheckoutItemMapper.INSTANCE.rowMapper(), checkoutIds.toArray());
+    }
+
+    @Override
+    public List<Map<String, Object>> findPopularItems(LocalDate since) {
         final String sql = """
-                SELECT i.item_name, SUM(ci.quantity) AS total_checkouts
-                FROM checkout_item ci
-                INNER JOIN item i ON ci.item_id = i.item_id
-                GROUP BY ci.item_id
-                ORDER BY total_checkouts DESC
+                SELECT i.item_name, SUM(t.total_quantity) AS total_checkouts
+                FROM checkout_item_daily_tally t
+                INNER JOIN item i ON t.item_id = i.item_id
+                WHERE (? IS NULL OR t.checkout_day >= ?)
+                GROUP BY t.item_id, i.item_name
+                HAVING total_checkouts > 0
+                ORDER BY total_checkouts DESC, i.item_name
                 LIMIT 5;
                 """;
 
-        return jdbcTemplate.queryForList(sql);
+        return jdbcTemplate.queryForList(sql, since, since);
     }
 
     @Override
-    public List<Map<String, Object>> findPopularCategories() {
+    public List<Map<String, Object>> findPopularCategories(LocalDate since) {
         final String sql = """
-                SELECT i.category, SUM(ci.quantity) AS total_checkouts
-                FROM checkout_item ci
-                JOIN item i ON ci.item_id = i.item_id
+                SELECT i.category, SUM(t.total_quantity) AS total_checkouts
+                FROM checkout_item_daily_tally t
+                JOIN item i ON t.item_id = i.item_id
+                WHERE (? IS NULL OR t.checkout_day >= ?)
                 GROUP BY i.category
-                ORDER BY total_checkouts DESC
+                HAVING total_checkouts > 0
+                ORDER BY total_checkouts DESC, i.category
                 LIMIT 5;
                 """;
 
-        return jdbcTemplate.queryForList(sql);
+        return jdbcTemplate.queryForList(sql, since, since);
+    }
+
+    @Override
+    public void rebuildPopularityTally() {
+        CheckoutItemTally.rebuild(jdbcTemplate);
+    }
+
+    @Override
+    public boolean existsDuplicate(CheckoutItem checkoutItem) {
+        final String sql = """
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM checkout_item
+                    WHERE checkout_id = ?
+                      AND item_id = ?
+                      AND checkout_item_id <> ?
+                );
+                """;
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class,
+                checkoutItem.getCheckoutOrderId(),
+                checkoutItem.getItemId(),
+                checkoutItem.getCheckoutItemId()));
     }
 
     @Override
@@ -95,9 +142,54 @@ public class CheckoutItemJdbcTemplateRepository implements CheckoutItemRepositor
         }
 
         checkoutItem.setCheckoutItemId(keyHolder.getKey().intValue());
+        CheckoutItemTally.add(jdbcTemplate, "ci.checkout_item_id = ?", checkoutItem.getCheckoutItemId());
         return checkoutItem;
     }
 
+    @Override
+    public List<CheckoutItem> addAll(List<CheckoutItem> checkoutItems) {
+        if (checkoutItems == null || checkoutItems.isEmpty()) {
+            return List.of();
+        }
+
+        final String sql = """
+                INSERT INTO checkout_item (checkout_id, item_id, quantity)
+                VALUES (?, ?, ?)
+                """;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        CheckoutItem checkoutItem = checkoutItems.get(i);
+                        ps.setInt(1, checkoutItem.getCheckoutOrderId());
+                        ps.setInt(2, checkoutItem.getItemId());
+                        ps.setInt(3, checkoutItem.getQuantity());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return checkoutItems.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < checkoutItems.size(); i++) {
+            checkoutItems.get(i).setCheckoutItemId(((Number) keys.get(i).values().iterator().next()).intValue());
+        }
+
+        List<Integer> checkoutItemIds = checkoutItems.stream().map(CheckoutItem::getCheckoutItemId).toList();
+        CheckoutItemTally.add(jdbcTemplate,
+                "ci.checkout_item_id IN (%s)".formatted(String.join(", ", Collections.nCopies(checkoutItemIds.size(), "?"))),
+                checkoutItemIds.toArray());
+
+        return checkoutItems;
+    }
+
     @Override
     public boolean update(CheckoutItem checkoutItem) {
         final String sql = """
@@ -106,11 +198,16 @@ public class CheckoutItemJdbcTemplateRepository implements CheckoutItemRepositor
                 WHERE checkout_item_id = ?
                 """;
 
-        return jdbcTemplate.update(sql,
+        CheckoutItemTally.subtract(jdbcTemplate, "ci.checkout_item_id = ?", checkoutItem.getCheckoutItemId());
+        boolean updated = jdbcTemplate.update(sql,
                 checkoutItem.getCheckoutOrderId(),
                 checkoutItem.getItemId(),
                 checkoutItem.getQuantity(),
                 checkoutItem.getCheckoutItemId()) > 0;
+        if (updated) {
+            CheckoutItemTally.add(jdbcTemplate, "ci.checkout_item_id = ?", checkoutItem.getCheckoutItemId());
+        }
+        return updated;
     }
 
     @Override
@@ -120,6 +217,7 @@ public class CheckoutItemJdbcTemplateRepository implements CheckoutItemRepositor
                 WHERE checkout_item_id = ?
                 """;
 
+        CheckoutItemTally.subtract(jdbcTemplate, "ci.checkout_item_id = ?", checkoutItemId);
         return jdbcTemplate.update(sql, checkoutItemId) > 0;
     }
 
@@ -130,6 +228,7 @@ public class CheckoutItemJdbcTemplateRepository implements CheckoutItemRepositor
                 WHERE checkout_id = ?
                 """;
 
+        CheckoutItemTally.subtract(jdbcTemplate, "ci.checkout_id = ?", checkoutOrderId);
         return jdbcTemplate.update(sql, checkoutOrderId) > 0;
     }
 }
@@ -1,6 +1,8 @@
 package re.api.data;
 
 import re.api.models.CheckoutItem;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -9,12 +11,20 @@ public interface CheckoutItemRepository {
 
     List<CheckoutItem> findByCheckoutOrderId(int checkoutOrderId);
 
-    List<Map<String, Object>> findPopularItems();
+    List<CheckoutItem> findByCheckoutOrderIds(Collection<Integer> checkoutOrderIds);
 
-    List<Map<String, Object>> findPopularCategories();
+    List<Map<String, Object>> findPopularItems(LocalDate since);
+
+    List<Map<String, Object>> findPopularCategories(LocalDate since);
+
+    void rebuildPopularityTally();
+
+    boolean existsDuplicate(CheckoutItem checkoutItem);
 
     CheckoutItem add(CheckoutItem checkoutItem);
 
+    List<CheckoutItem> addAll(List<CheckoutItem> checkoutItems);
+
     boolean update(CheckoutItem checkoutItem);
 
     boolean deleteById(int checkoutItemId);
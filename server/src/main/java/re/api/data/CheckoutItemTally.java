@@ -0,0 +1,49 @@
+package re.api.data;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Keeps checkout_item_daily_tally in step with checkout_item. Both checkout repositories write through
+// here: items can disappear with their order (ON DELETE CASCADE) and move days when the order's date
+// changes. Each call re-aggregates only the checkout_item rows matched by the given condition.
+class CheckoutItemTally {
+
+    private static final String MATCHING_QUANTITIES = """
+            SELECT DATE(o.checkout_date) AS checkout_day, ci.item_id, SUM(ci.quantity) AS quantity
+            FROM checkout_item ci
+            INNER JOIN checkout_order o ON o.checkout_id = ci.checkout_id
+            WHERE %s
+            GROUP BY DATE(o.checkout_date), ci.item_id
+            """;
+
+    private CheckoutItemTally() {
+    }
+
+    static void add(JdbcTemplate jdbcTemplate, String condition, Object... args) {
+        final String sql = """
+                INSERT INTO checkout_item_daily_tally (checkout_day, item_id, total_quantity)
+                SELECT x.checkout_day, x.item_id, x.quantity
+                FROM (%s) AS x
+                ON DUPLICATE KEY UPDATE total_quantity = total_quantity + x.quantity;
+                """.formatted(MATCHING_QUANTITIES.formatted(condition));
+
+        jdbcTemplate.update(sql, args);
+    }
+
+    // Must run before the matching rows are deleted or changed.
+    static void subtract(JdbcTemplate jdbcTemplate, String condition, Object... args) {
+        final String sql = """
+                UPDATE checkout_item_daily_tally t
+                INNER JOIN (%s) AS x
+                  ON t.checkout_day = x.checkout_day
+                 AND t.item_id = x.item_id
+                SET t.total_quantity = t.total_quantity - x.quantity;
+                """.formatted(MATCHING_QUANTITIES.formatted(condition));
+
+        jdbcTemplate.update(sql, args);
+    }
+
+    static void rebuild(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM checkout_item_daily_tally;");
+        add(jdbcTemplate, "TRUE");
+    }
+}
@@ -4,16 +4,30 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import re.api.data.mappers.CheckoutHistoryLineMapper;
 import re.api.data.mappers.CheckoutOrderMapper;
+import re.api.models.CheckoutHistoryLine;
 import re.api.models.CheckoutOrder;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Repository
 public class CheckoutOrderJdbcTemplateRepository implements CheckoutOrderRepository {
+
+    private static final String SELECT_HISTORY = """
+            SELECT o.checkout_id, o.checkout_date, o.student_id, o.authority_id, o.self_checkout,
+                   ci.item_id, i.item_name, i.category, ci.quantity, i.price_per_unit
+            FROM checkout_order o
+            INNER JOIN checkout_item ci ON ci.checkout_id = o.checkout_id
+            INNER JOIN item i ON i.item_id = ci.item_id
+            """;
+
     private final JdbcTemplate jdbcTemplate;
 
     public CheckoutOrderJdbcTemplateRepository(JdbcTemplate jdbcTemplate) {
@@ -27,7 +41,115 @@ public class CheckoutOrderJdbcTemplateRepository implements CheckoutOrderReposit
                  FROM checkout_order;
                  """;
 
-        return jdbcTemplate.query(sql, new CheckoutOrderMapper());
+        return jdbcTemplate.query(sql, CheckoutOrderMapper.INSTANCE.rowMapper());
+    }
+
+    @Override
+    public List<CheckoutOrder> findPage(int afterCheckoutId, int limit) {
+        final String sql = """
+                SELECT checkout_id, student_id, authority_id, self_checkout, checkout_date
+                FROM checkout_order
+                WHERE checkout_id > ?
+                ORDER BY checkout_id
+                LIMIT ?;
+                """;
+
+        return jdbcTemplate.query(sql, CheckoutOrderMapper.INSTANCE.rowMapper(), afterCheckoutId, limit);
+    }
+
+    @Override
+    public Stream<CheckoutOrder> streamAll() {
+        final String sql = """
+                SELECT checkout_id, student_id, authority_id, self_checkout, checkout_date
+                FROM checkout_order
+                ORDER BY checkout_id;
+                """;
+
+        return JdbcStreams.stream(jdbcTemplate, sql, CheckoutOrderMapper.INSTANCE.rowMapper());
+    }
+
+    @Override
+    public List<CheckoutOrder> findByStudentId(String studentId, int beforeCheckoutId, int limit) {
+        return findByStudentIdAndDateRange(studentId, null, null, beforeCheckoutId, limit);
+    }
+
+    // Walks idx_checkout_order_student_date backwards from the cursor. The cursor order is joined in by
+    // primary key, so its (checkout_date, checkout_id) position is a constant and the seek stays a range
+    // scan on the index rather than an offset over everything the student has checked out.
+    @Override
+    public List<CheckoutOrder> findByStudentIdAndDateRange(String studentId, LocalDateTime from, LocalDateTime to,
+                                                          int beforeCheckoutId, int limit) {
+        String cursorJoin = "";
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (beforeCheckoutId > 0) {
+            cursorJoin = """
+                    INNER JOIN checkout_order c
+                      ON c.checkout_id = ?
+                     AND (o.checkout_date < c.checkout_date
+                          OR (o.checkout_date = c.checkout_date AND o.checkout_id < c.checkout_id))
+                    """;
+            args.add(beforeCheckoutId);
+        }
+        conditions.add("o.student_id = ?");
+        args.add(studentId);
+        if (from != null) {
+            conditions.add("o.checkout_date >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            conditions.add("o.checkout_date < ?");
+            args.add(to);
+        }
+        args.add(limit);
+
+        final String sql = """
+                SELECT o.checkout_id, o.student_id, o.authority_id, o.self_checkout, o.checkout_date
+                FROM checkout_order o
+                %s
+                WHERE %s
+                ORDER BY o.checkout_date DESC, o.checkout_id DESC
+                LIMIT ?;
+                """.formatted(cursorJoin, String.join(" AND ", conditions));
+
+        return jdbcTemplate.query(sql, CheckoutOrderMapper.INSTANCE.rowMapper(), args.toArray());
+    }
+
+    // Flat order x item rows straight off a server-side cursor, in checkout order, so an export of the
+    // whole history never materializes more than one row. Only the bounds that were given are applied,
+    // letting idx_checkout_order_date narrow the scan.
+    @Override
+    public Stream<CheckoutHistoryLine> streamHistory(LocalDateTime from, LocalDateTime to) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            conditions.add("o.checkout_date >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            conditions.add("o.checkout_date < ?");
+            args.add(to);
+        }
+
+        final String sql = """
+                %s
+                %s
+                ORDER BY o.checkout_date, o.checkout_id, ci.item_id
+                """.formatted(SELECT_HISTORY, conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions));
+
+        return JdbcStreams.stream(jdbcTemplate, sql, CheckoutHistoryLineMapper.INSTANCE.rowMapper(), args.toArray());
+    }
+
+    @Override
+    public List<CheckoutHistoryLine> findHistoryByStudentId(String studentId, LocalDateTime from) {
+        final String sql = """
+                %s
+                WHERE o.student_id = ?
+                  AND o.checkout_date >= ?
+                ORDER BY o.checkout_date, o.checkout_id, ci.item_id;
+                """.formatted(SELECT_HISTORY);
+
+        return jdbcTemplate.query(sql, CheckoutHistoryLineMapper.INSTANCE.rowMapper(), studentId, from);
     }
 
     @Override
@@ -38,7 +160,7 @@ public class CheckoutOrderJdbcTemplateRepository implements CheckoutOrderReposit
                 WHERE checkout_id = ?;
                 """;
 
-        return jdbcTemplate.query(sql, new CheckoutOrderMapper(), checkoutId).stream()
+        return jdbcTemplate.query(sql, CheckoutOrderMapper.INSTANCE.rowMapper(), checkoutId).stream()
                 .findFirst().orElse(null);
     }
 
@@ -46,18 +168,52 @@ public class CheckoutOrderJdbcTemplateRepository implements CheckoutOrderReposit
     public List<Map<String, Object>> findHourlyCheckoutSummary() {
         final String sql = """
                 SELECT
-                    DAYNAME(checkout_date) AS day,
-                    HOUR(checkout_date) AS hour,
-                    COUNT(*) AS total_checkouts
-                FROM checkout_order
-                GROUP BY day, hour
-                ORDER BY
-                    FIELD(day, 'Sunday', 'Monday', 'Tuesday', 'Wednesday','Thursday', 'Friday', 'Saturday'), hour;
+                    ELT(day_of_week, 'Sunday', 'Monday', 'Tuesday', 'Wednesday', 'Thursday', 'Friday', 'Saturday') AS day,
+                    hour,
+                    SUM(total_checkouts) AS total_checkouts
+                FROM checkout_hourly_summary
+                GROUP BY day_of_week, hour
+                HAVING SUM(total_checkouts) > 0
+                ORDER BY day_of_week, hour;
                 """;
 
         return jdbcTemplate.queryForList(sql);
     }
 
+    @Override
+    public void rebuildHourlyCheckoutSummary() {
+        jdbcTemplate.update("DELETE FROM checkout_hourly_summary;");
+
+        final String sql = """
+                INSERT INTO checkout_hourly_summary (day_of_week, hour, total_checkouts)
+                SELECT DAYOFWEEK(checkout_date), HOUR(checkout_date), COUNT(*)
+                FROM checkout_order
+                GROUP BY DAYOFWEEK(checkout_date), HOUR(checkout_date);
+                """;
+
+        jdbcTemplate.update(sql);
+    }
+
+    @Override
+    public boolean existsDuplicate(CheckoutOrder checkoutOrder) {
+        final String sql = """
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM checkout_order
+                    WHERE student_id <=> ?
+                      AND checkout_date <=> ?
+                      AND authority_id = ?
+                      AND checkout_id <> ?
+                );
+                """;
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class,
+                checkoutOrder.getStudentId(),
+                checkoutOrder.getCheckoutDate(),
+                checkoutOrder.getAuthorityId(),
+                checkoutOrder.getCheckoutOrderId()));
+    }
+
     @Override
     public CheckoutOrder add(CheckoutOrder checkoutOrder) {
         final String sql = """
@@ -81,6 +237,7 @@ public class CheckoutOrderJdbcTemplateRepository implements CheckoutOrderReposit
         }
 
         checkoutOrder.setCheckoutOrderId(keyHolder.getKey().intValue());
+        addToHourlySummary(checkoutOrder.getCheckoutDate());
         return checkoutOrder;
     }
 
@@ -92,12 +249,20 @@ public class CheckoutOrderJdbcTemplateRepository implements CheckoutOrderReposit
                 WHERE checkout_id = ?;
                 """;
 
-        return jdbcTemplate.update(sql,
+        removeFromHourlySummary(checkoutOrder.getCheckoutOrderId());
+        CheckoutItemTally.subtract(jdbcTemplate, "ci.checkout_id = ?", checkoutOrder.getCheckoutOrderId());
+        boolean updated = jdbcTemplate.update(sql,
                 checkoutOrder.getStudentId(),
                 checkoutOrder.getAuthorityId(),
                 checkoutOrder.isSelfCheckout(),
                 checkoutOrder.getCheckoutDate(),
                 checkoutOrder.getCheckoutOrderId()) > 0;
+        if (updated) {
+            addToHourlySummary(checkoutOrder.getCheckoutDate());
+        }
+        // Re-add unconditionally: when nothing was updated the subtract above matched nothing either.
+        CheckoutItemTally.add(jdbcTemplate, "ci.checkout_id = ?", checkoutOrder.getCheckoutOrderId());
+        return updated;
     }
 
     @Override
@@ -107,6 +272,33 @@ public class CheckoutOrderJdbcTemplateRepository implements CheckoutOrderReposit
                 WHERE checkout_id = ?;
                 """;
 
+        removeFromHourlySummary(checkoutId);
+        // The order's items go with it through ON DELETE CASCADE, so take them out of the tally first.
+        CheckoutItemTally.subtract(jdbcTemplate, "ci.checkout_id = ?", checkoutId);
         return jdbcTemplate.update(sql, checkoutId) > 0;
     }
+
+    // Each bump goes to a random shard of the (day, hour) counter; see CounterShards.
+    private void addToHourlySummary(LocalDateTime checkoutDate) {
+        final String sql = """
+                INSERT INTO checkout_hourly_summary (day_of_week, hour, shard, total_checkouts)
+                VALUES (DAYOFWEEK(?), HOUR(?), ?, 1)
+                ON DUPLICATE KEY UPDATE total_checkouts = total_checkouts + 1;
+                """;
+
+        jdbcTemplate.update(sql, checkoutDate, checkoutDate, CounterShards.pick());
+    }
+
+    // Matches nothing when the order does not exist, so callers can run it before their own write.
+    private void removeFromHourlySummary(int checkoutId) {
+        final String sql = """
+                INSERT INTO checkout_hourly_summary (day_of_week, hour, shard, total_checkouts)
+                SELECT DAYOFWEEK(checkout_date), HOUR(checkout_date), ?, -1
+                FROM checkout_order
+                WHERE checkout_id = ?
+                ON DUPLICATE KEY UPDATE total_checkouts = total_checkouts - 1;
+                """;
+
+        jdbcTemplate.update(sql, CounterShards.pick(), checkoutId);
+    }
 }
\ No newline at end of file
@@ -1,16 +1,40 @@
 package re.api.data;
 
+import re.api.models.CheckoutHistoryLine;
 import re.api.models.CheckoutOrder;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public interface CheckoutOrderRepository {
     List<CheckoutOrder> findAll();
 
+    List<CheckoutOrder> findPage(int afterCheckoutId, int limit);
+
+    Stream<CheckoutOrder> streamAll();
+
+    // Newest first. beforeCheckoutId is the last order of the previous page, or 0 for the first page.
+    List<CheckoutOrder> findByStudentId(String studentId, int beforeCheckoutId, int limit);
+
+    // As above, within from (inclusive) and to (exclusive); either may be null.
+    List<CheckoutOrder> findByStudentIdAndDateRange(String studentId, LocalDateTime from, LocalDateTime to,
+                                                   int beforeCheckoutId, int limit);
+
     CheckoutOrder findById(int checkoutId);
 
+    // from is inclusive, to exclusive; either may be null. Close the stream when done.
+    Stream<CheckoutHistoryLine> streamHistory(LocalDateTime from, LocalDateTime to);
+
+    List<CheckoutHistoryLine> findHistoryByStudentId(String studentId, LocalDateTime from);
+
     List<Map<String, Object>> findHourlyCheckoutSummary();
 
+    void rebuildHourlyCheckoutSummary();
+
+    boolean existsDuplicate(CheckoutOrder checkoutOrder);
+
     CheckoutOrder add(CheckoutOrder checkoutOrder);
 
     boolean update(CheckoutOrder checkoutOrder);
@@ -0,0 +1,18 @@
+package re.api.data;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// checkout_hourly_summary is bumped by every checkout, inside the checkout's transaction. Spreading each
+// (day, hour) counter over a few rows means two concurrent checkouts only wait on each other's row lock
+// when they happen to pick the same shard; readers sum the shards.
+final class CounterShards {
+
+    static final int COUNT = 16;
+
+    private CounterShards() {
+    }
+
+    static int pick() {
+        return ThreadLocalRandom.current().nextInt(COUNT);
+    }
+}
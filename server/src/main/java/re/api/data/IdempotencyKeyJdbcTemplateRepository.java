@@ -0,0 +1,112 @@
+package re.api.data;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import re.api.data.mappers.IdempotentResponseMapper;
+import re.api.models.IdempotentResponse;
+
+import java.time.LocalDateTime;
+
+@Repository
+public class IdempotencyKeyJdbcTemplateRepository implements IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyJdbcTemplateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public IdempotentResponse findByKey(String endpoint, String idempotencyKey) {
+        final String sql = """
+                SELECT endpoint, idempotency_key, request_hash, status_code, response_body, created_at
+                FROM idempotency_key
+                WHERE endpoint = ?
+                  AND idempotency_key = ?;
+                """;
+
+        return jdbcTemplate.query(sql, IdempotentResponseMapper.INSTANCE.rowMapper(), endpoint, idempotencyKey).stream()
+                .findFirst().orElse(null);
+    }
+
+    // The primary key is what makes this a claim: of two requests racing with the same key, on this or
+    // another instance, exactly one insert succeeds. Not INSERT IGNORE, which would also swallow
+    // truncation of an over-long key.
+    @Override
+    public boolean claim(String endpoint, String idempotencyKey, String requestHash, LocalDateTime createdAt) {
+        final String sql = """
+                INSERT INTO idempotency_key (endpoint, idempotency_key, request_hash, created_at)
+                VALUES (?, ?, ?, ?);
+                """;
+
+        try {
+            return jdbcTemplate.update(sql, endpoint, idempotencyKey, requestHash, createdAt) > 0;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    // The UPDATE rechecks the row under its lock, so of several retries only one moves created_at on.
+    @Override
+    public boolean reclaim(String endpoint, String idempotencyKey, String requestHash, LocalDateTime createdAt,
+                           LocalDateTime pendingBefore) {
+        final String sql = """
+                UPDATE idempotency_key
+                SET created_at = ?
+                WHERE endpoint = ?
+                  AND idempotency_key = ?
+                  AND request_hash = ?
+                  AND status_code = 0
+                  AND created_at < ?;
+                """;
+
+        return jdbcTemplate.update(sql, createdAt, endpoint, idempotencyKey, requestHash, pendingBefore) > 0;
+    }
+
+    @Override
+    public boolean complete(String endpoint, String idempotencyKey, int statusCode, String body) {
+        final String sql = """
+                UPDATE idempotency_key
+                SET status_code = ?, response_body = ?
+                WHERE endpoint = ?
+                  AND idempotency_key = ?;
+                """;
+
+        return jdbcTemplate.update(sql, statusCode, body, endpoint, idempotencyKey) > 0;
+    }
+
+    @Override
+    public boolean release(String endpoint, String idempotencyKey) {
+        final String sql = """
+                DELETE FROM idempotency_key
+                WHERE endpoint = ?
+                  AND idempotency_key = ?
+                  AND status_code = 0;
+                """;
+
+        return jdbcTemplate.update(sql, endpoint, idempotencyKey) > 0;
+    }
+
+    @Override
+    public boolean deleteByKeyCreatedBefore(String endpoint, String idempotencyKey, LocalDateTime cutoff) {
+        final String sql = """
+                DELETE FROM idempotency_key
+                WHERE endpoint = ?
+                  AND idempotency_key = ?
+                  AND created_at < ?;
+                """;
+
+        return jdbcTemplate.update(sql, endpoint, idempotencyKey, cutoff) > 0;
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime cutoff) {
+        final String sql = """
+                DELETE FROM idempotency_key
+                WHERE created_at < ?;
+                """;
+
+        return jdbcTemplate.update(sql, cutoff);
+    }
+}
@@ -0,0 +1,26 @@
+package re.api.data;
+
+import re.api.models.IdempotentResponse;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository {
+    IdempotentResponse findByKey(String endpoint, String idempotencyKey);
+
+    // Inserts a pending row; false when the key is already taken.
+    boolean claim(String endpoint, String idempotencyKey, String requestHash, LocalDateTime createdAt);
+
+    // Takes over a key left pending since before pendingBefore by a request that never finished, for the
+    // same request only; false when it has since completed or another retry took it first.
+    boolean reclaim(String endpoint, String idempotencyKey, String requestHash, LocalDateTime createdAt,
+                    LocalDateTime pendingBefore);
+
+    boolean complete(String endpoint, String idempotencyKey, int statusCode, String body);
+
+    // Only removes the key while it is still pending.
+    boolean release(String endpoint, String idempotencyKey);
+
+    boolean deleteByKeyCreatedBefore(String endpoint, String idempotencyKey, LocalDateTime cutoff);
+
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,50 @@
+package re.api.data;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+// Appends to inventory_ledger for every change ItemJdbcTemplateRepository makes to item.current_count,
+// in the same transaction, so the ledger cannot drift from the counts it explains. Entries are attributed
+// to the @Transactional service method that made them, e.g. "CheckoutOrderService.add".
+class InventoryLedger {
+
+    private static final String APPEND = """
+            INSERT INTO inventory_ledger (item_id, quantity_change, recorded_at, source)
+            VALUES (?, ?, NOW(6), ?)
+            """;
+
+    private InventoryLedger() {
+    }
+
+    static void append(JdbcTemplate jdbcTemplate, int itemId, int quantityChange) {
+        if (quantityChange != 0) {
+            jdbcTemplate.update(APPEND, itemId, quantityChange, source());
+        }
+    }
+
+    // Changes are applied by the caller in item_id order; append them the same way.
+    static void appendAll(JdbcTemplate jdbcTemplate, List<Map.Entry<Integer, Integer>> changesByItemId) {
+        String source = source();
+        List<Object[]> args = changesByItemId.stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), source})
+                .toList();
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPEND, args);
+        }
+    }
+
+    // Transaction names are the fully qualified method name; keep Class.method.
+    private static String source() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name == null) {
+            return null;
+        }
+        int methodDot = name.lastIndexOf('.');
+        int classDot = methodDot > 0 ? name.lastIndexOf('.', methodDot - 1) : -1;
+        return name.substring(classDot + 1);
+    }
+}
@@ -0,0 +1,162 @@
+package re.api.data;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import re.api.data.mappers.ItemStockMapper;
+import re.api.data.mappers.StockDiscrepancyMapper;
+import re.api.models.ItemStock;
+import re.api.models.StockDiscrepancy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Reads over inventory_ledger and its daily snapshots. Entries themselves are appended by
+// InventoryLedger as part of every item count change.
+@Repository
+public class InventoryLedgerJdbcTemplateRepository implements InventoryLedgerRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryLedgerJdbcTemplateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int addOpeningBalances() {
+        final String sql = """
+                INSERT INTO inventory_ledger (item_id, quantity_change, recorded_at, source)
+                SELECT i.item_id, i.current_count, NOW(6), 'opening balance'
+                FROM item i
+                WHERE NOT EXISTS (
+                    SELECT 1
+                    FROM inventory_ledger l
+                    WHERE l.item_id = i.item_id
+                );
+                """;
+
+        return jdbcTemplate.update(sql);
+    }
+
+    @Override
+    public LocalDateTime findOpeningBalanceTime() {
+        return jdbcTemplate.queryForObject("""
+                SELECT MAX(recorded_at) FROM inventory_ledger WHERE source = 'opening balance';
+                """, LocalDateTime.class);
+    }
+
+    // One statement per day, each carrying the previous day's closing stock forward by that day's
+    // entries, so every item with any history has a row for every rolled-up day. A failed run leaves
+    // whole days behind it and the next run carries on from there.
+    @Override
+    public int addSnapshotsBefore(LocalDate day) {
+        LocalDate lastSnapshotDay = jdbcTemplate.queryForObject(
+                "SELECT MAX(snapshot_day) FROM inventory_snapshot;", LocalDate.class);
+        LocalDate nextDay = lastSnapshotDay != null
+                ? lastSnapshotDay.plusDays(1)
+                : jdbcTemplate.queryForObject("SELECT DATE(MIN(recorded_at)) FROM inventory_ledger;", LocalDate.class);
+        if (nextDay == null) {
+            return 0;
+        }
+
+        final String sql = """
+                INSERT INTO inventory_snapshot (item_id, snapshot_day, stock)
+                SELECT i.item_id, ?, COALESCE(p.stock, 0) + COALESCE(d.day_change, 0)
+                FROM item i
+                LEFT JOIN inventory_snapshot p
+                  ON p.item_id = i.item_id
+                 AND p.snapshot_day = ?
+                LEFT JOIN (
+                    SELECT item_id, SUM(quantity_change) AS day_change
+                    FROM inventory_ledger
+                    WHERE recorded_at >= ?
+                      AND recorded_at < ?
+                    GROUP BY item_id
+                ) d ON d.item_id = i.item_id
+                WHERE p.item_id IS NOT NULL
+                   OR d.item_id IS NOT NULL;
+                """;
+
+        int added = 0;
+        for (LocalDate snapshotDay = nextDay; snapshotDay.isBefore(day); snapshotDay = snapshotDay.plusDays(1)) {
+            added += jdbcTemplate.update(sql, snapshotDay, snapshotDay.minusDays(1),
+                    snapshotDay.atStartOfDay(), snapshotDay.plusDays(1).atStartOfDay());
+        }
+        return added;
+    }
+
+    // The last snapshot before the day of at, plus that item's entries since: at most a day or so of
+    // ledger per lookup while the snapshots are kept up to date.
+    @Override
+    public int findStockAt(int itemId, LocalDateTime at) {
+        final String sql = """
+                SELECT COALESCE(MAX(s.stock), 0) + COALESCE(SUM(l.quantity_change), 0)
+                FROM (SELECT ? AS item_id) i
+                LEFT JOIN inventory_snapshot s
+                  ON s.item_id = i.item_id
+                 AND s.snapshot_day = (
+                     SELECT MAX(snapshot_day)
+                     FROM inventory_snapshot
+                     WHERE item_id = i.item_id
+                       AND snapshot_day < DATE(?)
+                 )
+                LEFT JOIN inventory_ledger l
+                  ON l.item_id = i.item_id
+                 AND l.recorded_at >= COALESCE(s.snapshot_day + INTERVAL 1 DAY, '1000-01-01')
+                 AND l.recorded_at <= ?;
+                """;
+
+        Integer stock = jdbcTemplate.queryForObject(sql, Integer.class, itemId, at, at);
+        return stock == null ? 0 : stock;
+    }
+
+    // The last rolled-up day before at has a row for every item with history by then, so this is one
+    // primary key probe per item plus a range of idx_inventory_ledger_recorded_at covering the days
+    // since that rollup. Reads the whole ledger up to at only when nothing before it is rolled up.
+    @Override
+    public List<ItemStock> findAllStockAt(LocalDateTime at) {
+        LocalDate snapshotDay = jdbcTemplate.queryForObject(
+                "SELECT MAX(snapshot_day) FROM inventory_snapshot WHERE snapshot_day < ?;",
+                LocalDate.class, at.toLocalDate());
+        LocalDateTime ledgerFrom = snapshotDay == null
+                ? LocalDateTime.of(1000, 1, 1, 0, 0)
+                : snapshotDay.plusDays(1).atStartOfDay();
+
+        final String sql = """
+                SELECT i.item_id, CAST(? AS DATETIME(6)) AS stock_at,
+                       COALESCE(s.stock, 0) + COALESCE(d.ledger_change, 0) AS stock
+                FROM item i
+                LEFT JOIN inventory_snapshot s
+                  ON s.item_id = i.item_id
+                 AND s.snapshot_day = ?
+                LEFT JOIN (
+                    SELECT item_id, SUM(quantity_change) AS ledger_change
+                    FROM inventory_ledger
+                    WHERE recorded_at >= ?
+                      AND recorded_at <= ?
+                    GROUP BY item_id
+                ) d ON d.item_id = i.item_id
+                ORDER BY i.item_id;
+                """;
+
+        return jdbcTemplate.query(sql, ItemStockMapper.INSTANCE.rowMapper(), at, snapshotDay, ledgerFrom, at);
+    }
+
+    // A single pass over idx_inventory_ledger_item_time, which covers item_id and quantity_change.
+    @Override
+    public List<StockDiscrepancy> findDiscrepancies() {
+        final String sql = """
+                SELECT i.item_id, i.item_name, i.current_count, COALESCE(l.ledger_count, 0) AS ledger_count
+                FROM item i
+                LEFT JOIN (
+                    SELECT item_id, SUM(quantity_change) AS ledger_count
+                    FROM inventory_ledger
+                    GROUP BY item_id
+                ) l ON l.item_id = i.item_id
+                WHERE i.current_count <> COALESCE(l.ledger_count, 0)
+                ORDER BY i.item_id;
+                """;
+
+        return jdbcTemplate.query(sql, StockDiscrepancyMapper.INSTANCE.rowMapper());
+    }
+}
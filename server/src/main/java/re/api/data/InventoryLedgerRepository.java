@@ -0,0 +1,27 @@
+package re.api.data;
+
+import re.api.models.ItemStock;
+import re.api.models.StockDiscrepancy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InventoryLedgerRepository {
+    // Gives every item without ledger entries an opening balance of its current_count.
+    int addOpeningBalances();
+
+    // When the latest opening balance was recorded, or null if there are none. Items opened then have
+    // no history before it.
+    LocalDateTime findOpeningBalanceTime();
+
+    // Rolls up every day after the last snapshot and before the given day; returns the rows added.
+    int addSnapshotsBefore(LocalDate day);
+
+    int findStockAt(int itemId, LocalDateTime at);
+
+    // Every item's stock at the given moment, in item_id order; items with no entries by then have 0.
+    List<ItemStock> findAllStockAt(LocalDateTime at);
+
+    List<StockDiscrepancy> findDiscrepancies();
+}
@@ -4,16 +4,31 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
-import re.api.data.mappers.InventoryLogMapper;
+import re.api.data.mappers.InventoryLogDetailsMapper;
 import re.api.models.InventoryLog;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public class InventoryLogJdbcTemplateRepository implements InventoryLogRepository {
 
+    // Every finder returns logs with their item and authority attached, so callers never go back
+    // to the database row by row. Both foreign keys are NOT NULL, so the inner joins drop nothing.
+    private static final String SELECT_WITH_DETAILS = """
+            SELECT l.log_id, l.authority_id, l.item_id, l.quantity_change, l.reason, l.time_stamp,
+                   i.item_name, i.item_description, i.nutrition_facts, i.picture_path, i.category,
+                   i.current_count, i.item_limit, i.price_per_unit, i.enabled AS item_enabled,
+                   u.username, u.user_role, u.enabled AS authority_enabled
+            FROM inventory_log l
+            INNER JOIN item i ON i.item_id = l.item_id
+            INNER JOIN app_user u ON u.app_user_id = l.authority_id
+            """;
+
     private final JdbcTemplate jdbcTemplate;
 
     public InventoryLogJdbcTemplateRepository(JdbcTemplate jdbcTemplate) {
@@ -22,24 +37,40 @@ public class InventoryLogJdbcTemplateRepository implements InventoryLogRepositor
 
     @Override
     public List<InventoryLog> findAll() {
-        final String sql = """
-               SELECT log_id, authority_id, item_id, quantity_change, reason, time_stamp
-               FROM inventory_log
-               ORDER BY time_stamp DESC
-               """;
+        final String sql = SELECT_WITH_DETAILS + """
+                ORDER BY l.time_stamp DESC, l.log_id
+                """;
+
+        return jdbcTemplate.query(sql, InventoryLogDetailsMapper.INSTANCE.rowMapper());
+    }
+
+    @Override
+    public List<InventoryLog> findPage(int afterLogId, int limit) {
+        final String sql = SELECT_WITH_DETAILS + """
+                WHERE l.log_id > ?
+                ORDER BY l.log_id
+                LIMIT ?
+                """;
+
+        return jdbcTemplate.query(sql, InventoryLogDetailsMapper.INSTANCE.rowMapper(), afterLogId, limit);
+    }
+
+    @Override
+    public Stream<InventoryLog> streamAll() {
+        final String sql = SELECT_WITH_DETAILS + """
+                ORDER BY l.log_id
+                """;
 
-        return jdbcTemplate.query(sql, new InventoryLogMapper());
+        return JdbcStreams.stream(jdbcTemplate, sql, InventoryLogDetailsMapper.INSTANCE.rowMapper());
     }
 
     @Override
     public InventoryLog findById(int logId) {
-        final String sql = """
-                SELECT log_id, authority_id, item_id, quantity_change, reason, time_stamp
-                FROM inventory_log
-                WHERE log_id = ?
+        final String sql = SELECT_WITH_DETAILS + """
+                WHERE l.log_id = ?
                 """;
 
-        return jdbcTemplate.query(sql, new InventoryLogMapper(), logId)
+        return jdbcTemplate.query(sql, InventoryLogDetailsMapper.INSTANCE.rowMapper(), logId)
                 .stream()
                 .findFirst()
                 .orElse(null);
@@ -47,26 +78,102 @@ public class InventoryLogJdbcTemplateRepository implements InventoryLogRepositor
 
     @Override
     public List<InventoryLog> findByItemId(int itemId) {
-        final String sql = """
-                SELECT log_id, authority_id, item_id, quantity_change, reason, time_stamp
-                FROM inventory_log
-                WHERE item_id = ?
-                ORDER BY time_stamp DESC
+        final String sql = SELECT_WITH_DETAILS + """
+                WHERE l.item_id = ?
+                ORDER BY l.time_stamp DESC, l.log_id
                 """;
 
-        return jdbcTemplate.query(sql, new InventoryLogMapper(), itemId);
+        return jdbcTemplate.query(sql, InventoryLogDetailsMapper.INSTANCE.rowMapper(), itemId);
     }
 
     @Override
     public List<InventoryLog> findByAuthorityId(int authorityId) {
+        final String sql = SELECT_WITH_DETAILS + """
+                WHERE l.authority_id = ?
+                ORDER BY l.time_stamp DESC, l.log_id
+                """;
+
+        return jdbcTemplate.query(sql, InventoryLogDetailsMapper.INSTANCE.rowMapper(), authorityId);
+    }
+
+    @Override
+    public List<InventoryLog> findByItemName(String itemName) {
+        final String sql = SELECT_WITH_DETAILS + """
+                WHERE i.item_name = ?
+                ORDER BY l.time_stamp DESC, l.log_id
+                """;
+
+        return jdbcTemplate.query(sql, InventoryLogDetailsMapper.INSTANCE.rowMapper(), itemName);
+    }
+
+    @Override
+    public List<InventoryLog> findByAuthorityEmail(String authorityEmail) {
+        final String sql = SELECT_WITH_DETAILS + """
+                WHERE u.username = ?
+                ORDER BY l.time_stamp DESC, l.log_id
+                """;
+
+        return jdbcTemplate.query(sql, InventoryLogDetailsMapper.INSTANCE.rowMapper(), authorityEmail);
+    }
+
+    // Builds only the predicates that were asked for, so the optimizer can pick idx_inventory_log_time_stamp
+    // or one of the (item_id | authority_id, time_stamp) indexes and stop after the limit instead of
+    // sorting the whole log. The tiebreak runs the same direction as the index for the same reason.
+    @Override
+    public List<InventoryLog> findByTimeRange(LocalDateTime from, LocalDateTime to, Integer itemId,
+                                              Integer authorityId, String reason, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+
+        conditions.add("l.time_stamp >= ?");
+        args.add(from);
+        if (to != null) {
+            conditions.add("l.time_stamp < ?");
+            args.add(to);
+        }
+        if (itemId != null) {
+            conditions.add("l.item_id = ?");
+            args.add(itemId);
+        }
+        if (authorityId != null) {
+            conditions.add("l.authority_id = ?");
+            args.add(authorityId);
+        }
+        if (reason != null) {
+            conditions.add("l.reason LIKE ?");
+            args.add("%" + reason + "%");
+        }
+        args.add(limit);
+
+        final String sql = SELECT_WITH_DETAILS + """
+                WHERE %s
+                ORDER BY l.time_stamp DESC, l.log_id DESC
+                LIMIT ?
+                """.formatted(String.join(" AND ", conditions));
+
+        return jdbcTemplate.query(sql, InventoryLogDetailsMapper.INSTANCE.rowMapper(), args.toArray());
+    }
+
+    @Override
+    public boolean existsDuplicate(InventoryLog inventoryLog) {
         final String sql = """
-                SELECT log_id, authority_id, item_id, quantity_change, reason, time_stamp
-                FROM inventory_log
-                WHERE authority_id = ?
-                ORDER BY time_stamp DESC
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM inventory_log
+                    WHERE item_id = ?
+                      AND time_stamp <=> ?
+                      AND authority_id = ?
+                      AND quantity_change = ?
+                      AND log_id <> ?
+                );
                 """;
 
-        return jdbcTemplate.query(sql, new InventoryLogMapper(), authorityId);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class,
+                inventoryLog.getItemId(),
+                inventoryLog.getTimeStamp(),
+                inventoryLog.getAuthorityId(),
+                inventoryLog.getQuantityChange(),
+                inventoryLog.getLogId()));
     }
 
     @Override
@@ -1,17 +1,34 @@
 package re.api.data;
 
 import re.api.models.InventoryLog;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface InventoryLogRepository {
     List<InventoryLog> findAll();
 
+    List<InventoryLog> findPage(int afterLogId, int limit);
+
+    Stream<InventoryLog> streamAll();
+
     InventoryLog findById(int logId);
 
     List<InventoryLog> findByItemId(int itemId);
 
     List<InventoryLog> findByAuthorityId(int authorityId);
 
+    List<InventoryLog> findByItemName(String itemName);
+
+    List<InventoryLog> findByAuthorityEmail(String authorityEmail);
+
+    // from is inclusive and required; to is exclusive; null filters are ignored.
+    List<InventoryLog> findByTimeRange(LocalDateTime from, LocalDateTime to, Integer itemId,
+                                       Integer authorityId, String reason, int limit);
+
+    boolean existsDuplicate(InventoryLog inventoryLog);
+
     InventoryLog add(InventoryLog log);
 
     boolean update(InventoryLog log);
@@ -0,0 +1,23 @@
+package re.api.data;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Changes whenever any item row may have changed. CachingItemRepository bumps it on every write, both
+// immediately and again when the surrounding transaction completes, so a catalog read while a write
+// was in flight is never labelled with the version that follows it. Kept in memory like the item
+// cache itself: it only sees writes made through this instance.
+@Component
+public class ItemCatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    void bump() {
+        version.incrementAndGet();
+    }
+}
@@ -9,7 +9,14 @@ import re.api.models.Item;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Repository
 public class ItemJdbcTemplateRepository implements ItemRepository {
@@ -28,7 +35,46 @@ public class ItemJdbcTemplateRepository implements ItemRepository {
                 FROM item;
                 """;
 
-        return jdbcTemplate.query(sql, new ItemMapper());
+        return jdbcTemplate.query(sql, ItemMapper.INSTANCE.rowMapper());
+    }
+
+    @Override
+    public List<Item> findAllEnabled() {
+        final String sql = """
+                SELECT item_id, item_name, item_description, nutrition_facts,
+                       picture_path, category, current_count, item_limit, price_per_unit, enabled
+                FROM item
+                WHERE enabled = 1
+                ORDER BY item_id;
+                """;
+
+        return jdbcTemplate.query(sql, ItemMapper.INSTANCE.rowMapper());
+    }
+
+    @Override
+    public List<Item> findPage(int afterItemId, int limit) {
+        final String sql = """
+                SELECT item_id, item_name, item_description, nutrition_facts,
+                       picture_path, category, current_count, item_limit, price_per_unit, enabled
+                FROM item
+                WHERE item_id > ?
+                ORDER BY item_id
+                LIMIT ?;
+                """;
+
+        return jdbcTemplate.query(sql, ItemMapper.INSTANCE.rowMapper(), afterItemId, limit);
+    }
+
+    @Override
+    public Stream<Item> streamAll() {
+        final String sql = """
+                SELECT item_id, item_name, item_description, nutrition_facts,
+                       picture_path, category, current_count, item_limit, price_per_unit, enabled
+                FROM item
+                ORDER BY item_id;
+                """;
+
+        return JdbcStreams.stream(jdbcTemplate, sql, ItemMapper.INSTANCE.rowMapper());
     }
 
     @Override
@@ -40,12 +86,28 @@ public class ItemJdbcTemplateRepository implements ItemRepository {
                 WHERE item_id = ?;
                 """;
 
-        return jdbcTemplate.query(sql, new ItemMapper(), itemId)
+        return jdbcTemplate.query(sql, ItemMapper.INSTANCE.rowMapper(), itemId)
                 .stream()
                 .findFirst()
                 .orElse(null);
     }
 
+    @Override
+    public List<Item> findByIds(Collection<Integer> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            return List.of();
+        }
+
+        final String sql = """
+                SELECT item_id, item_name, item_description, nutrition_facts,
+                       picture_path, category, current_count, item_limit, price_per_unit, enabled
+                FROM item
+                WHERE item_id IN (%s);
+                """.formatted(String.join(", ", Collections.nCopies(itemIds.size(), "?")));
+
+        return jdbcTemplate.query(sql, ItemMapper.INSTANCE.rowMapper(), itemIds.toArray());
+    }
+
     @Override
     public Item findByName(String itemName) {
         final String sql = """
@@ -55,7 +117,7 @@ public class ItemJdbcTemplateRepository implements ItemRepository {
                 WHERE item_name = ?;
                 """;
 
-        return jdbcTemplate.query(sql, new ItemMapper(), itemName)
+        return jdbcTemplate.query(sql, ItemMapper.INSTANCE.rowMapper(), itemName)
                 .stream()
                 .findFirst()
                 .orElse(null);
@@ -70,7 +132,27 @@ public class ItemJdbcTemplateRepository implements ItemRepository {
                 WHERE category = ?;
                 """;
 
-        return jdbcTemplate.query(sql, new ItemMapper(), category);
+        return jdbcTemplate.query(sql, ItemMapper.INSTANCE.rowMapper(), category);
+    }
+
+    @Override
+    public boolean existsDuplicate(Item item) {
+        final String sql = """
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM item
+                    WHERE item_name <=> ?
+                      AND category <=> ?
+                      AND price_per_unit <=> ?
+                      AND item_id <> ?
+                );
+                """;
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class,
+                item.getItemName(),
+                item.getCategory(),
+                item.getPricePerUnit(),
+                item.getItemId()));
     }
 
     @Override
@@ -101,6 +183,7 @@ public class ItemJdbcTemplateRepository implements ItemRepository {
         }
 
         item.setItemId(keyHolder.getKey().intValue());
+        InventoryLedger.append(jdbcTemplate, item.getItemId(), item.getCurrentCount());
         return item;
     }
 
@@ -114,7 +197,15 @@ public class ItemJdbcTemplateRepository implements ItemRepository {
                 WHERE item_id = ?;
                 """;
 
-        return jdbcTemplate.update(sql,
+        // Take the row's exclusive lock before anything else touches it. Reading the old count without
+        // it took a shared lock first, and two edits of one item then deadlocked upgrading to the UPDATE.
+        List<Integer> previousCount = jdbcTemplate.queryForList(
+                "SELECT current_count FROM item WHERE item_id = ? FOR UPDATE;", Integer.class, item.getItemId());
+        if (previousCount.isEmpty()) {
+            return false;
+        }
+
+        boolean updated = jdbcTemplate.update(sql,
                 item.getItemName(),
                 item.getItemDescription(),
                 item.getNutritionFacts(),
@@ -125,6 +216,10 @@ public class ItemJdbcTemplateRepository implements ItemRepository {
                 item.getPricePerUnit(),
                 item.isEnabled(),
                 item.getItemId()) > 0;
+        if (updated) {
+            InventoryLedger.append(jdbcTemplate, item.getItemId(), item.getCurrentCount() - previousCount.getFirst());
+        }
+        return updated;
     }
 
     @Override
@@ -135,7 +230,104 @@ public class ItemJdbcTemplateRepository implements ItemRepository {
                 WHERE item_id = ?;
                 """;
 
-        return jdbcTemplate.update(sql, updateAmount, itemId) > 0;
+        boolean updated = jdbcTemplate.update(sql, updateAmount, itemId) > 0;
+        if (updated) {
+            InventoryLedger.append(jdbcTemplate, itemId, updateAmount);
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean updateCurrentCounts(Map<Integer, Integer> updateAmountsByItemId) {
+        if (updateAmountsByItemId == null || updateAmountsByItemId.isEmpty()) {
+            return true;
+        }
+
+        // No trailing semicolon: with rewriteBatchedStatements the driver joins batched UPDATEs with its own.
+        final String sql = """
+                UPDATE item
+                SET current_count = current_count + ?
+                WHERE item_id = ?
+                """;
+
+        List<Map.Entry<Integer, Integer>> entries = sortedEntries(updateAmountsByItemId);
+        int[] rowsAffected = jdbcTemplate.batchUpdate(sql, toBatchArgs(entries));
+        InventoryLedger.appendAll(jdbcTemplate, updatedEntries(entries, rowsAffected));
+        return Arrays.stream(rowsAffected).allMatch(rows -> rows > 0);
+    }
+
+    @Override
+    public boolean decrementCurrentCount(int itemId, int quantity) {
+        // The stock check lives in the WHERE clause so concurrent checkouts cannot both take the last units.
+        final String sql = """
+                UPDATE item
+                SET current_count = current_count - ?
+                WHERE item_id = ?
+                  AND current_count >= ?;
+                """;
+
+        boolean decremented = jdbcTemplate.update(sql, quantity, itemId, quantity) > 0;
+        if (decremented) {
+            InventoryLedger.append(jdbcTemplate, itemId, -quantity);
+        }
+        return decremented;
+    }
+
+    @Override
+    public List<Integer> decrementCurrentCounts(Map<Integer, Integer> quantitiesByItemId) {
+        if (quantitiesByItemId == null || quantitiesByItemId.isEmpty()) {
+            return List.of();
+        }
+
+        // No trailing semicolon, see updateCurrentCounts.
+        final String sql = """
+                UPDATE item
+                SET current_count = current_count - ?
+                WHERE item_id = ?
+                  AND current_count >= ?
+                """;
+
+        // Kept as entries to map row counts back to item ids.
+        List<Map.Entry<Integer, Integer>> entries = sortedEntries(quantitiesByItemId);
+        List<Object[]> args = entries.stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), entry.getValue()})
+                .toList();
+
+        int[] rowsAffected = jdbcTemplate.batchUpdate(sql, args);
+
+        List<Integer> insufficientItemIds = new ArrayList<>();
+        List<Map.Entry<Integer, Integer>> decremented = new ArrayList<>();
+        for (int i = 0; i < rowsAffected.length; i++) {
+            if (rowsAffected[i] <= 0) {
+                insufficientItemIds.add(entries.get(i).getKey());
+            } else {
+                decremented.add(Map.entry(entries.get(i).getKey(), -entries.get(i).getValue()));
+            }
+        }
+        InventoryLedger.appendAll(jdbcTemplate, decremented);
+        return insufficientItemIds;
+    }
+
+    // Rows are updated in item_id order so concurrent batches touching the same items cannot deadlock.
+    private static List<Map.Entry<Integer, Integer>> sortedEntries(Map<Integer, Integer> amountsByItemId) {
+        return new ArrayList<>(new TreeMap<>(amountsByItemId).entrySet());
+    }
+
+    private static List<Object[]> toBatchArgs(List<Map.Entry<Integer, Integer>> entries) {
+        return entries.stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+    }
+
+    private static List<Map.Entry<Integer, Integer>> updatedEntries(List<Map.Entry<Integer, Integer>> entries,
+                                                                   int[] rowsAffected) {
+        List<Map.Entry<Integer, Integer>> updated = new ArrayList<>();
+        for (int i = 0; i < rowsAffected.length; i++) {
+            if (rowsAffected[i] > 0) {
+                updated.add(entries.get(i));
+            }
+        }
+        return updated;
     }
 
     @Override
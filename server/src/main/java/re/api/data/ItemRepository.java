@@ -1,22 +1,41 @@
 package re.api.data;
 
 import re.api.models.Item;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface ItemRepository {
     List<Item> findAll();
 
+    List<Item> findAllEnabled();
+
+    List<Item> findPage(int afterItemId, int limit);
+
+    Stream<Item> streamAll();
+
     Item findById(int itemId);
 
+    List<Item> findByIds(Collection<Integer> itemIds);
+
     Item findByName(String name);
 
     List<Item> findByCategory(String category);
 
+    boolean existsDuplicate(Item item);
+
     Item add(Item item);
 
     boolean update(Item item);
 
     boolean updateCurrentCount(int itemId, int updateAmount);
 
+    boolean updateCurrentCounts(Map<Integer, Integer> updateAmountsByItemId);
+
+    boolean decrementCurrentCount(int itemId, int quantity);
+
+    List<Integer> decrementCurrentCounts(Map<Integer, Integer> quantitiesByItemId);
+
     boolean disableById(int itemId);
 }
\ No newline at end of file
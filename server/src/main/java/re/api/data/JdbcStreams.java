@@ -0,0 +1,29 @@
+package re.api.data;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.stream.Stream;
+
+class JdbcStreams {
+    // MySQL Connector/J only streams rows one at a time (instead of buffering the whole result set
+    // in memory) for forward-only, read-only statements with this fetch size.
+    static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private JdbcStreams() {}
+
+    // The returned stream holds a connection open until it is closed, so callers must use try-with-resources.
+    static <T> Stream<T> stream(JdbcTemplate jdbcTemplate, String sql, RowMapper<T> rowMapper, Object... args) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, rowMapper);
+    }
+}
@@ -1,5 +1,6 @@
 package re.api.data;
 
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -8,8 +9,10 @@ import re.api.data.mappers.PurchaseItemMapper;
 import re.api.models.PurchaseItem;
 
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class PurchaseItemJdbcTemplateRepository implements PurchaseItemRepository {
@@ -27,7 +30,7 @@ public class PurchaseItemJdbcTemplateRepository implements PurchaseItemRepositor
                 WHERE purchase_item_id = ?
                 """;
 
-        return jdbcTemplate.query(sql, new PurchaseItemMapper(), purchaseItemId)
+        return jdbcTemplate.query(sql, PurchaseItemMapper.INSTANCE.rowMapper(), purchaseItemId)
                 .stream()
                 .findFirst()
                 .orElse(null);
@@ -41,7 +44,25 @@ public class PurchaseItemJdbcTemplateRepository implements PurchaseItemRepositor
                 WHERE purchase_id = ?
                 """;
 
-        return jdbcTemplate.query(sql, new PurchaseItemMapper(), purchaseId);
+        return jdbcTemplate.query(sql, PurchaseItemMapper.INSTANCE.rowMapper(), purchaseId);
+    }
+
+    @Override
+    public boolean existsDuplicate(PurchaseItem purchaseItem) {
+        final String sql = """
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM purchase_item
+                    WHERE purchase_id = ?
+                      AND item_id = ?
+                      AND purchase_item_id <> ?
+                );
+                """;
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class,
+                purchaseItem.getPurchaseOrderId(),
+                purchaseItem.getItemId(),
+                purchaseItem.getPurchaseItemId()));
     }
 
     @Override
@@ -69,6 +90,45 @@ public class PurchaseItemJdbcTemplateRepository implements PurchaseItemRepositor
         return purchaseItem;
     }
 
+    @Override
+    public List<PurchaseItem> addAll(List<PurchaseItem> purchaseItems) {
+        if (purchaseItems == null || purchaseItems.isEmpty()) {
+            return List.of();
+        }
+
+        final String sql = """
+                INSERT INTO purchase_item (purchase_id, item_id, quantity)
+                VALUES (?, ?, ?)
+                """;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PurchaseItem purchaseItem = purchaseItems.get(i);
+                        ps.setInt(1, purchaseItem.getPurchaseOrderId());
+                        ps.setInt(2, purchaseItem.getItemId());
+                        ps.setInt(3, purchaseItem.getQuantity());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return purchaseItems.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < purchaseItems.size(); i++) {
+            purchaseItems.get(i).setPurchaseItemId(((Number) keys.get(i).values().iterator().next()).intValue());
+        }
+
+        return purchaseItems;
+    }
+
     @Override
     public boolean update(PurchaseItem purchaseItem) {
         final String sql = """
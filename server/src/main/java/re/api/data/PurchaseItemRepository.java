@@ -8,8 +8,12 @@ public interface PurchaseItemRepository {
 
     List<PurchaseItem> findByPurchaseOrderId(int purchaseOrderId);
 
+    boolean existsDuplicate(PurchaseItem purchaseItem);
+
     PurchaseItem add(PurchaseItem purchaseItem);
 
+    List<PurchaseItem> addAll(List<PurchaseItem> purchaseItems);
+
     boolean update(PurchaseItem purchaseItem);
 
     boolean deleteById(int purchaseItemId);
@@ -1,5 +1,6 @@
 package re.api.data;
 
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -8,8 +9,12 @@ import re.api.data.mappers.PurchaseOrderMapper;
 import re.api.models.PurchaseOrder;
 
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Repository
 public class PurchaseOrderJdbcTemplateRepository implements PurchaseOrderRepository {
@@ -26,7 +31,31 @@ public class PurchaseOrderJdbcTemplateRepository implements PurchaseOrderReposit
                 FROM purchase_order;
                 """;
 
-        return jdbcTemplate.query(sql, new PurchaseOrderMapper());
+        return jdbcTemplate.query(sql, PurchaseOrderMapper.INSTANCE.rowMapper());
+    }
+
+    @Override
+    public List<PurchaseOrder> findPage(int afterPurchaseId, int limit) {
+        final String sql = """
+                SELECT purchase_id, admin_id, vendor_id, purchase_date
+                FROM purchase_order
+                WHERE purchase_id > ?
+                ORDER BY purchase_id
+                LIMIT ?;
+                """;
+
+        return jdbcTemplate.query(sql, PurchaseOrderMapper.INSTANCE.rowMapper(), afterPurchaseId, limit);
+    }
+
+    @Override
+    public Stream<PurchaseOrder> streamAll() {
+        final String sql = """
+                SELECT purchase_id, admin_id, vendor_id, purchase_date
+                FROM purchase_order
+                ORDER BY purchase_id;
+                """;
+
+        return JdbcStreams.stream(jdbcTemplate, sql, PurchaseOrderMapper.INSTANCE.rowMapper());
     }
 
     @Override
@@ -36,10 +65,43 @@ public class PurchaseOrderJdbcTemplateRepository implements PurchaseOrderReposit
                 WHERE purchase_id = ?;
                 """;
 
-        return jdbcTemplate.query(sql, new PurchaseOrderMapper(), purchaseId).stream()
+        return jdbcTemplate.query(sql, PurchaseOrderMapper.INSTANCE.rowMapper(), purchaseId).stream()
                 .findFirst().orElse(null);
     }
 
+    @Override
+    public List<PurchaseOrder> findByAdminIdAndDateRange(int adminId, LocalDateTime from, LocalDateTime to) {
+        final String sql = """
+                SELECT purchase_id, admin_id, vendor_id, purchase_date
+                FROM purchase_order
+                WHERE admin_id = ?
+                  AND purchase_date BETWEEN ? AND ?
+                ORDER BY purchase_date, purchase_id;
+                """;
+
+        return jdbcTemplate.query(sql, PurchaseOrderMapper.INSTANCE.rowMapper(), adminId, from, to);
+    }
+
+    @Override
+    public boolean existsDuplicate(PurchaseOrder purchaseOrder) {
+        final String sql = """
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM purchase_order
+                    WHERE vendor_id = ?
+                      AND purchase_date <=> ?
+                      AND admin_id = ?
+                      AND purchase_id <> ?
+                );
+                """;
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class,
+                purchaseOrder.getVendorId(),
+                purchaseOrder.getPurchaseDate(),
+                purchaseOrder.getAdminId(),
+                purchaseOrder.getPurchaseId()));
+    }
+
     @Override
     public PurchaseOrder add(PurchaseOrder purchaseOrder) {
         final String sql = """
@@ -65,6 +127,46 @@ public class PurchaseOrderJdbcTemplateRepository implements PurchaseOrderReposit
         return purchaseOrder;
     }
 
+    @Override
+    public List<PurchaseOrder> addAll(List<PurchaseOrder> purchaseOrders) {
+        if (purchaseOrders == null || purchaseOrders.isEmpty()) {
+            return List.of();
+        }
+
+        // No trailing semicolon: with rewriteBatchedStatements the driver folds the batch into one INSERT.
+        final String sql = """
+                INSERT INTO purchase_order (admin_id, vendor_id, purchase_date)
+                VALUES (?, ?, ?)
+                """;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PurchaseOrder purchaseOrder = purchaseOrders.get(i);
+                        ps.setInt(1, purchaseOrder.getAdminId());
+                        ps.setInt(2, purchaseOrder.getVendorId());
+                        ps.setTimestamp(3, java.sql.Timestamp.valueOf(purchaseOrder.getPurchaseDate()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return purchaseOrders.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < purchaseOrders.size(); i++) {
+            purchaseOrders.get(i).setPurchaseId(((Number) keys.get(i).values().iterator().next()).intValue());
+        }
+
+        return purchaseOrders;
+    }
+
     @Override
     public boolean update(PurchaseOrder purchaseOrder) {
         final String sql = """
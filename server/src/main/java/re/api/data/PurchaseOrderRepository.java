@@ -1,15 +1,29 @@
 package re.api.data;
 
 import re.api.models.PurchaseOrder;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PurchaseOrderRepository {
     List<PurchaseOrder> findAll();
 
+    List<PurchaseOrder> findPage(int afterPurchaseId, int limit);
+
+    Stream<PurchaseOrder> streamAll();
+
     PurchaseOrder findById(int purchaseId);
 
+    // Both ends inclusive.
+    List<PurchaseOrder> findByAdminIdAndDateRange(int adminId, LocalDateTime from, LocalDateTime to);
+
+    boolean existsDuplicate(PurchaseOrder purchaseOrder);
+
     PurchaseOrder add(PurchaseOrder purchaseOrder);
 
+    List<PurchaseOrder> addAll(List<PurchaseOrder> purchaseOrders);
+
     boolean update(PurchaseOrder purchaseOrder);
 
     boolean deleteById(int purchaseId);
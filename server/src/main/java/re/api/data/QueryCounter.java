@@ -0,0 +1,48 @@
+package re.api.data;
+
+// Counts the JDBC statements executed on the current thread while a scope is open. Fed by
+// StatementCountingDataSource; read per HTTP request by QueryBudgetFilter and per call by tests.
+// Scopes nest: closing an inner scope adds its count to the enclosing one.
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void increment() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int count;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                parent.count += count;
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
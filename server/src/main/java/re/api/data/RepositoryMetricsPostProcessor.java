@@ -0,0 +1,115 @@
+package re.api.data;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Times every public method of the *JdbcTemplateRepository beans and records how many rows each query
+// handed back, tagged by repository and method, so /actuator/metrics and /actuator/prometheus show which
+// queries the database is spending its time on:
+//   repository.query (timer)            repository, method, outcome (SUCCESS|ERROR), exception
+//   repository.rows  (distribution)     repository, method
+// Repositories are proxied by class because services and tests inject the concrete types.
+@Component
+public class RepositoryMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    static final String QUERY_TIMER = "repository.query";
+    static final String ROWS_SUMMARY = "repository.rows";
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        ClassFilter repositories = type -> type.getSimpleName().endsWith("JdbcTemplateRepository");
+        StaticMethodMatcher publicMethods = new StaticMethodMatcher() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(repositories, publicMethods),
+                new Interceptor(meterRegistry));
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+
+    private record Interceptor(ObjectProvider<MeterRegistry> meterRegistryProvider) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+            if (meterRegistry == null) {
+                return invocation.proceed();
+            }
+
+            String repository = AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+            String method = invocation.getMethod().getName();
+            Timer.Sample sample = Timer.start(meterRegistry);
+
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable ex) {
+                stop(meterRegistry, sample, repository, method, "ERROR", ex.getClass().getSimpleName());
+                throw ex;
+            }
+
+            // Streams are read after we return; time and count them until the caller closes them.
+            if (result instanceof Stream<?> stream) {
+                AtomicLong rows = new AtomicLong();
+                return stream.peek(row -> rows.incrementAndGet()).onClose(() -> {
+                    stop(meterRegistry, sample, repository, method, "SUCCESS", "none");
+                    rows(meterRegistry, repository, method).record(rows.get());
+                });
+            }
+
+            stop(meterRegistry, sample, repository, method, "SUCCESS", "none");
+            Class<?> returnType = invocation.getMethod().getReturnType();
+            if (result instanceof Collection<?> collection) {
+                rows(meterRegistry, repository, method).record(collection.size());
+            } else if (returnsRow(returnType)) {
+                rows(meterRegistry, repository, method).record(result == null ? 0 : 1);
+            }
+            return result;
+        }
+
+        // Single-row finders return a model object; counts, flags and void are not rows.
+        private static boolean returnsRow(Class<?> returnType) {
+            return !returnType.isPrimitive()
+                    && !Number.class.isAssignableFrom(returnType)
+                    && returnType != Boolean.class
+                    && returnType != String.class;
+        }
+
+        private static void stop(MeterRegistry meterRegistry, Timer.Sample sample, String repository,
+                                 String method, String outcome, String exception) {
+            sample.stop(Timer.builder(QUERY_TIMER)
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+
+        private static DistributionSummary rows(MeterRegistry meterRegistry, String repository, String method) {
+            return DistributionSummary.builder(ROWS_SUMMARY)
+                    .baseUnit("rows")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(meterRegistry);
+        }
+    }
+}
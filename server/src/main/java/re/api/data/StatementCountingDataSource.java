@@ -0,0 +1,88 @@
+package re.api.data;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Wraps the application DataSource so every execute*/executeBatch call is reported to QueryCounter.
+// A batch is one round trip and counts once. Every JDBC call then goes through a reflective proxy, so
+// the wrapper is only installed when query-budget.enabled is set (tests and local profiling).
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return countingStatement(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return countingStatement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return countingStatement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T countingStatement(Class<T> type, T statement) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                QueryCounter.increment();
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    @Component
+    @ConditionalOnProperty(name = "query-budget.enabled", havingValue = "true")
+    static class PostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                return new StatementCountingDataSource(dataSource);
+            }
+            return bean;
+        }
+    }
+}
@@ -26,7 +26,7 @@ public class VendorJdbcTemplateRepository implements VendorRepository{
                 FROM vendor;
                 """;
 
-       return jdbcTemplate.query(sql, new VendorMapper());
+       return jdbcTemplate.query(sql, VendorMapper.INSTANCE.rowMapper());
     }
 
     @Override
@@ -37,7 +37,7 @@ public class VendorJdbcTemplateRepository implements VendorRepository{
                 WHERE vendor_id = ?;
                 """;
 
-        return jdbcTemplate.query(sql, new VendorMapper(), vendorId)
+        return jdbcTemplate.query(sql, VendorMapper.INSTANCE.rowMapper(), vendorId)
                 .stream()
                 .findFirst()
                 .orElse(null);
@@ -51,12 +51,48 @@ public class VendorJdbcTemplateRepository implements VendorRepository{
                 WHERE vendor_name = ?;
                 """;
 
-        return jdbcTemplate.query(sql, new VendorMapper(), vendorName)
+        return jdbcTemplate.query(sql, VendorMapper.INSTANCE.rowMapper(), vendorName)
                 .stream()
                 .findFirst()
                 .orElse(null);
     }
 
+    @Override
+    public boolean existsDuplicate(Vendor vendor) {
+        final String sql = """
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM vendor
+                    WHERE vendor_name <=> ?
+                      AND phone_number <=> ?
+                      AND contact_email <=> ?
+                      AND vendor_id <> ?
+                );
+                """;
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class,
+                vendor.getVendorName(),
+                vendor.getPhoneNumber(),
+                vendor.getContactEmail(),
+                vendor.getVendorId()));
+    }
+
+    @Override
+    public boolean existsByName(String vendorName, int excludedVendorId) {
+        // vendor_name uses a case-insensitive collation, so this matches the old equalsIgnoreCase check.
+        final String sql = """
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM vendor
+                    WHERE vendor_name = ?
+                      AND vendor_id <> ?
+                );
+                """;
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class,
+                vendorName, excludedVendorId));
+    }
+
     @Override
     public Vendor add(Vendor vendor) {
         final String sql = """
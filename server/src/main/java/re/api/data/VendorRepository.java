@@ -10,6 +10,10 @@ public interface VendorRepository {
 
     Vendor findByName(String name);
 
+    boolean existsDuplicate(Vendor vendor);
+
+    boolean existsByName(String vendorName, int excludedVendorId);
+
     Vendor add(Vendor vendor);
 
     boolean update(Vendor vendor);
@@ -1,22 +1,28 @@
 package re.api.data.mappers;
 
-import org.springframework.jdbc.core.RowMapper;
 import re.api.models.AppUser;
 import re.api.models.UserRole;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class AppUserMapper implements RowMapper<AppUser> {
+public class AppUserMapper extends ColumnIndexRowMapper<AppUser> {
+
+    public static final AppUserMapper INSTANCE = new AppUserMapper();
+
+    private AppUserMapper() {
+        super("app_user_id", "username", "password_hash", "user_role", "enabled");
+    }
+
     @Override
-    public AppUser mapRow(ResultSet rs, int rowNum) throws SQLException {
+    protected AppUser mapRow(ResultSet rs, int[] columns) throws SQLException {
         // No empty constructor in AppUser, so we need to use the constructor with parameters
         return new AppUser(
-                rs.getInt("app_user_id"),
-                rs.getString("username"),
-                rs.getString("password_hash"),
-                UserRole.valueOf(rs.getString("user_role").toUpperCase()),
-                rs.getBoolean("enabled")
+                rs.getInt(columns[0]),
+                rs.getString(columns[1]),
+                rs.getString(columns[2]),
+                UserRole.valueOf(rs.getString(columns[3]).toUpperCase()),
+                rs.getBoolean(columns[4])
         );
     }
 }
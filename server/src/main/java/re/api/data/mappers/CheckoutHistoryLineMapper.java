@@ -0,0 +1,34 @@
+package re.api.data.mappers;
+
+import re.api.models.CheckoutHistoryLine;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class CheckoutHistoryLineMapper extends ColumnIndexRowMapper<CheckoutHistoryLine> {
+
+    public static final CheckoutHistoryLineMapper INSTANCE = new CheckoutHistoryLineMapper();
+
+    private CheckoutHistoryLineMapper() {
+        super("checkout_id", "checkout_date", "student_id", "authority_id", "self_checkout",
+                "item_id", "item_name", "category", "quantity", "price_per_unit");
+    }
+
+    @Override
+    protected CheckoutHistoryLine mapRow(ResultSet rs, int[] columns) throws SQLException {
+        BigDecimal price = rs.getBigDecimal(columns[9]);
+        return new CheckoutHistoryLine(
+                rs.getInt(columns[0]),
+                rs.getTimestamp(columns[1]).toLocalDateTime(),
+                rs.getString(columns[2]),
+                rs.getInt(columns[3]),
+                rs.getBoolean(columns[4]),
+                rs.getInt(columns[5]),
+                rs.getString(columns[6]),
+                rs.getString(columns[7]),
+                rs.getInt(columns[8]),
+                price != null ? price : BigDecimal.ZERO
+        );
+    }
+}
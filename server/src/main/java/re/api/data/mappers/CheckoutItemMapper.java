@@ -1,18 +1,25 @@
 package re.api.data.mappers;
 
 import re.api.models.CheckoutItem;
-import org.springframework.jdbc.core.RowMapper;
+
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class CheckoutItemMapper implements RowMapper<CheckoutItem> {
+public class CheckoutItemMapper extends ColumnIndexRowMapper<CheckoutItem> {
+
+    public static final CheckoutItemMapper INSTANCE = new CheckoutItemMapper();
+
+    private CheckoutItemMapper() {
+        super("checkout_item_id", "checkout_id", "item_id", "quantity");
+    }
+
     @Override
-    public CheckoutItem mapRow(ResultSet rs, int rowNum) throws SQLException {
+    protected CheckoutItem mapRow(ResultSet rs, int[] columns) throws SQLException {
         CheckoutItem checkoutItem = new CheckoutItem();
-        checkoutItem.setCheckoutItemId(rs.getInt("checkout_item_id"));
-        checkoutItem.setCheckoutOrderId(rs.getInt("checkout_id"));
-        checkoutItem.setItemId(rs.getInt("item_id"));
-        checkoutItem.setQuantity(rs.getInt("quantity"));
+        checkoutItem.setCheckoutItemId(rs.getInt(columns[0]));
+        checkoutItem.setCheckoutOrderId(rs.getInt(columns[1]));
+        checkoutItem.setItemId(rs.getInt(columns[2]));
+        checkoutItem.setQuantity(rs.getInt(columns[3]));
         return checkoutItem;
     }
 }
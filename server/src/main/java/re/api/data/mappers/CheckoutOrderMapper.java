@@ -1,19 +1,26 @@
 package re.api.data.mappers;
 
 import re.api.models.CheckoutOrder;
-import org.springframework.jdbc.core.RowMapper;
+
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class CheckoutOrderMapper implements RowMapper<CheckoutOrder> {
+public class CheckoutOrderMapper extends ColumnIndexRowMapper<CheckoutOrder> {
+
+    public static final CheckoutOrderMapper INSTANCE = new CheckoutOrderMapper();
+
+    private CheckoutOrderMapper() {
+        super("checkout_id", "student_id", "authority_id", "self_checkout", "checkout_date");
+    }
+
     @Override
-    public CheckoutOrder mapRow(ResultSet rs, int rowNum) throws SQLException {
+    protected CheckoutOrder mapRow(ResultSet rs, int[] columns) throws SQLException {
         CheckoutOrder checkoutOrder = new CheckoutOrder();
-        checkoutOrder.setCheckoutOrderId(rs.getInt("checkout_id"));
-        checkoutOrder.setStudentId(rs.getString("student_id"));
-        checkoutOrder.setAuthorityId(rs.getInt("authority_id"));
-        checkoutOrder.setSelfCheckout(rs.getBoolean("self_checkout"));
-        checkoutOrder.setCheckoutDate(rs.getTimestamp("checkout_date").toLocalDateTime());
+        checkoutOrder.setCheckoutOrderId(rs.getInt(columns[0]));
+        checkoutOrder.setStudentId(rs.getString(columns[1]));
+        checkoutOrder.setAuthorityId(rs.getInt(columns[2]));
+        checkoutOrder.setSelfCheckout(rs.getBoolean(columns[3]));
+        checkoutOrder.setCheckoutDate(rs.getTimestamp(columns[4]).toLocalDateTime());
         return checkoutOrder;
     }
 }
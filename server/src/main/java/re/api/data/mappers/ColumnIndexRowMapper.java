@@ -0,0 +1,55 @@
+package re.api.data.mappers;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Base for the shared mappers. Looking a column up by name costs Connector/J a case-insensitive
+// TreeMap search on every getter call, so the names are resolved to indexes once per query and each
+// row is then read by position.
+//
+// The INSTANCE singletons only know the column names and how to build a row, and hold no state, so
+// any number of threads can use them at once. Each query asks for its own rowMapper(), which resolves
+// the indexes on its first row and is dropped along with the query.
+public abstract class ColumnIndexRowMapper<T> {
+
+    private final String[] columns;
+
+    protected ColumnIndexRowMapper(String... columns) {
+        this.columns = columns;
+    }
+
+    // A mapper for a single query; pass a fresh one to each JdbcTemplate call rather than keeping it.
+    public RowMapper<T> rowMapper() {
+        return new Resolving();
+    }
+
+    // columns[i] holds the ResultSet index of the i-th name passed to the constructor.
+    protected abstract T mapRow(ResultSet rs, int[] columns) throws SQLException;
+
+    private int[] resolve(ResultSet rs) throws SQLException {
+        int[] indexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            indexes[i] = rs.findColumn(columns[i]);
+        }
+        return indexes;
+    }
+
+    // Confined to the thread running its query, so the fields need no synchronization. The ResultSet is
+    // compared only in case a caller does reuse one for a second query.
+    private final class Resolving implements RowMapper<T> {
+
+        private ResultSet resolvedFor;
+        private int[] indexes;
+
+        @Override
+        public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+            if (rs != resolvedFor) {
+                indexes = resolve(rs);
+                resolvedFor = rs;
+            }
+            return ColumnIndexRowMapper.this.mapRow(rs, indexes);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package re.api.data.mappers;
+
+import re.api.models.IdempotentResponse;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class IdempotentResponseMapper extends ColumnIndexRowMapper<IdempotentResponse> {
+
+    public static final IdempotentResponseMapper INSTANCE = new IdempotentResponseMapper();
+
+    private IdempotentResponseMapper() {
+        super("endpoint", "idempotency_key", "request_hash", "status_code", "response_body", "created_at");
+    }
+
+    @Override
+    protected IdempotentResponse mapRow(ResultSet rs, int[] columns) throws SQLException {
+        return new IdempotentResponse(
+                rs.getString(columns[0]),
+                rs.getString(columns[1]),
+                rs.getString(columns[2]),
+                rs.getInt(columns[3]),
+                rs.getString(columns[4]),
+                rs.getTimestamp(columns[5]).toLocalDateTime()
+        );
+    }
+}
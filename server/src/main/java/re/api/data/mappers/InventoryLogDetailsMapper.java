@@ -0,0 +1,58 @@
+package re.api.data.mappers;
+
+import re.api.models.AppUser;
+import re.api.models.InventoryLog;
+import re.api.models.Item;
+import re.api.models.UserRole;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+// Maps an inventory_log row joined with its item and authority. Both tables have an enabled column,
+// so the query aliases them as item_enabled and authority_enabled.
+public class InventoryLogDetailsMapper extends ColumnIndexRowMapper<InventoryLog> {
+
+    public static final InventoryLogDetailsMapper INSTANCE = new InventoryLogDetailsMapper();
+
+    private static final int ITEM = InventoryLogMapper.COLUMNS.length;
+    private static final int AUTHORITY = ITEM + 9;
+
+    private InventoryLogDetailsMapper() {
+        super(Stream.concat(Stream.of(InventoryLogMapper.COLUMNS), Stream.of(
+                "item_name", "item_description", "nutrition_facts", "picture_path", "category",
+                "current_count", "item_limit", "price_per_unit", "item_enabled",
+                "username", "user_role", "authority_enabled")).toArray(String[]::new));
+    }
+
+    @Override
+    protected InventoryLog mapRow(ResultSet rs, int[] columns) throws SQLException {
+        InventoryLog inventoryLog = InventoryLogMapper.map(rs, columns);
+
+        Item item = new Item();
+        item.setItemId(inventoryLog.getItemId());
+        item.setItemName(rs.getString(columns[ITEM]));
+        item.setItemDescription(rs.getString(columns[ITEM + 1]));
+        item.setNutritionFacts(rs.getString(columns[ITEM + 2]));
+        item.setPicturePath(rs.getString(columns[ITEM + 3]));
+        item.setCategory(rs.getString(columns[ITEM + 4]));
+        item.setCurrentCount(rs.getInt(columns[ITEM + 5]));
+        item.setItemLimit(rs.getInt(columns[ITEM + 6]));
+        BigDecimal price = rs.getBigDecimal(columns[ITEM + 7]);
+        item.setPricePerUnit(price != null ? price : BigDecimal.ZERO);
+        item.setEnabled(rs.getBoolean(columns[ITEM + 8]));
+        inventoryLog.setItem(item);
+
+        // The password hash is never selected for display joins
+        inventoryLog.setAuthority(new AppUser(
+                inventoryLog.getAuthorityId(),
+                rs.getString(columns[AUTHORITY]),
+                null,
+                UserRole.valueOf(rs.getString(columns[AUTHORITY + 1]).toUpperCase()),
+                rs.getBoolean(columns[AUTHORITY + 2])
+        ));
+
+        return inventoryLog;
+    }
+}
@@ -1,21 +1,35 @@
 package re.api.data.mappers;
 
-import org.springframework.jdbc.core.RowMapper;
 import re.api.models.InventoryLog;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class InventoryLogMapper implements RowMapper<InventoryLog> {
+public class InventoryLogMapper extends ColumnIndexRowMapper<InventoryLog> {
+
+    // Declared before INSTANCE, which reads it while the class initializes.
+    static final String[] COLUMNS = {"log_id", "authority_id", "item_id", "quantity_change", "reason", "time_stamp"};
+
+    public static final InventoryLogMapper INSTANCE = new InventoryLogMapper();
+
+    private InventoryLogMapper() {
+        super(COLUMNS);
+    }
+
     @Override
-    public InventoryLog mapRow(ResultSet rs, int rowNum) throws SQLException {
+    protected InventoryLog mapRow(ResultSet rs, int[] columns) throws SQLException {
+        return map(rs, columns);
+    }
+
+    // Reads COLUMNS from the first positions of columns; shared with InventoryLogDetailsMapper.
+    static InventoryLog map(ResultSet rs, int[] columns) throws SQLException {
         InventoryLog inventoryLog = new InventoryLog();
-        inventoryLog.setLogId(rs.getInt("log_id"));
-        inventoryLog.setAuthorityId(rs.getInt("authority_id"));
-        inventoryLog.setItemId(rs.getInt("item_id"));
-        inventoryLog.setQuantityChange(rs.getInt("quantity_change"));
-        inventoryLog.setReason(rs.getString("reason"));
-        inventoryLog.setTimeStamp(rs.getTimestamp("time_stamp").toLocalDateTime());
+        inventoryLog.setLogId(rs.getInt(columns[0]));
+        inventoryLog.setAuthorityId(rs.getInt(columns[1]));
+        inventoryLog.setItemId(rs.getInt(columns[2]));
+        inventoryLog.setQuantityChange(rs.getInt(columns[3]));
+        inventoryLog.setReason(rs.getString(columns[4]));
+        inventoryLog.setTimeStamp(rs.getTimestamp(columns[5]).toLocalDateTime());
         return inventoryLog;
     }
-}
\ No newline at end of file
+}
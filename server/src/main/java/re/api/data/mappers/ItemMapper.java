@@ -1,27 +1,34 @@
 package re.api.data.mappers;
 
-import org.springframework.jdbc.core.RowMapper;
 import re.api.models.Item;
 
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class ItemMapper implements RowMapper<Item> {
+public class ItemMapper extends ColumnIndexRowMapper<Item> {
+
+    public static final ItemMapper INSTANCE = new ItemMapper();
+
+    private ItemMapper() {
+        super("item_id", "item_name", "item_description", "nutrition_facts", "picture_path",
+                "category", "current_count", "item_limit", "price_per_unit", "enabled");
+    }
+
     @Override
-    public Item mapRow(ResultSet rs, int rowNum) throws SQLException {
+    protected Item mapRow(ResultSet rs, int[] columns) throws SQLException {
         Item item = new Item();
-        item.setItemId(rs.getInt("item_id"));
-        item.setItemName(rs.getString("item_name"));
-        item.setItemDescription(rs.getString("item_description"));
-        item.setNutritionFacts(rs.getString("nutrition_facts"));
-        item.setPicturePath(rs.getString("picture_path"));
-        item.setCategory(rs.getString("category"));
-        item.setCurrentCount(rs.getInt("current_count"));
-        item.setItemLimit(rs.getInt("item_limit"));
-        BigDecimal price = rs.getBigDecimal("price_per_unit"); // Ensure null safety for price_per_unit
+        item.setItemId(rs.getInt(columns[0]));
+        item.setItemName(rs.getString(columns[1]));
+        item.setItemDescription(rs.getString(columns[2]));
+        item.setNutritionFacts(rs.getString(columns[3]));
+        item.setPicturePath(rs.getString(columns[4]));
+        item.setCategory(rs.getString(columns[5]));
+        item.setCurrentCount(rs.getInt(columns[6]));
+        item.setItemLimit(rs.getInt(columns[7]));
+        BigDecimal price = rs.getBigDecimal(columns[8]); // Ensure null safety for price_per_unit
         item.setPricePerUnit(price != null ? price : BigDecimal.ZERO);
-        item.setEnabled(rs.getBoolean("enabled"));
+        item.setEnabled(rs.getBoolean(columns[9]));
         return item;
     }
 }
@@ -0,0 +1,24 @@
+package re.api.data.mappers;
+
+import re.api.models.ItemStock;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class ItemStockMapper extends ColumnIndexRowMapper<ItemStock> {
+
+    public static final ItemStockMapper INSTANCE = new ItemStockMapper();
+
+    private ItemStockMapper() {
+        super("item_id", "stock_at", "stock");
+    }
+
+    @Override
+    protected ItemStock mapRow(ResultSet rs, int[] columns) throws SQLException {
+        return new ItemStock(
+                rs.getInt(columns[0]),
+                rs.getTimestamp(columns[1]).toLocalDateTime(),
+                rs.getInt(columns[2])
+        );
+    }
+}
@@ -1,18 +1,25 @@
 package re.api.data.mappers;
 
 import re.api.models.PurchaseItem;
-import org.springframework.jdbc.core.RowMapper;
+
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class PurchaseItemMapper implements RowMapper<PurchaseItem> {
+public class PurchaseItemMapper extends ColumnIndexRowMapper<PurchaseItem> {
+
+    public static final PurchaseItemMapper INSTANCE = new PurchaseItemMapper();
+
+    private PurchaseItemMapper() {
+        super("purchase_item_id", "purchase_id", "item_id", "quantity");
+    }
+
     @Override
-    public PurchaseItem mapRow(ResultSet rs, int rowNum) throws SQLException {
+    protected PurchaseItem mapRow(ResultSet rs, int[] columns) throws SQLException {
         PurchaseItem purchaseItem = new PurchaseItem();
-        purchaseItem.setPurchaseItemId(rs.getInt("purchase_item_id"));
-        purchaseItem.setPurchaseOrderId(rs.getInt("purchase_id"));
-        purchaseItem.setItemId(rs.getInt("item_id"));
-        purchaseItem.setQuantity(rs.getInt("quantity"));
+        purchaseItem.setPurchaseItemId(rs.getInt(columns[0]));
+        purchaseItem.setPurchaseOrderId(rs.getInt(columns[1]));
+        purchaseItem.setItemId(rs.getInt(columns[2]));
+        purchaseItem.setQuantity(rs.getInt(columns[3]));
         return purchaseItem;
     }
-}
\ No newline at end of file
+}
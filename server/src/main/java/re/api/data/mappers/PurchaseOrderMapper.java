@@ -1,18 +1,25 @@
 package re.api.data.mappers;
 
 import re.api.models.PurchaseOrder;
-import org.springframework.jdbc.core.RowMapper;
+
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class PurchaseOrderMapper implements RowMapper<PurchaseOrder> {
+public class PurchaseOrderMapper extends ColumnIndexRowMapper<PurchaseOrder> {
+
+    public static final PurchaseOrderMapper INSTANCE = new PurchaseOrderMapper();
+
+    private PurchaseOrderMapper() {
+        super("purchase_id", "admin_id", "vendor_id", "purchase_date");
+    }
+
     @Override
-    public PurchaseOrder mapRow(ResultSet rs, int rowNum) throws SQLException {
+    protected PurchaseOrder mapRow(ResultSet rs, int[] columns) throws SQLException {
         PurchaseOrder purchaseOrder = new PurchaseOrder();
-        purchaseOrder.setPurchaseId(rs.getInt("purchase_id"));
-        purchaseOrder.setAdminId(rs.getInt("admin_id"));
-        purchaseOrder.setVendorId(rs.getInt("vendor_id"));
-        purchaseOrder.setPurchaseDate(rs.getTimestamp("purchase_date").toLocalDateTime());
+        purchaseOrder.setPurchaseId(rs.getInt(columns[0]));
+        purchaseOrder.setAdminId(rs.getInt(columns[1]));
+        purchaseOrder.setVendorId(rs.getInt(columns[2]));
+        purchaseOrder.setPurchaseDate(rs.getTimestamp(columns[3]).toLocalDateTime());
         return purchaseOrder;
     }
 }
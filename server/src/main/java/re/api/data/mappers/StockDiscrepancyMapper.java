@@ -0,0 +1,25 @@
+package re.api.data.mappers;
+
+import re.api.models.StockDiscrepancy;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class StockDiscrepancyMapper extends ColumnIndexRowMapper<StockDiscrepancy> {
+
+    public static final StockDiscrepancyMapper INSTANCE = new StockDiscrepancyMapper();
+
+    private StockDiscrepancyMapper() {
+        super("item_id", "item_name", "current_count", "ledger_count");
+    }
+
+    @Override
+    protected StockDiscrepancy mapRow(ResultSet rs, int[] columns) throws SQLException {
+        return new StockDiscrepancy(
+                rs.getInt(columns[0]),
+                rs.getString(columns[1]),
+                rs.getInt(columns[2]),
+                rs.getInt(columns[3])
+        );
+    }
+}
@@ -1,20 +1,26 @@
 package re.api.data.mappers;
 
-import org.springframework.jdbc.core.RowMapper;
 import re.api.models.Vendor;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
-public class VendorMapper implements RowMapper<Vendor> {
+public class VendorMapper extends ColumnIndexRowMapper<Vendor> {
+
+    public static final VendorMapper INSTANCE = new VendorMapper();
+
+    private VendorMapper() {
+        super("vendor_id", "vendor_name", "phone_number", "contact_email", "enabled");
+    }
+
     @Override
-    public Vendor mapRow(ResultSet rs, int rowNum) throws SQLException {
+    protected Vendor mapRow(ResultSet rs, int[] columns) throws SQLException {
         Vendor vendor = new Vendor();
-        vendor.setVendorId(rs.getInt("vendor_id"));
-        vendor.setVendorName(rs.getString("vendor_name"));
-        vendor.setPhoneNumber(rs.getString("phone_number"));
-        vendor.setContactEmail(rs.getString("contact_email"));
-        vendor.setEnabled(rs.getBoolean("enabled"));
+        vendor.setVendorId(rs.getInt(columns[0]));
+        vendor.setVendorName(rs.getString(columns[1]));
+        vendor.setPhoneNumber(rs.getString(columns[2]));
+        vendor.setContactEmail(rs.getString(columns[3]));
+        vendor.setEnabled(rs.getBoolean(columns[4]));
         return vendor;
     }
 }
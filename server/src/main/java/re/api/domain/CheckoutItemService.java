@@ -9,8 +9,12 @@ import re.api.models.CheckoutItem;
 import re.api.models.CheckoutOrder;
 import re.api.models.Item;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CheckoutItemService {
@@ -18,25 +22,34 @@ public class CheckoutItemService {
     private final CheckoutItemRepository checkoutItemRepository;
     private final CheckoutOrderRepository checkoutOrderRepository;
     private final ItemRepository itemRepository;
+    private final CheckoutQuotaTracker quotaTracker;
 
     public CheckoutItemService(CheckoutItemRepository checkoutItemRepository,
                                 CheckoutOrderRepository checkoutOrderRepository,
-                                ItemRepository itemRepository) {
+                                ItemRepository itemRepository,
+                                CheckoutQuotaTracker quotaTracker) {
         this.checkoutItemRepository = checkoutItemRepository;
         this.checkoutOrderRepository = checkoutOrderRepository;
         this.itemRepository = itemRepository;
+        this.quotaTracker = quotaTracker;
     }
 
     public CheckoutItem findById(int checkoutItemId) {
         return checkoutItemRepository.findById(checkoutItemId);
     }
 
-    public List<Map<String, Object>> findPopularItems() {
-        return checkoutItemRepository.findPopularItems();
+    public List<Map<String, Object>> findPopularItems(LocalDate since) {
+        return checkoutItemRepository.findPopularItems(since);
     }
 
-    public List<Map<String, Object>> findPopularCategories() {
-        return checkoutItemRepository.findPopularCategories();
+    public List<Map<String, Object>> findPopularCategories(LocalDate since) {
+        return checkoutItemRepository.findPopularCategories(since);
+    }
+
+    // Backfill for the popularity tally, e.g. after importing checkouts directly into the database.
+    @Transactional
+    public void rebuildPopularityTally() {
+        checkoutItemRepository.rebuildPopularityTally();
     }
 
     @Transactional
@@ -58,6 +71,20 @@ public class CheckoutItemService {
             return result;
         }
 
+        // The order the line ends up on, with this line in place of its old version, against the quota.
+        CheckoutOrder order = checkoutOrderRepository.findById(checkoutItem.getCheckoutOrderId());
+        List<CheckoutItem> orderItems = new ArrayList<>(checkoutItemRepository.findByCheckoutOrderId(checkoutItem.getCheckoutOrderId()));
+        orderItems.removeIf(line -> line.getCheckoutItemId() == checkoutItem.getCheckoutItemId());
+        orderItems.add(checkoutItem);
+        order.setCheckoutItems(orderItems);
+        Map<Integer, Item> itemsById = itemRepository.findByIds(orderItems.stream().map(CheckoutItem::getItemId).toList())
+                .stream()
+                .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+        quotaTracker.reserveEdit(result, order, itemsById);
+        if (!result.isSuccess()) {
+            return result;
+        }
+
         // Quantity change needs to be negative, opposite of purchase
         int quantityChange = checkoutItem.getQuantity() - existing.getQuantity();
         if (quantityChange != 0) {
@@ -68,6 +95,8 @@ public class CheckoutItemService {
             }
         }
 
+        quotaTracker.refreshAfterCompletion(existing.getCheckoutOrderId(), null);
+        quotaTracker.refreshAfterCompletion(checkoutItem.getCheckoutOrderId(), null);
         if (!checkoutItemRepository.update(checkoutItem)) {
             result.addMessage(ResultType.NOT_FOUND, "Checkout item not found.");
         } else {
@@ -94,6 +123,7 @@ public class CheckoutItemService {
             return result;
         }
 
+        quotaTracker.refreshAfterCompletion(existing.getCheckoutOrderId(), null);
         if (!checkoutItemRepository.deleteById(checkoutItemId)) {
             result.addMessage(ResultType.NOT_FOUND, "Checkout item ID not found.");
         }
@@ -163,13 +193,8 @@ public class CheckoutItemService {
         }
 
         // Check for duplicate item in the same checkout
-        List<CheckoutItem> existingItems = checkoutItemRepository.findByCheckoutOrderId(checkoutItem.getCheckoutOrderId());
-        for (CheckoutItem existingItem : existingItems) {
-            if (existingItem.equals(checkoutItem)
-                    && existingItem.getCheckoutItemId() != checkoutItem.getCheckoutItemId()) {
-                result.addMessage(ResultType.INVALID, "Duplicate checkout item found.");
-                break;
-            }
+        if (checkoutItemRepository.existsDuplicate(checkoutItem)) {
+            result.addMessage(ResultType.INVALID, "Duplicate checkout item found.");
         }
 
         return result;
@@ -2,16 +2,24 @@ package re.api.domain;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import re.api.data.AppUserRepository;
 import re.api.data.CheckoutOrderRepository;
 import re.api.data.CheckoutItemRepository;
 import re.api.data.ItemRepository;
 import re.api.models.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CheckoutOrderService {
@@ -19,15 +27,18 @@ public class CheckoutOrderService {
     private final CheckoutItemRepository checkoutItemRepository;
     private final ItemRepository itemRepository;
     private final AppUserRepository appUserRepository;
+    private final CheckoutQuotaTracker quotaTracker;
 
     public CheckoutOrderService(CheckoutOrderRepository checkoutOrderRepository,
                                 CheckoutItemRepository checkoutItemRepository,
                                 ItemRepository itemRepository,
-                                AppUserRepository appUserRepository) {
+                                AppUserRepository appUserRepository,
+                                CheckoutQuotaTracker quotaTracker) {
         this.checkoutOrderRepository = checkoutOrderRepository;
         this.checkoutItemRepository = checkoutItemRepository;
         this.itemRepository = itemRepository;
         this.appUserRepository = appUserRepository;
+        this.quotaTracker = quotaTracker;
     }
 
     public List<CheckoutOrder> findAll() {
@@ -36,13 +47,55 @@ public class CheckoutOrderService {
             return checkoutOrderList;
         }
 
-        for (CheckoutOrder checkoutOrder : checkoutOrderList) {
-            enrichOrderWithItemsAndAuthority(checkoutOrder);
+        enrichOrdersWithItemsAndAuthority(checkoutOrderList);
+
+        return checkoutOrderList;
+    }
+
+    public List<CheckoutOrder> findPage(int afterCheckoutOrderId, int limit) {
+        List<CheckoutOrder> checkoutOrderList =
+                checkoutOrderRepository.findPage(afterCheckoutOrderId, Paging.clampLimit(limit));
+        if (checkoutOrderList == null || checkoutOrderList.isEmpty()) {
+            return checkoutOrderList;
+        }
+
+        enrichOrdersWithItemsAndAuthority(checkoutOrderList);
+
+        return checkoutOrderList;
+    }
+
+    // Front desk lookup: the student's most recent orders with their items, enriched in one batch.
+    public List<CheckoutOrder> findByStudentId(String studentId, LocalDateTime from, LocalDateTime to,
+                                               int beforeCheckoutOrderId, int limit) {
+        List<CheckoutOrder> checkoutOrderList = checkoutOrderRepository.findByStudentIdAndDateRange(
+                studentId, from, to, beforeCheckoutOrderId, Paging.clampLimit(limit));
+        if (checkoutOrderList == null || checkoutOrderList.isEmpty()) {
+            return checkoutOrderList;
         }
 
+        enrichOrdersWithItemsAndAuthority(checkoutOrderList);
+
         return checkoutOrderList;
     }
 
+    // Not transactional on purpose: the streamed result set keeps its own connection busy, so the
+    // per-chunk enrichment queries need to run on other connections.
+    public void streamAll(Consumer<CheckoutOrder> consumer) {
+        try (Stream<CheckoutOrder> checkoutOrders = checkoutOrderRepository.streamAll()) {
+            Paging.forEachChunk(checkoutOrders, chunk -> {
+                enrichOrdersWithItemsAndAuthority(chunk);
+                chunk.forEach(consumer);
+            });
+        }
+    }
+
+    // Rows are already flat, so unlike streamAll there is nothing to enrich and nothing to chunk.
+    public void exportHistory(LocalDateTime from, LocalDateTime to, Consumer<CheckoutHistoryLine> consumer) {
+        try (Stream<CheckoutHistoryLine> lines = checkoutOrderRepository.streamHistory(from, to)) {
+            lines.forEach(consumer);
+        }
+    }
+
     public CheckoutOrder findById(int checkoutOrderId) {
         CheckoutOrder checkoutOrder = checkoutOrderRepository.findById(checkoutOrderId);
         if (checkoutOrder != null) {
@@ -56,6 +109,12 @@ public class CheckoutOrderService {
         return checkoutOrderRepository.findHourlyCheckoutSummary();
     }
 
+    // Backfill for the heatmap summary, e.g. after importing orders directly into the database.
+    @Transactional
+    public void rebuildHourlyCheckoutSummary() {
+        checkoutOrderRepository.rebuildHourlyCheckoutSummary();
+    }
+
     @Transactional
     public Result<CheckoutOrder> add(CheckoutOrder checkoutOrder) {
         Result<CheckoutOrder> result = validate(checkoutOrder);
@@ -68,24 +127,40 @@ public class CheckoutOrderService {
             result.addMessage(ResultType.INVALID, "Checkout order ID cannot be set for `add` operation.");
         }
 
+        // One batched read, answered from the item cache for items last loaded outside a transaction.
+        Map<Integer, Item> itemsById = findItemsById(checkoutOrder.getCheckoutItems());
+        CheckoutQuotaTracker.Reservation reservation = quotaTracker.reserve(result, checkoutOrder, itemsById);
+        if (!result.isSuccess()) {
+            return result;
+        }
+
         CheckoutOrder addedOrder = checkoutOrderRepository.add(checkoutOrder);
 
         if (addedOrder == null) {
             result.addMessage(ResultType.INVALID, "Failed to add checkout order.");
             return result;
         }
+        quotaTracker.bind(reservation, addedOrder.getCheckoutOrderId());
+
+        List<CheckoutItem> checkoutItems = checkoutOrder.getCheckoutItems();
+        if (checkoutItems != null && !checkoutItems.isEmpty()) {
+            // Validation read the counts earlier, so another checkout may have taken the stock since.
+            // The guarded decrement is the real check; on failure undo the order and any lines already applied.
+            Map<Integer, Integer> quantitiesByItemId = checkoutItems.stream()
+                    .collect(Collectors.toMap(CheckoutItem::getItemId, CheckoutItem::getQuantity));
+            List<Integer> insufficientItemIds = itemRepository.decrementCurrentCounts(quantitiesByItemId);
+            if (!insufficientItemIds.isEmpty()) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                for (int itemId : insufficientItemIds) {
+                    result.addMessage(ResultType.INVALID, "Insufficient stock for item ID: " + itemId);
+                }
+                return result;
+            }
 
-        if (checkoutOrder.getCheckoutItems() != null) {
-            for (CheckoutItem checkoutItem : checkoutOrder.getCheckoutItems()) {
+            for (CheckoutItem checkoutItem : checkoutItems) {
                 checkoutItem.setCheckoutOrderId(addedOrder.getCheckoutOrderId());
-                checkoutItemRepository.add(checkoutItem);
-
-                // Update the item count in the inventory
-                boolean updatedCount = itemRepository.updateCurrentCount(checkoutItem.getItemId(), -checkoutItem.getQuantity());
-                if (!updatedCount) {
-                    result.addMessage(ResultType.INVALID, "Failed to update item count for item ID: " + checkoutItem.getItemId());
-                }
             }
+            checkoutItemRepository.addAll(checkoutItems);
         }
 
         result.setPayload(addedOrder);
@@ -105,7 +180,18 @@ public class CheckoutOrderService {
             return result;
         }
 
+        // A new student or date puts the order's lines into a different quota window.
+        CheckoutOrder edited = new CheckoutOrder(checkoutOrder.getCheckoutOrderId(), checkoutOrder.getStudentId(),
+                checkoutOrder.getAuthorityId(), checkoutOrder.isSelfCheckout(), checkoutOrder.getCheckoutDate());
+        edited.setCheckoutItems(checkoutItemRepository.findByCheckoutOrderId(checkoutOrder.getCheckoutOrderId()));
+        quotaTracker.reserveEdit(result, edited, findItemsById(edited.getCheckoutItems()));
+        if (!result.isSuccess()) {
+            return result;
+        }
+
         boolean updated = checkoutOrderRepository.update(checkoutOrder);
+        // The student or date may have changed, moving the order between quota windows
+        quotaTracker.refreshAfterCompletion(checkoutOrder.getCheckoutOrderId(), checkoutOrder.getStudentId());
 
         if (!updated) {
             result.addMessage(ResultType.NOT_FOUND, "Checkout order not found.");
@@ -141,6 +227,7 @@ public class CheckoutOrderService {
         checkoutItemRepository.deleteByCheckoutOrderId(checkoutOrderId);
 
         // Delete the checkout order
+        quotaTracker.refreshAfterCompletion(checkoutOrderId, existing.getStudentId());
         if (!checkoutOrderRepository.deleteById(checkoutOrderId)) {
             result.addMessage(ResultType.NOT_FOUND, "Checkout order not found.");
         }
@@ -148,6 +235,14 @@ public class CheckoutOrderService {
         return result;
     }
 
+    private Map<Integer, Item> findItemsById(List<CheckoutItem> checkoutItems) {
+        if (checkoutItems == null || checkoutItems.isEmpty()) {
+            return Map.of();
+        }
+        return itemRepository.findByIds(checkoutItems.stream().map(CheckoutItem::getItemId).toList()).stream()
+                .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+    }
+
     private Result<CheckoutOrder> validate(CheckoutOrder checkoutOrder) {
         Result<CheckoutOrder> result = new Result<>();
 
@@ -188,12 +283,8 @@ public class CheckoutOrderService {
             }
         }
 
-        List<CheckoutOrder> existing = checkoutOrderRepository.findAll();
-        for (CheckoutOrder order : existing) {
-            if (order.equals(checkoutOrder)) {
-                result.addMessage(ResultType.INVALID, "Duplicate checkout order already exists.");
-                return result;
-            }
+        if (checkoutOrderRepository.existsDuplicate(checkoutOrder)) {
+            result.addMessage(ResultType.INVALID, "Duplicate checkout order already exists.");
         }
 
         return result;
@@ -277,4 +368,57 @@ public class CheckoutOrderService {
         enrichOrderWithItems(checkoutOrder);
         enrichOrderWithAuthority(checkoutOrder);
     }
+
+    // Batched version of the above for lists of orders: one query each for checkout items, items and
+    // authorities per chunk of orders, so no IN list grows past the chunk size however many are passed.
+    private void enrichOrdersWithItemsAndAuthority(List<CheckoutOrder> checkoutOrders) {
+        for (int from = 0; from < checkoutOrders.size(); from += Paging.STREAM_CHUNK_SIZE) {
+            enrichChunkWithItemsAndAuthority(
+                    checkoutOrders.subList(from, Math.min(checkoutOrders.size(), from + Paging.STREAM_CHUNK_SIZE)));
+        }
+    }
+
+    private void enrichChunkWithItemsAndAuthority(List<CheckoutOrder> checkoutOrders) {
+        Set<Integer> checkoutOrderIds = new HashSet<>();
+        Set<Integer> authorityIds = new HashSet<>();
+        for (CheckoutOrder checkoutOrder : checkoutOrders) {
+            checkoutOrderIds.add(checkoutOrder.getCheckoutOrderId());
+            if (checkoutOrder.getAuthorityId() > 0) {
+                authorityIds.add(checkoutOrder.getAuthorityId());
+            }
+        }
+
+        List<CheckoutItem> checkoutItems = checkoutItemRepository.findByCheckoutOrderIds(checkoutOrderIds);
+        Set<Integer> itemIds = checkoutItems.stream()
+                .map(CheckoutItem::getItemId)
+                .collect(Collectors.toSet());
+
+        Map<Integer, Item> itemsById = itemRepository.findByIds(itemIds).stream()
+                .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+        Map<Integer, AppUser> authoritiesById = appUserRepository.findByIds(authorityIds).stream()
+                .collect(Collectors.toMap(AppUser::getAppUserId, Function.identity()));
+
+        // Group checkout items by their order, attaching the item as we go
+        Map<Integer, List<CheckoutItem>> checkoutItemsByOrderId = new HashMap<>();
+        for (CheckoutItem checkoutItem : checkoutItems) {
+            Item item = itemsById.get(checkoutItem.getItemId());
+            if (item != null) {
+                checkoutItem.setItem(item);
+            }
+            checkoutItemsByOrderId.computeIfAbsent(checkoutItem.getCheckoutOrderId(), id -> new ArrayList<>())
+                    .add(checkoutItem);
+        }
+
+        for (CheckoutOrder checkoutOrder : checkoutOrders) {
+            List<CheckoutItem> orderItems = checkoutItemsByOrderId.get(checkoutOrder.getCheckoutOrderId());
+            if (orderItems != null) {
+                checkoutOrder.setCheckoutItems(orderItems);
+            }
+
+            AppUser authority = authoritiesById.get(checkoutOrder.getAuthorityId());
+            if (authority != null) {
+                checkoutOrder.setAuthority(authority);
+            }
+        }
+    }
 }
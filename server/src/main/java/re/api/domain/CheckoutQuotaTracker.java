@@ -0,0 +1,410 @@
+package re.api.domain;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import re.api.data.CheckoutOrderRepository;
+import re.api.models.CheckoutHistoryLine;
+import re.api.models.CheckoutItem;
+import re.api.models.CheckoutOrder;
+import re.api.models.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Per-student quotas over a sliding window (7 days by default): a student may take at most an item's
+// item_limit of it, and at most the configured amount from a limited category, across all their orders
+// in any window. Each student's recent orders are held in memory, loaded once at startup from checkout
+// history, so a check is a sum over a handful of entries instead of a history query. Two windows' worth
+// are kept: an order dated early in the current window is checked against the window leading up to it.
+//
+// A checkout is reserved under the student's lock, so two kiosks cannot both pass the same quota, and
+// dropped again if its transaction rolls back. Edits to existing orders are checked and reserved the
+// same way, then reload the students involved from the database once the edit's transaction completes.
+// Like the item cache, only writes made through this instance are seen between reloads.
+@Component
+public class CheckoutQuotaTracker {
+
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final CheckoutOrderRepository checkoutOrderRepository;
+    private final boolean enabled;
+    private final Duration window;
+    private final Map<String, Integer> categoryLimits;
+
+    private final ConcurrentHashMap<String, StudentUsage> usageByStudent = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, String> studentByOrderId = new ConcurrentHashMap<>();
+    // Orders reserved but not inserted yet are keyed by negative numbers until they get an ID.
+    private final AtomicInteger nextReservationKey = new AtomicInteger();
+    private final AtomicLong reservationCount = new AtomicLong();
+
+    private record OrderUsage(LocalDateTime checkoutDate,
+                              Map<Integer, Integer> quantitiesByItemId,
+                              Map<String, Integer> quantitiesByCategory) {
+    }
+
+    // Guarded by lock rather than synchronized, which would pin a virtual thread to its carrier.
+    private static final class StudentUsage {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Integer, OrderUsage> ordersByKey = new HashMap<>();
+        // Keys of reservations whose transaction has not completed; a reload must keep them.
+        private final Set<Integer> pendingKeys = new HashSet<>();
+        private boolean removed;
+    }
+
+    public static final class Reservation {
+        private final String studentId;
+        private int key;
+
+        private Reservation(String studentId, int key) {
+            this.studentId = studentId;
+            this.key = key;
+        }
+    }
+
+    // Category limits are a SpEL map, e.g. checkout-quota.category-limits={'South Asian - Staple': 10}
+    public CheckoutQuotaTracker(CheckoutOrderRepository checkoutOrderRepository,
+                                @Value("${checkout-quota.enabled:true}") boolean enabled,
+                                @Value("${checkout-quota.window-days:7}") int windowDays,
+                                @Value("#{${checkout-quota.category-limits:{:}}}") Map<String, Integer> categoryLimits) {
+        this.checkoutOrderRepository = checkoutOrderRepository;
+        this.enabled = enabled;
+        this.window = Duration.ofDays(windowDays);
+        this.categoryLimits = Map.copyOf(categoryLimits);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        try (Stream<CheckoutHistoryLine> lines = checkoutOrderRepository.streamHistory(trackedFrom(), null)) {
+            if (lines == null) {
+                return;
+            }
+            groupByOrder(lines.iterator()).forEach((checkoutOrderId, orderLines) -> {
+                String studentId = orderLines.getFirst().studentId();
+                withUsage(studentId, usage -> usage.ordersByKey.put(checkoutOrderId, toUsage(orderLines)));
+                studentByOrderId.put(checkoutOrderId, studentId);
+            });
+        }
+    }
+
+    // Checks the order's lines against the student's window and, when they fit, counts them at once so
+    // a concurrent checkout by the same student sees them. Violations are added to result and nothing
+    // is reserved. Orders dated before the current window are history being entered and are not checked.
+    public Reservation reserve(Result<?> result, CheckoutOrder checkoutOrder, Map<Integer, Item> itemsById) {
+        return reserve(result, checkoutOrder, itemsById, nextReservationKey.decrementAndGet());
+    }
+
+    // For an edit of an existing order, given as it will be afterwards with all of its lines: checks it
+    // in place of the stored order and, when it fits, counts the new quantities until the edit's reload.
+    public void reserveEdit(Result<?> result, CheckoutOrder checkoutOrder, Map<Integer, Item> itemsById) {
+        reserve(result, checkoutOrder, itemsById, checkoutOrder.getCheckoutOrderId());
+    }
+
+    private Reservation reserve(Result<?> result, CheckoutOrder checkoutOrder, Map<Integer, Item> itemsById,
+                                int key) {
+        List<CheckoutItem> checkoutItems = checkoutOrder.getCheckoutItems();
+        if (!enabled || checkoutItems == null || checkoutItems.isEmpty() || checkoutOrder.getCheckoutDate() == null
+                || checkoutOrder.getCheckoutDate().isBefore(windowStart())) {
+            return null;
+        }
+
+        OrderUsage order = toUsage(checkoutOrder.getCheckoutDate(), checkoutItems, itemsById);
+        String studentId = checkoutOrder.getStudentId();
+        Reservation reservation = new Reservation(studentId, key);
+
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        boolean reserved = withUsage(studentId, usage -> {
+            if (!fits(result, usage, key, order, itemsById)) {
+                return false;
+            }
+            usage.ordersByKey.put(reservation.key, order);
+            if (inTransaction) {
+                usage.pendingKeys.add(reservation.key);
+            }
+            return true;
+        });
+        if (!reserved) {
+            return null;
+        }
+
+        if (inTransaction) {
+            afterCompletion(committed -> complete(reservation, committed));
+        }
+        if (reservationCount.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            sweep();
+        }
+        return reservation;
+    }
+
+    // Attaches the inserted order's ID so later reloads recognise the reservation.
+    public void bind(Reservation reservation, int checkoutOrderId) {
+        if (reservation == null) {
+            return;
+        }
+
+        withUsage(reservation.studentId, usage -> {
+            OrderUsage order = usage.ordersByKey.remove(reservation.key);
+            boolean pending = usage.pendingKeys.remove(reservation.key);
+            reservation.key = checkoutOrderId;
+            if (order != null) {
+                usage.ordersByKey.put(checkoutOrderId, order);
+            }
+            if (pending) {
+                usage.pendingKeys.add(checkoutOrderId);
+            }
+            return null;
+        });
+        studentByOrderId.put(checkoutOrderId, reservation.studentId);
+    }
+
+    // For edits and deletes of an existing order: reloads the order's current student and, when given,
+    // the student it now belongs to, once the surrounding transaction completes.
+    public void refreshAfterCompletion(int checkoutOrderId, String studentId) {
+        if (!enabled) {
+            return;
+        }
+
+        Set<String> studentIds = new HashSet<>();
+        String currentStudentId = studentByOrderId.get(checkoutOrderId);
+        if (currentStudentId != null) {
+            studentIds.add(currentStudentId);
+        }
+        if (studentId != null) {
+            studentIds.add(studentId);
+        }
+        if (!studentIds.isEmpty()) {
+            afterCompletion(committed -> studentIds.forEach(this::reload));
+        }
+    }
+
+    // Forgets everything tracked; warmUp() loads it again. For when checkout history is replaced wholesale.
+    public void clear() {
+        usageByStudent.clear();
+        studentByOrderId.clear();
+    }
+
+    // Every window containing the order must still fit, not just the one ending at it: a backdated order
+    // also counts towards windows that end at later orders. Those windows end at the order's own date or
+    // at a later order's date, so only those ends are checked. An edited order replaces its own entry,
+    // so that one is left out of what is already used.
+    private boolean fits(Result<?> result, StudentUsage usage, int key, OrderUsage order, Map<Integer, Item> itemsById) {
+        List<OrderUsage> others = new ArrayList<>();
+        List<LocalDateTime> windowEnds = new ArrayList<>();
+        windowEnds.add(order.checkoutDate());
+        LocalDateTime lastEnd = order.checkoutDate().plus(window);
+        for (Map.Entry<Integer, OrderUsage> entry : usage.ordersByKey.entrySet()) {
+            if (entry.getKey() == key) {
+                continue;
+            }
+            OrderUsage existing = entry.getValue();
+            others.add(existing);
+            if (existing.checkoutDate().isAfter(order.checkoutDate()) && existing.checkoutDate().isBefore(lastEnd)) {
+                windowEnds.add(existing.checkoutDate());
+            }
+        }
+
+        // The most already used in any one of those windows, per item and per category
+        Map<Integer, Integer> usedByItemId = new HashMap<>();
+        Map<String, Integer> usedByCategory = new HashMap<>();
+        for (LocalDateTime end : windowEnds) {
+            LocalDateTime from = end.minus(window);
+            Map<Integer, Integer> windowByItemId = new HashMap<>();
+            Map<String, Integer> windowByCategory = new HashMap<>();
+            for (OrderUsage existing : others) {
+                if (existing.checkoutDate().isAfter(from) && !existing.checkoutDate().isAfter(end)) {
+                    existing.quantitiesByItemId().forEach((itemId, quantity) -> windowByItemId.merge(itemId, quantity, Integer::sum));
+                    existing.quantitiesByCategory().forEach((category, quantity) -> windowByCategory.merge(category, quantity, Integer::sum));
+                }
+            }
+            windowByItemId.forEach((itemId, quantity) -> usedByItemId.merge(itemId, quantity, Math::max));
+            windowByCategory.forEach((category, quantity) -> usedByCategory.merge(category, quantity, Math::max));
+        }
+
+        boolean fits = true;
+        for (Map.Entry<Integer, Integer> line : order.quantitiesByItemId().entrySet()) {
+            Item item = itemsById.get(line.getKey());
+            int used = usedByItemId.getOrDefault(line.getKey(), 0);
+            if (item != null && used > 0 && used + line.getValue() > item.getItemLimit()) {
+                result.addMessage(ResultType.INVALID,
+                        String.format("Quantity for item %s exceeds the limit of %d per %d days (%d already checked out).",
+                                item.getItemName(), item.getItemLimit(), window.toDays(), used));
+                fits = false;
+            }
+        }
+        for (Map.Entry<String, Integer> line : order.quantitiesByCategory().entrySet()) {
+            Integer limit = categoryLimits.get(line.getKey());
+            int used = usedByCategory.getOrDefault(line.getKey(), 0);
+            if (limit != null && used + line.getValue() > limit) {
+                result.addMessage(ResultType.INVALID,
+                        String.format("Checkout exceeds the limit of %d per %d days for category %s (%d already checked out).",
+                                limit, window.toDays(), line.getKey(), used));
+                fits = false;
+            }
+        }
+        return fits;
+    }
+
+    private void complete(Reservation reservation, boolean committed) {
+        withUsage(reservation.studentId, usage -> {
+            usage.pendingKeys.remove(reservation.key);
+            // Committed without ever getting an ID means the order was not inserted after all
+            if (!committed || reservation.key < 0) {
+                usage.ordersByKey.remove(reservation.key);
+                studentByOrderId.remove(reservation.key);
+            }
+            return null;
+        });
+    }
+
+    // The query runs without the student's lock, so checkouts are not held up behind it. Only the
+    // orders that were settled when it started are replaced by what it found: anything reserved, still
+    // pending or bound to an ID meanwhile is kept, and a reservation rolled back meanwhile stays gone.
+    private void reload(String studentId) {
+        Set<Integer> settledKeys = withUsage(studentId, usage -> {
+            Set<Integer> keys = new HashSet<>(usage.ordersByKey.keySet());
+            keys.removeAll(usage.pendingKeys);
+            return keys;
+        });
+
+        List<CheckoutHistoryLine> lines = checkoutOrderRepository.findHistoryByStudentId(studentId, trackedFrom());
+        Map<Integer, OrderUsage> reloaded = new HashMap<>();
+        if (lines != null) {
+            groupByOrder(lines.iterator()).forEach((checkoutOrderId, orderLines) ->
+                    reloaded.put(checkoutOrderId, toUsage(orderLines)));
+        }
+
+        withUsage(studentId, usage -> {
+            for (Map.Entry<Integer, OrderUsage> order : usage.ordersByKey.entrySet()) {
+                if (!settledKeys.contains(order.getKey()) || usage.pendingKeys.contains(order.getKey())) {
+                    reloaded.putIfAbsent(order.getKey(), order.getValue());
+                } else if (!reloaded.containsKey(order.getKey())) {
+                    studentByOrderId.remove(order.getKey(), studentId);
+                }
+            }
+            usage.ordersByKey.clear();
+            usage.ordersByKey.putAll(reloaded);
+            for (Integer key : reloaded.keySet()) {
+                if (key > 0) {
+                    studentByOrderId.put(key, studentId);
+                }
+            }
+            return null;
+        });
+    }
+
+    // Drops orders too old to matter to any check and students left with nothing.
+    private void sweep() {
+        LocalDateTime trackedFrom = trackedFrom();
+        for (Iterator<Map.Entry<String, StudentUsage>> entries = usageByStudent.entrySet().iterator(); entries.hasNext(); ) {
+            StudentUsage usage = entries.next().getValue();
+            usage.lock.lock();
+            try {
+                for (Iterator<Map.Entry<Integer, OrderUsage>> orders = usage.ordersByKey.entrySet().iterator(); orders.hasNext(); ) {
+                    Map.Entry<Integer, OrderUsage> order = orders.next();
+                    if (!usage.pendingKeys.contains(order.getKey())
+                            && order.getValue().checkoutDate().isBefore(trackedFrom)) {
+                        orders.remove();
+                        studentByOrderId.remove(order.getKey());
+                    }
+                }
+                if (usage.ordersByKey.isEmpty()) {
+                    usage.removed = true;
+                    entries.remove();
+                }
+            } finally {
+                usage.lock.unlock();
+            }
+        }
+    }
+
+    // Runs action holding the student's lock. A sweep may drop the entry between lookup and locking,
+    // in which case the lookup is retried so nothing is recorded on a detached entry.
+    private <T> T withUsage(String studentId, Function<StudentUsage, T> action) {
+        while (true) {
+            StudentUsage usage = usageByStudent.computeIfAbsent(studentId, id -> new StudentUsage());
+            usage.lock.lock();
+            try {
+                if (!usage.removed) {
+                    return action.apply(usage);
+                }
+            } finally {
+                usage.lock.unlock();
+            }
+        }
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minus(window);
+    }
+
+    private LocalDateTime trackedFrom() {
+        return windowStart().minus(window);
+    }
+
+    private static void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static Map<Integer, List<CheckoutHistoryLine>> groupByOrder(Iterator<CheckoutHistoryLine> lines) {
+        Map<Integer, List<CheckoutHistoryLine>> linesByOrderId = new LinkedHashMap<>();
+        while (lines.hasNext()) {
+            CheckoutHistoryLine line = lines.next();
+            linesByOrderId.computeIfAbsent(line.checkoutOrderId(), id -> new ArrayList<>()).add(line);
+        }
+        return linesByOrderId;
+    }
+
+    private static OrderUsage toUsage(List<CheckoutHistoryLine> lines) {
+        Map<Integer, Integer> quantitiesByItemId = new HashMap<>();
+        Map<String, Integer> quantitiesByCategory = new HashMap<>();
+        for (CheckoutHistoryLine line : lines) {
+            quantitiesByItemId.merge(line.itemId(), line.quantity(), Integer::sum);
+            quantitiesByCategory.merge(line.category(), line.quantity(), Integer::sum);
+        }
+        return new OrderUsage(lines.getFirst().checkoutDate(), quantitiesByItemId, quantitiesByCategory);
+    }
+
+    private static OrderUsage toUsage(LocalDateTime checkoutDate, List<CheckoutItem> checkoutItems,
+                                      Map<Integer, Item> itemsById) {
+        Map<Integer, Integer> quantitiesByItemId = new HashMap<>();
+        Map<String, Integer> quantitiesByCategory = new HashMap<>();
+        for (CheckoutItem checkoutItem : checkoutItems) {
+            quantitiesByItemId.merge(checkoutItem.getItemId(), checkoutItem.getQuantity(), Integer::sum);
+            Item item = itemsById.get(checkoutItem.getItemId());
+            if (item != null) {
+                quantitiesByCategory.merge(item.getCategory(), checkoutItem.getQuantity(), Integer::sum);
+            }
+        }
+        return new OrderUsage(checkoutDate, quantitiesByItemId, quantitiesByCategory);
+    }
+}
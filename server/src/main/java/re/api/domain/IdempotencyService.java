@@ -0,0 +1,148 @@
+package re.api.domain;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import re.api.data.IdempotencyKeyRepository;
+import re.api.models.IdempotentResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Idempotency-Key support for POSTs that create orders. The first request with a key claims it with a
+// pending row in idempotency_key; its response is stored there and in a bounded in-memory LRU, so a
+// retry is answered from memory without validating or writing anything. The table is what makes keys
+// survive a restart and hold across instances. Keys expire after a TTL (24 hours by default).
+//
+// The response is stored after the order commits, so a crash in between leaves the key pending. A
+// retry may take such a key over once it has been pending longer than a lease (60 seconds by default);
+// keep the lease above the slowest request, or a retry could run one that is still going.
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final IdempotencyKeyRepository repository;
+    private final Duration ttl;
+    private final Duration pendingLease;
+    private final int maxSize;
+    private final Map<String, IdempotentResponse> completed;
+    private final AtomicLong claimCount = new AtomicLong();
+
+    public IdempotencyService(IdempotencyKeyRepository repository,
+                              @Value("${idempotency.ttl-hours:24}") int ttlHours,
+                              @Value("${idempotency.cache-max-size:10000}") int maxSize,
+                              @Value("${idempotency.pending-lease-seconds:60}") int pendingLeaseSeconds) {
+        this.repository = repository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.pendingLease = Duration.ofSeconds(pendingLeaseSeconds);
+        this.maxSize = maxSize;
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotentResponse> eldest) {
+                return size() > IdempotencyService.this.maxSize;
+            }
+        };
+    }
+
+    // SUCCESS without a payload means the caller now owns the key and must complete or release it.
+    // SUCCESS with a payload is the stored response to replay. DUPLICATE means the first request with
+    // the key is still running; INVALID that the key is malformed or was used for a different request.
+    public Result<IdempotentResponse> claim(String endpoint, String idempotencyKey, String requestHash) {
+        Result<IdempotentResponse> result = new Result<>();
+        if (Validations.isNullOrBlank(idempotencyKey) || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            result.addMessage(ResultType.INVALID,
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+            return result;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(ttl);
+        if (claimCount.incrementAndGet() % PURGE_INTERVAL == 0) {
+            repository.deleteCreatedBefore(cutoff);
+        }
+
+        String cacheKey = cacheKey(endpoint, idempotencyKey);
+        IdempotentResponse cached;
+        synchronized (completed) {
+            cached = completed.get(cacheKey);
+        }
+        if (cached != null && !cached.createdAt().isBefore(cutoff)) {
+            return replay(result, cached, requestHash);
+        }
+
+        // A claim can lose to a key that expired, was released or was reclaimed in between, so look again once.
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (repository.claim(endpoint, idempotencyKey, requestHash, now)) {
+                return result;
+            }
+
+            IdempotentResponse existing = repository.findByKey(endpoint, idempotencyKey);
+            if (existing != null && existing.createdAt().isBefore(cutoff)) {
+                repository.deleteByKeyCreatedBefore(endpoint, idempotencyKey, cutoff);
+            } else if (existing != null && abandoned(existing, requestHash, now)) {
+                if (repository.reclaim(endpoint, idempotencyKey, requestHash, now, now.minus(pendingLease))) {
+                    return result;
+                }
+            } else if (existing != null) {
+                if (!existing.isPending()) {
+                    remember(cacheKey, existing);
+                }
+                return replay(result, existing, requestHash);
+            }
+        }
+
+        result.addMessage(ResultType.DUPLICATE, "A request with this Idempotency-Key is still being processed.");
+        return result;
+    }
+
+    public void complete(String endpoint, String idempotencyKey, String requestHash, int statusCode, String body) {
+        IdempotentResponse response = new IdempotentResponse(endpoint, idempotencyKey, requestHash,
+                statusCode, body, LocalDateTime.now());
+        repository.complete(endpoint, idempotencyKey, statusCode, body);
+        remember(cacheKey(endpoint, idempotencyKey), response);
+    }
+
+    // For requests that failed without a response worth repeating, so the client can retry them.
+    public void release(String endpoint, String idempotencyKey) {
+        repository.release(endpoint, idempotencyKey);
+    }
+
+    // Test support only.
+    void clear() {
+        synchronized (completed) {
+            completed.clear();
+        }
+    }
+
+    private Result<IdempotentResponse> replay(Result<IdempotentResponse> result, IdempotentResponse stored,
+                                              String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            result.addMessage(ResultType.INVALID, "Idempotency-Key was already used for a different request.");
+        } else if (stored.isPending()) {
+            result.addMessage(ResultType.DUPLICATE, "A request with this Idempotency-Key is still being processed.");
+        } else {
+            result.setPayload(stored);
+        }
+        return result;
+    }
+
+    private boolean abandoned(IdempotentResponse stored, String requestHash, LocalDateTime now) {
+        return stored.isPending() && stored.requestHash().equals(requestHash)
+                && stored.createdAt().isBefore(now.minus(pendingLease));
+    }
+
+    private void remember(String cacheKey, IdempotentResponse response) {
+        synchronized (completed) {
+            completed.put(cacheKey, response);
+        }
+    }
+
+    private static String cacheKey(String endpoint, String idempotencyKey) {
+        return endpoint + ' ' + idempotencyKey;
+    }
+}
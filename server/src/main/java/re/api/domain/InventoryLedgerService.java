@@ -0,0 +1,110 @@
+package re.api.domain;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import re.api.data.InventoryLedgerRepository;
+import re.api.data.ItemRepository;
+import re.api.models.ItemStock;
+import re.api.models.StockDiscrepancy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Maintenance over the inventory ledger: opening balances for items that predate it, the daily
+// snapshot rollup that keeps point-in-time lookups to a bounded scan, and reconciliation of
+// item.current_count against the ledger.
+@Service
+public class InventoryLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedgerService.class);
+
+    private final InventoryLedgerRepository inventoryLedgerRepository;
+    private final ItemRepository itemRepository;
+
+    // Read once per opening rather than per lookup: finding it is a scan of the whole ledger.
+    private volatile LocalDateTime openedAt;
+
+    public InventoryLedgerService(InventoryLedgerRepository inventoryLedgerRepository,
+                                  ItemRepository itemRepository) {
+        this.inventoryLedgerRepository = inventoryLedgerRepository;
+        this.itemRepository = itemRepository;
+    }
+
+    // Makes an existing database ledger-complete on first start; a no-op once every item has entries.
+    // Items that predate the ledger are opened at the current stock with no history behind it, so
+    // lookups before the latest opening are refused rather than answered with 0.
+    @PostConstruct
+    public void addOpeningBalances() {
+        int opened = inventoryLedgerRepository.addOpeningBalances();
+        if (opened > 0) {
+            log.info("Opened inventory ledger balances for {} items", opened);
+        }
+        openedAt = inventoryLedgerRepository.findOpeningBalanceTime();
+    }
+
+    // Shortly after midnight by default: roll up the finished days, then check the counts.
+    @Scheduled(cron = "${inventory-ledger.snapshot-cron:0 15 0 * * *}")
+    public void snapshotAndReconcile() {
+        addSnapshots();
+        reconcile();
+    }
+
+    // Only finished days are rolled up, so today's entries are always read from the ledger itself.
+    public int addSnapshots() {
+        return inventoryLedgerRepository.addSnapshotsBefore(LocalDate.now());
+    }
+
+    public List<StockDiscrepancy> reconcile() {
+        List<StockDiscrepancy> discrepancies = inventoryLedgerRepository.findDiscrepancies();
+        for (StockDiscrepancy discrepancy : discrepancies) {
+            log.warn("Item {} ({}) has current_count {} but its ledger sums to {}", discrepancy.itemId(),
+                    discrepancy.itemName(), discrepancy.currentCount(), discrepancy.ledgerCount());
+        }
+        return discrepancies;
+    }
+
+    public Result<ItemStock> findStockAt(int itemId, LocalDateTime at) {
+        Result<ItemStock> result = new Result<>();
+        if (at == null) {
+            result.addMessage(ResultType.INVALID, "A point in time is required.");
+            return result;
+        }
+        if (beforeLedger(at)) {
+            result.addMessage(ResultType.INVALID,
+                    "Stock is only recorded from " + openedAt + "; pick a later point in time.");
+            return result;
+        }
+        if (itemRepository.findById(itemId) == null) {
+            result.addMessage(ResultType.NOT_FOUND, "Item ID not found");
+            return result;
+        }
+
+        result.setPayload(new ItemStock(itemId, at, inventoryLedgerRepository.findStockAt(itemId, at)));
+        return result;
+    }
+
+    public Result<List<ItemStock>> findAllStockAt(LocalDateTime at) {
+        Result<List<ItemStock>> result = new Result<>();
+        if (at == null) {
+            result.addMessage(ResultType.INVALID, "A point in time is required.");
+            return result;
+        }
+        if (beforeLedger(at)) {
+            result.addMessage(ResultType.INVALID,
+                    "Stock is only recorded from " + openedAt + "; pick a later point in time.");
+            return result;
+        }
+
+        result.setPayload(inventoryLedgerRepository.findAllStockAt(at));
+        return result;
+    }
+
+    private boolean beforeLedger(LocalDateTime at) {
+        LocalDateTime opened = openedAt;
+        return opened != null && at.isBefore(opened);
+    }
+}
@@ -2,6 +2,7 @@ package re.api.domain;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import re.api.data.AppUserRepository;
 import re.api.data.InventoryLogRepository;
 import re.api.data.ItemRepository;
@@ -9,7 +10,10 @@ import re.api.models.AppUser;
 import re.api.models.InventoryLog;
 import re.api.models.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class InventoryLogService {
@@ -27,90 +31,63 @@ public class InventoryLogService {
         this.appUserRepository = appUserRepository;
     }
 
+    // The repository joins each log with its item and authority, so reads need no further lookups.
     public List<InventoryLog> findAll() {
-        List<InventoryLog> inventoryLogList = logRepository.findAll();
-        if (inventoryLogList == null || inventoryLogList.isEmpty()) {
-            return inventoryLogList;
-        }
-
-        for (InventoryLog inventoryLog : inventoryLogList) {
-            enrichLogWithItemAndAuthority(inventoryLog);
-        }
+        return logRepository.findAll();
+    }
 
-        return inventoryLogList;
+    public List<InventoryLog> findPage(int afterLogId, int limit) {
+        return logRepository.findPage(afterLogId, Paging.clampLimit(limit));
     }
 
-    public InventoryLog findById(int logId) {
-        InventoryLog inventoryLog = logRepository.findById(logId);
-        if (inventoryLog != null) {
-            enrichLogWithItemAndAuthority(inventoryLog);
+    public void streamAll(Consumer<InventoryLog> consumer) {
+        try (Stream<InventoryLog> inventoryLogs = logRepository.streamAll()) {
+            inventoryLogs.forEach(consumer);
         }
+    }
 
-        return inventoryLog;
+    public InventoryLog findById(int logId) {
+        return logRepository.findById(logId);
     }
 
     public List<InventoryLog> findByItemId(int itemId) {
-        List<InventoryLog> inventoryLogList = logRepository.findByItemId(itemId);
-        if (inventoryLogList == null || inventoryLogList.isEmpty()) {
-            return inventoryLogList;
-        }
-
-        for (InventoryLog inventoryLog : inventoryLogList) {
-            enrichLogWithItemAndAuthority(inventoryLog);
-        }
-
-        return inventoryLogList;
+        return logRepository.findByItemId(itemId);
     }
 
     public List<InventoryLog> findByAuthorityId(int authorityId) {
-        List<InventoryLog> inventoryLogList = logRepository.findByAuthorityId(authorityId);
-        if (inventoryLogList == null || inventoryLogList.isEmpty()) {
-            return inventoryLogList;
-        }
-
-        for (InventoryLog inventoryLog : inventoryLogList) {
-            enrichLogWithItemAndAuthority(inventoryLog);
-        }
-
-        return inventoryLogList;
+        return logRepository.findByAuthorityId(authorityId);
     }
 
     public List<InventoryLog> findByItemName(String itemName) {
-        Item item = itemRepository.findByName(itemName);
-        if (item == null) {
-            return List.of();
-        }
-
-        List<InventoryLog> inventoryLogList = logRepository.findByItemId(item.getItemId());
-
-        if (inventoryLogList == null || inventoryLogList.isEmpty()) {
-            return inventoryLogList;
-        }
-
-        for (InventoryLog inventoryLog : inventoryLogList) {
-            enrichLogWithItemAndAuthority(inventoryLog);
-        }
-
-        return inventoryLogList;
+        return logRepository.findByItemName(itemName);
     }
 
     public List<InventoryLog> findByAuthorityEmail(String authorityEmail) {
-        AppUser authority = appUserRepository.findByEmail(authorityEmail);
-        if (authority == null) {
-            return List.of();
-        }
+        return logRepository.findByAuthorityEmail(authorityEmail);
+    }
 
-        List<InventoryLog> inventoryLogList = logRepository.findByAuthorityId(authority.getAppUserId());
+    public Result<List<InventoryLog>> findByTimeRange(LocalDateTime from, LocalDateTime to, Integer itemId,
+                                                      Integer authorityId, String reason, int limit) {
+        Result<List<InventoryLog>> result = new Result<>();
 
-        if (inventoryLogList == null || inventoryLogList.isEmpty()) {
-            return inventoryLogList;
+        if (from == null) {
+            result.addMessage(ResultType.INVALID, "Start of the time range is required.");
+        } else if (to != null && !from.isBefore(to)) {
+            result.addMessage(ResultType.INVALID, "Start of the time range must be before the end.");
         }
 
-        for (InventoryLog inventoryLog : inventoryLogList) {
-            enrichLogWithItemAndAuthority(inventoryLog);
+        if (limit < 1) {
+            result.addMessage(ResultType.INVALID, "Limit must be at least 1.");
         }
 
-        return inventoryLogList;
+        if (!result.isSuccess()) {
+            return result;
+        }
+
+        String reasonFilter = Validations.isNullOrBlank(reason) ? null : reason.trim();
+        result.setPayload(logRepository.findByTimeRange(from, to, itemId, authorityId, reasonFilter,
+                Paging.clampLimit(limit)));
+        return result;
     }
 
     @Transactional
@@ -126,20 +103,23 @@ public class InventoryLogService {
             return result;
         }
 
+        // Need to make sure the quantity change is reflected in the item count. Count first: the log's
+        // foreign key check share-locks the item row, and two logs for one item inserted before their
+        // count updates deadlock on it.
+        boolean updatedCount = itemRepository.updateCurrentCount(inventoryLog.getItemId(), inventoryLog.getQuantityChange());
+        if (!updatedCount) {
+            result.addMessage(ResultType.INVALID, "Failed to update item count for item ID: " + inventoryLog.getItemId());
+            return result;
+        }
+
         InventoryLog addedLog = logRepository.add(inventoryLog);
 
         if (addedLog == null) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             result.addMessage(ResultType.INVALID, "Failed to add inventory log.");
             return result;
         }
 
-        // Need to make sure the quantity change is reflected in the item count
-        boolean updatedCount = itemRepository.updateCurrentCount(inventoryLog.getItemId(), inventoryLog.getQuantityChange());
-        if (!updatedCount) {
-            result.addMessage(ResultType.INVALID, "Failed to update item count for item ID: " + inventoryLog.getItemId());
-            return result;
-        }
-
         result.setPayload(addedLog);
         return result;
     }
@@ -251,38 +231,10 @@ public class InventoryLogService {
             result.addMessage(ResultType.INVALID, "Log date is required.");
         }
 
-        List<InventoryLog> existingLogs = logRepository.findAll();
-        for (InventoryLog existingLog : existingLogs) {
-            if (existingLog.equals(inventoryLog)
-                    && existingLog.getLogId() != inventoryLog.getLogId()) {
-                result.addMessage(ResultType.INVALID, "Duplicate log entry detected.");
-                break;
-            }
+        if (logRepository.existsDuplicate(inventoryLog)) {
+            result.addMessage(ResultType.INVALID, "Duplicate log entry detected.");
         }
 
         return result;
     }
-
-    private void enrichLogWithItem(InventoryLog inventoryLog) {
-        if (inventoryLog.getItemId() > 0) {
-            Item item = itemRepository.findById(inventoryLog.getItemId());
-            if (item != null) {
-                inventoryLog.setItem(item);
-            }
-        }
-    }
-
-    private void enrichLogWithAuthority(InventoryLog inventoryLog) {
-        if (inventoryLog.getAuthorityId() > 0) {
-            AppUser authority = appUserRepository.findById(inventoryLog.getAuthorityId());
-            if (authority != null) {
-                inventoryLog.setAuthority(authority);
-            }
-        }
-    }
-
-    private void enrichLogWithItemAndAuthority (InventoryLog inventoryLog) {
-        enrichLogWithItem(inventoryLog);
-        enrichLogWithAuthority(inventoryLog);
-    }
-}
\ No newline at end of file
+}
@@ -2,18 +2,23 @@ package re.api.domain;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import re.api.data.ItemCatalogVersion;
 import re.api.data.ItemRepository;
 import re.api.models.Item;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ItemService {
     private final ItemRepository itemRepository;
+    private final ItemCatalogVersion catalogVersion;
 
-    public ItemService(ItemRepository itemRepository) {
+    public ItemService(ItemRepository itemRepository, ItemCatalogVersion catalogVersion) {
         this.itemRepository = itemRepository;
+        this.catalogVersion = catalogVersion;
     }
 
     public List<Item> findAll() {
@@ -21,9 +26,22 @@ public class ItemService {
     }
 
     public List<Item> findAllEnabled() {
-        return itemRepository.findAll().stream()
-                .filter(Item::isEnabled)
-                .toList();
+        return itemRepository.findAllEnabled();
+    }
+
+    // Read this before findAllEnabled: items loaded afterwards are at least as new as the version.
+    public long enabledCatalogVersion() {
+        return catalogVersion.current();
+    }
+
+    public List<Item> findPage(int afterItemId, int limit) {
+        return itemRepository.findPage(afterItemId, Paging.clampLimit(limit));
+    }
+
+    public void streamAll(Consumer<Item> consumer) {
+        try (Stream<Item> items = itemRepository.streamAll()) {
+            items.forEach(consumer);
+        }
     }
 
     public Item findById(int itemId) {
@@ -137,10 +155,9 @@ public class ItemService {
         }
 
         // Duplicate check
-        itemRepository.findAll().stream()
-                .filter(existingItem -> existingItem.equals(item) && existingItem.getItemId() != item.getItemId())
-                .findFirst()
-                .ifPresent(existingItem -> result.addMessage(ResultType.DUPLICATE, "Duplicate items are not allowed."));
+        if (itemRepository.existsDuplicate(item)) {
+            result.addMessage(ResultType.DUPLICATE, "Duplicate items are not allowed.");
+        }
 
         return result;
     }
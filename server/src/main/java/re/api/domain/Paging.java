@@ -0,0 +1,33 @@
+package re.api.domain;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class Paging {
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int STREAM_CHUNK_SIZE = 500;
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // Hands the stream to the consumer in fixed-size chunks, so enrichment can be batched per chunk
+    // while memory stays bounded by the chunk size instead of the table size.
+    public static <T> void forEachChunk(Stream<T> stream, Consumer<List<T>> chunkConsumer) {
+        Iterator<T> iterator = stream.iterator();
+        List<T> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == STREAM_CHUNK_SIZE) {
+                chunkConsumer.accept(chunk);
+                chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(chunk);
+        }
+    }
+}
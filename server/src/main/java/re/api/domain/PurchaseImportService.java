@@ -0,0 +1,401 @@
+package re.api.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import re.api.data.*;
+import re.api.models.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bulk import of a delivery sheet. Each row is one purchase line: vendor, purchase date, item and quantity,
+// with vendor and item given by id or by name. Rows sharing a vendor and date become one purchase order,
+// which is also what existsDuplicate treats as the same order.
+//
+// The whole file is parsed and validated against one item/vendor snapshot before a transaction is opened,
+// so a slow upload never holds a connection. Any row error rejects the import and nothing is written;
+// otherwise orders, lines and stock counts go in as three batched statements in one transaction.
+@Service
+public class PurchaseImportService {
+    // Only the first errors are spelled out; a file with a systematic mistake would otherwise echo itself back.
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    public enum Format { CSV, JSON_LINES }
+
+    private record OrderKey(int vendorId, LocalDateTime purchaseDate) {
+    }
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final PurchaseItemRepository purchaseItemRepository;
+    private final AppUserRepository appUserRepository;
+    private final VendorRepository vendorRepository;
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public PurchaseImportService(PurchaseOrderRepository purchaseOrderRepository,
+                                 PurchaseItemRepository purchaseItemRepository,
+                                 AppUserRepository appUserRepository,
+                                 VendorRepository vendorRepository,
+                                 ItemRepository itemRepository,
+                                 ObjectMapper objectMapper,
+                                 TransactionTemplate transactionTemplate) {
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.purchaseItemRepository = purchaseItemRepository;
+        this.appUserRepository = appUserRepository;
+        this.vendorRepository = vendorRepository;
+        this.itemRepository = itemRepository;
+        this.objectMapper = objectMapper;
+        // Named like a @Transactional method, so inventory ledger entries name the import as their source.
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(),
+                transactionTemplate);
+        this.transactionTemplate.setName(PurchaseImportService.class.getName() + ".importPurchases");
+    }
+
+    public Result<List<PurchaseOrder>> importPurchases(int adminId, Reader reader, Format format) {
+        Result<List<PurchaseOrder>> result = new Result<>();
+
+        if (adminId <= 0) {
+            result.addMessage(ResultType.INVALID, "Admin ID is required.");
+            return result;
+        }
+
+        AppUser admin = appUserRepository.findById(adminId);
+        if (admin == null || !admin.isEnabled()) {
+            result.addMessage(ResultType.NOT_FOUND, "Admin ID does not exist or is disabled.");
+            return result;
+        }
+
+        RowValidator validator = new RowValidator(itemRepository.findAll(), vendorRepository.findAll());
+        try (BufferedReader lines = new BufferedReader(reader)) {
+            if (format == Format.CSV) {
+                readCsv(lines, validator);
+            } else {
+                readJsonLines(lines, validator);
+            }
+        } catch (IOException ex) {
+            result.addMessage(ResultType.INVALID, "Could not read the import file.");
+            return result;
+        }
+
+        if (validator.errors.isEmpty() && validator.itemsByOrder.isEmpty()) {
+            result.addMessage(ResultType.INVALID, "Import file has no purchase rows.");
+            return result;
+        }
+
+        List<PurchaseOrder> purchaseOrders = validator.toPurchaseOrders(adminId);
+
+        // Same rule as existsDuplicate, but one query for the whole file instead of one per order.
+        if (!purchaseOrders.isEmpty()) {
+            Set<OrderKey> existingKeys = findExistingOrderKeys(adminId, purchaseOrders);
+            for (PurchaseOrder purchaseOrder : purchaseOrders) {
+                if (existingKeys.contains(new OrderKey(purchaseOrder.getVendorId(), purchaseOrder.getPurchaseDate()))) {
+                    validator.errors.add("Purchase order for vendor ID " + purchaseOrder.getVendorId()
+                            + " on " + purchaseOrder.getPurchaseDate() + " already exists.");
+                }
+            }
+        }
+
+        if (!validator.errors.isEmpty()) {
+            addErrors(result, validator.errors);
+            return result;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            purchaseOrderRepository.addAll(purchaseOrders);
+
+            List<PurchaseItem> purchaseItems = new ArrayList<>();
+            for (PurchaseOrder purchaseOrder : purchaseOrders) {
+                for (PurchaseItem purchaseItem : purchaseOrder.getPurchaseItems()) {
+                    purchaseItem.setPurchaseOrderId(purchaseOrder.getPurchaseId());
+                    purchaseItems.add(purchaseItem);
+                }
+            }
+            purchaseItemRepository.addAll(purchaseItems);
+
+            Map<Integer, Integer> quantitiesByItemId = purchaseItems.stream()
+                    .collect(Collectors.toMap(PurchaseItem::getItemId, PurchaseItem::getQuantity, Integer::sum));
+            if (!itemRepository.updateCurrentCounts(quantitiesByItemId)) {
+                status.setRollbackOnly();
+                result.addMessage(ResultType.INVALID, "Failed to update item counts for the import.");
+            }
+        });
+
+        if (!result.isSuccess()) {
+            return result;
+        }
+
+        // The lines stay in the database; echoing tens of thousands of them back is not useful.
+        for (PurchaseOrder purchaseOrder : purchaseOrders) {
+            purchaseOrder.setPurchaseItems(null);
+        }
+        result.setPayload(purchaseOrders);
+        return result;
+    }
+
+    private Set<OrderKey> findExistingOrderKeys(int adminId, List<PurchaseOrder> purchaseOrders) {
+        LocalDateTime from = purchaseOrders.stream().map(PurchaseOrder::getPurchaseDate)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = purchaseOrders.stream().map(PurchaseOrder::getPurchaseDate)
+                .max(Comparator.naturalOrder()).orElseThrow();
+
+        return purchaseOrderRepository.findByAdminIdAndDateRange(adminId, from, to).stream()
+                .map(existing -> new OrderKey(existing.getVendorId(), existing.getPurchaseDate()))
+                .collect(Collectors.toSet());
+    }
+
+    private void readCsv(BufferedReader lines, RowValidator validator) throws IOException {
+        String headerLine = lines.readLine();
+        if (headerLine == null) {
+            return;
+        }
+
+        // Spreadsheet exports often start with a byte order mark.
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        List<String> header = splitCsvLine(headerLine).stream()
+                .map(PurchaseImportService::normalizeKey)
+                .toList();
+
+        int lineNumber = 1;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            List<String> values = splitCsvLine(line);
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < Math.min(header.size(), values.size()); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            validator.accept(lineNumber, fields);
+        }
+    }
+
+    private void readJsonLines(BufferedReader lines, RowValidator validator) throws IOException {
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException ex) {
+                validator.error(lineNumber, "Not a valid JSON object.");
+                continue;
+            }
+            if (!node.isObject()) {
+                validator.error(lineNumber, "Not a valid JSON object.");
+                continue;
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field ->
+                    fields.put(normalizeKey(field.getKey()), field.getValue().isNull() ? null : field.getValue().asText()));
+            validator.accept(lineNumber, fields);
+        }
+    }
+
+    // Quoted fields may contain commas and doubled quotes; fields spanning lines are not supported.
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+
+        return values;
+    }
+
+    // "purchase_date", "Purchase Date" and "purchaseDate" all name the same column.
+    private static String normalizeKey(String key) {
+        return key.replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static void addErrors(Result<?> result, List<String> errors) {
+        for (String error : errors.subList(0, Math.min(errors.size(), MAX_REPORTED_ERRORS))) {
+            result.addMessage(ResultType.INVALID, error);
+        }
+        if (errors.size() > MAX_REPORTED_ERRORS) {
+            result.addMessage(ResultType.INVALID, (errors.size() - MAX_REPORTED_ERRORS) + " more row errors not shown.");
+        }
+    }
+
+    private static class RowValidator {
+        private final Map<Integer, Item> itemsById;
+        private final Map<String, Item> itemsByName;
+        private final Map<Integer, Vendor> vendorsById;
+        private final Map<String, Vendor> vendorsByName;
+
+        private final Map<OrderKey, Map<Integer, PurchaseItem>> itemsByOrder = new LinkedHashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        // A delivery sheet repeats a handful of dates across thousands of rows.
+        private final Map<String, LocalDateTime> parsedDates = new HashMap<>();
+
+        RowValidator(List<Item> items, List<Vendor> vendors) {
+            itemsById = items.stream().collect(Collectors.toMap(Item::getItemId, Function.identity()));
+            itemsByName = items.stream().collect(Collectors.toMap(
+                    item -> item.getItemName().toLowerCase(Locale.ROOT), Function.identity(), (first, second) -> first));
+            vendorsById = vendors.stream().collect(Collectors.toMap(Vendor::getVendorId, Function.identity()));
+            vendorsByName = vendors.stream().collect(Collectors.toMap(
+                    vendor -> vendor.getVendorName().toLowerCase(Locale.ROOT), Function.identity(), (first, second) -> first));
+        }
+
+        void accept(int lineNumber, Map<String, String> fields) {
+            int errorCount = errors.size();
+
+            String vendorValue = firstPresent(fields, "vendor", "vendorid", "vendorname");
+            Vendor vendor = null;
+            if (Validations.isNullOrBlank(vendorValue)) {
+                error(lineNumber, "Vendor is required.");
+            } else {
+                vendor = resolve(vendorValue.trim(), vendorsById, vendorsByName);
+                if (vendor == null) {
+                    error(lineNumber, "Vendor '" + vendorValue + "' does not exist.");
+                }
+            }
+
+            String dateValue = firstPresent(fields, "purchasedate", "date");
+            LocalDateTime purchaseDate = null;
+            if (Validations.isNullOrBlank(dateValue)) {
+                error(lineNumber, "Purchase date is required.");
+            } else {
+                purchaseDate = parsedDates.computeIfAbsent(dateValue.trim(), RowValidator::parseDate);
+                if (purchaseDate == null) {
+                    error(lineNumber, "Purchase date '" + dateValue + "' is not an ISO date or date-time.");
+                }
+            }
+
+            String itemValue = firstPresent(fields, "item", "itemid", "itemname");
+            Item item = null;
+            if (Validations.isNullOrBlank(itemValue)) {
+                error(lineNumber, "Item is required.");
+            } else {
+                item = resolve(itemValue.trim(), itemsById, itemsByName);
+                if (item == null || !item.isEnabled()) {
+                    error(lineNumber, "Item '" + itemValue + "' not found or disabled.");
+                }
+            }
+
+            int quantity = parseQuantity(fields.get("quantity"));
+            if (quantity <= 0) {
+                error(lineNumber, "Quantity must be a whole number greater than zero.");
+            }
+
+            if (errors.size() > errorCount) {
+                return;
+            }
+
+            Map<Integer, PurchaseItem> orderItems = itemsByOrder.computeIfAbsent(
+                    new OrderKey(vendor.getVendorId(), purchaseDate), key -> new LinkedHashMap<>());
+            PurchaseItem purchaseItem = new PurchaseItem(0, 0, item.getItemId(), quantity);
+            if (orderItems.putIfAbsent(item.getItemId(), purchaseItem) != null) {
+                error(lineNumber, "Duplicate item in purchase order: Item ID " + item.getItemId());
+            }
+        }
+
+        List<PurchaseOrder> toPurchaseOrders(int adminId) {
+            List<PurchaseOrder> purchaseOrders = new ArrayList<>(itemsByOrder.size());
+            for (Map.Entry<OrderKey, Map<Integer, PurchaseItem>> entry : itemsByOrder.entrySet()) {
+                PurchaseOrder purchaseOrder = new PurchaseOrder(0, adminId,
+                        entry.getKey().vendorId(), entry.getKey().purchaseDate());
+                purchaseOrder.setPurchaseItems(new ArrayList<>(entry.getValue().values()));
+                purchaseOrders.add(purchaseOrder);
+            }
+            return purchaseOrders;
+        }
+
+        private void error(int lineNumber, String message) {
+            errors.add("Line " + lineNumber + ": " + message);
+        }
+
+        private static String firstPresent(Map<String, String> fields, String... keys) {
+            for (String key : keys) {
+                String value = fields.get(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        private static <T> T resolve(String value, Map<Integer, T> byId, Map<String, T> byName) {
+            if (value.chars().allMatch(Character::isDigit)) {
+                try {
+                    return byId.get(Integer.parseInt(value));
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+            }
+            return byName.get(value.toLowerCase(Locale.ROOT));
+        }
+
+        private static LocalDateTime parseDate(String value) {
+            String isoValue = value.replace(' ', 'T');
+            try {
+                return LocalDateTime.parse(isoValue);
+            } catch (DateTimeParseException ex) {
+                try {
+                    return LocalDate.parse(isoValue).atStartOfDay();
+                } catch (DateTimeParseException ignored) {
+                    return null;
+                }
+            }
+        }
+
+        private static int parseQuantity(String value) {
+            if (Validations.isNullOrBlank(value)) {
+                return 0;
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+    }
+}
@@ -9,8 +9,6 @@ import re.api.models.Item;
 import re.api.models.PurchaseItem;
 import re.api.models.PurchaseOrder;
 
-import java.util.List;
-
 @Service
 public class PurchaseItemService {
 
@@ -124,13 +122,8 @@ public class PurchaseItemService {
         }
 
         // Prevent duplicate items in the same purchase order
-        List<PurchaseItem> existingItems = purchaseItemRepository.findByPurchaseOrderId(purchaseItem.getPurchaseOrderId());
-        for (PurchaseItem existing : existingItems) {
-            if (existing.equals(purchaseItem)
-                    && existing.getPurchaseItemId() != purchaseItem.getPurchaseItemId()) {
-                result.addMessage(ResultType.INVALID, "Duplicate purchase item detected.");
-                break;
-            }
+        if (purchaseItemRepository.existsDuplicate(purchaseItem)) {
+            result.addMessage(ResultType.INVALID, "Duplicate purchase item detected.");
         }
 
         return result;
@@ -7,7 +7,11 @@ import re.api.models.*;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PurchaseOrderService {
@@ -43,6 +47,30 @@ public class PurchaseOrderService {
         return purchaseOrderList;
     }
 
+    public List<PurchaseOrder> findPage(int afterPurchaseId, int limit) {
+        List<PurchaseOrder> purchaseOrderList = purchaseOrderRepository.findPage(afterPurchaseId, Paging.clampLimit(limit));
+        if (purchaseOrderList == null || purchaseOrderList.isEmpty()) {
+            return purchaseOrderList;
+        }
+
+        for (PurchaseOrder purchaseOrder : purchaseOrderList) {
+            enrichPurchaseWithItemsAdminAndVendor(purchaseOrder);
+        }
+
+        return purchaseOrderList;
+    }
+
+    // Not transactional on purpose: the streamed result set keeps its own connection busy, so the
+    // enrichment queries need to run on other connections.
+    public void streamAll(Consumer<PurchaseOrder> consumer) {
+        try (Stream<PurchaseOrder> purchaseOrders = purchaseOrderRepository.streamAll()) {
+            purchaseOrders.forEach(purchaseOrder -> {
+                enrichPurchaseWithItemsAdminAndVendor(purchaseOrder);
+                consumer.accept(purchaseOrder);
+            });
+        }
+    }
+
     public PurchaseOrder findById(int purchaseOrderId) {
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(purchaseOrderId);
         if (purchaseOrder != null) {
@@ -72,16 +100,21 @@ public class PurchaseOrderService {
             return result;
         }
 
-        if (purchaseOrder.getPurchaseItems() != null) {
-            for (PurchaseItem purchaseItem : purchaseOrder.getPurchaseItems()) {
-                purchaseItem.setPurchaseOrderId(addedPurchase.getPurchaseId());
-                purchaseItemRepository.add(purchaseItem);
+        List<PurchaseItem> purchaseItems = purchaseOrder.getPurchaseItems();
+        if (purchaseItems != null && !purchaseItems.isEmpty()) {
+            // Counts before lines: the lines' foreign key checks share-lock the item rows, and two purchases
+            // of one item that both inserted lines first deadlock upgrading those locks.
+            Map<Integer, Integer> quantitiesByItemId = purchaseItems.stream()
+                    .collect(Collectors.toMap(PurchaseItem::getItemId, PurchaseItem::getQuantity));
+            boolean updatedCounts = itemRepository.updateCurrentCounts(quantitiesByItemId);
+            if (!updatedCounts) {
+                result.addMessage(ResultType.INVALID, "Failed to update item counts for purchase order.");
+            }
 
-                boolean updatedCount = itemRepository.updateCurrentCount(purchaseItem.getItemId(), purchaseItem.getQuantity());
-                if (!updatedCount) {
-                    result.addMessage(ResultType.INVALID, "Failed to update item count for item ID: " + purchaseItem.getItemId());
-                }
+            for (PurchaseItem purchaseItem : purchaseItems) {
+                purchaseItem.setPurchaseOrderId(addedPurchase.getPurchaseId());
             }
+            purchaseItemRepository.addAll(purchaseItems);
         }
 
         result.setPayload(addedPurchase);
@@ -180,12 +213,8 @@ public class PurchaseOrderService {
         }
 
         // Check for duplicate Purchase Orders
-        List<PurchaseOrder> existing = purchaseOrderRepository.findAll();
-        for (PurchaseOrder order : existing) {
-            if (order.equals(purchaseOrder)) {
-                result.addMessage(ResultType.INVALID, "Duplicate purchase order already exists.");
-                return result;
-            }
+        if (purchaseOrderRepository.existsDuplicate(purchaseOrder)) {
+            result.addMessage(ResultType.INVALID, "Duplicate purchase order already exists.");
         }
 
         return result;
@@ -98,15 +98,12 @@ public class VendorService {
         }
 
         // Duplicate check
-        vendorRepository.findAll().stream()
-                .filter(existingVendor -> existingVendor.getVendorId() != vendor.getVendorId())
-                .forEach(existingVendor -> {
-                    if (existingVendor.equals(vendor)) {
-                        result.addMessage(ResultType.INVALID, "Duplicate vendors are not allowed");
-                    } else if (existingVendor.getVendorName().equalsIgnoreCase(vendor.getVendorName())) {
-                        result.addMessage(ResultType.INVALID, "Vendor name already exists");
-                    }
-                });
+        if (vendorRepository.existsDuplicate(vendor)) {
+            result.addMessage(ResultType.INVALID, "Duplicate vendors are not allowed");
+        } else if (vendor.getVendorName() != null
+                && vendorRepository.existsByName(vendor.getVendorName(), vendor.getVendorId())) {
+            result.addMessage(ResultType.INVALID, "Vendor name already exists");
+        }
 
         return result;
     }
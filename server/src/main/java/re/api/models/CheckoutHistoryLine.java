@@ -0,0 +1,17 @@
+package re.api.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One checkout_item row flattened with its order and item, as exported for reporting.
+public record CheckoutHistoryLine(int checkoutOrderId,
+                                  LocalDateTime checkoutDate,
+                                  String studentId,
+                                  int authorityId,
+                                  boolean selfCheckout,
+                                  int itemId,
+                                  String itemName,
+                                  String category,
+                                  int quantity,
+                                  BigDecimal pricePerUnit) {
+}
@@ -0,0 +1,17 @@
+package re.api.models;
+
+import java.time.LocalDateTime;
+
+// The stored outcome of a POST sent with an Idempotency-Key. statusCode is 0 and body null while the
+// first request with the key is still running.
+public record IdempotentResponse(String endpoint,
+                                 String idempotencyKey,
+                                 String requestHash,
+                                 int statusCode,
+                                 String body,
+                                 LocalDateTime createdAt) {
+
+    public boolean isPending() {
+        return statusCode == 0;
+    }
+}
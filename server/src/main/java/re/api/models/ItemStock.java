@@ -0,0 +1,9 @@
+package re.api.models;
+
+import java.time.LocalDateTime;
+
+// How many of an item were on hand at a point in time, as recorded by the inventory ledger.
+public record ItemStock(int itemId,
+                        LocalDateTime at,
+                        int stock) {
+}
@@ -0,0 +1,8 @@
+package re.api.models;
+
+// An item whose current_count does not match the sum of its inventory ledger entries.
+public record StockDiscrepancy(int itemId,
+                               String itemName,
+                               int currentCount,
+                               int ledgerCount) {
+}
@@ -6,8 +6,14 @@ import org.springframework.stereotype.Component;
 import re.api.models.AppUser;
 import re.api.models.UserRole;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class JwtConverter {
@@ -16,8 +22,25 @@ public class JwtConverter {
     private final int EXPIRATION_MINUTES = 60;
     private final int EXPIRATION_MILLIS = EXPIRATION_MINUTES * 60 * 1000;
 
+    private final int TOKEN_CACHE_MAX_SIZE = 10_000;
+
     private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
 
+    // JwtParser is immutable and thread-safe once built, so one instance serves every request.
+    private final JwtParser parser = Jwts.parserBuilder()
+            .requireIssuer(ISSUER)
+            .setSigningKey(key)
+            .build();
+
+    // Kiosk clients send the same token on every call; remember who it belongs to until it expires
+    // instead of re-verifying and re-parsing it. Keyed on a SHA-256 of the token so raw tokens are not kept.
+    private final Map<String, CachedUser> tokenCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+            return size() > TOKEN_CACHE_MAX_SIZE;
+        }
+    };
+
     public String getTokenFromUser(AppUser user) {
         return Jwts.builder()
                 .setIssuer(ISSUER)
@@ -35,29 +58,56 @@ public class JwtConverter {
             return null;
         }
 
-        try {
-            Jws<Claims> jws = Jwts.parserBuilder()
-                    .requireIssuer(ISSUER)
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token.substring(7)); // strip "Bearer "
+        String jwt = token.substring(7); // strip "Bearer "
+        String cacheKey = hash(jwt);
+        long now = System.currentTimeMillis();
+
+        synchronized (tokenCache) {
+            CachedUser cached = tokenCache.get(cacheKey);
+            if (cached != null) {
+                if (cached.expiresAtMillis() > now) {
+                    return cached.toAppUser();
+                }
+                tokenCache.remove(cacheKey);
+            }
+        }
 
-            Claims claims = jws.getBody();
+        try {
+            Claims claims = parser.parseClaimsJws(jwt).getBody();
             int appUserId = (Integer) claims.get("appUserId");
             String email = claims.getSubject();
             String role = (String) claims.get("role");
 
-            return new AppUser(
+            CachedUser user = new CachedUser(
                     appUserId,
                     email,
-                    "[protected]",
                     UserRole.valueOf(role.replace("ROLE_", "")), // convert back from ROLE_ADMIN → ADMIN
-                    true
+                    claims.getExpiration().getTime()
             );
+            synchronized (tokenCache) {
+                tokenCache.put(cacheKey, user);
+            }
+
+            return user.toAppUser();
         } catch (JwtException ex) {
             System.out.println("[JWT ERROR] " + ex.getMessage());
         }
 
         return null;
     }
+
+    private static String hash(String jwt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is required by every JVM", ex);
+        }
+    }
+
+    private record CachedUser(int appUserId, String email, UserRole role, long expiresAtMillis) {
+        AppUser toAppUser() {
+            return new AppUser(appUserId, email, "[protected]", role, true);
+        }
+    }
 }
@@ -0,0 +1,177 @@
+package re.api.benchmark;
+
+import re.api.models.AppUser;
+import re.api.models.CheckoutItem;
+import re.api.models.CheckoutOrder;
+import re.api.models.InventoryLog;
+import re.api.models.Item;
+import re.api.models.UserRole;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+// Shared inputs for the benchmarks. Everything here is in memory so the numbers reflect our own code
+// rather than the database or the network.
+final class BenchmarkFixtures {
+
+    static final LocalDateTime CHECKOUT_DATE = LocalDateTime.of(2025, 4, 4, 15, 45);
+
+    private BenchmarkFixtures() {
+    }
+
+    static AppUser authority() {
+        return new AppUser(2, "authority1@umbc.com", "$2a$10$hash", UserRole.AUTHORITY, true);
+    }
+
+    static Item item(int itemId) {
+        return new Item(itemId, "Item " + itemId, "1 lb of 85 lbs bulk",
+                "Calories: 170, Protein: 10, Carbs: 25, Fat: 2, Sodium: 15",
+                "https://res.cloudinary.com/re-images/image/upload/item-" + itemId + ".jpg",
+                "South Asian - Staple", 200, 5, new BigDecimal("1.25"), true);
+    }
+
+    static CheckoutOrder checkoutOrder(int itemCount) {
+        CheckoutOrder checkoutOrder = new CheckoutOrder(9, "VF28040", 2, true, CHECKOUT_DATE);
+        List<CheckoutItem> checkoutItems = new ArrayList<>(itemCount);
+        for (int itemId = 1; itemId <= itemCount; itemId++) {
+            checkoutItems.add(new CheckoutItem(0, 9, itemId, 1));
+        }
+        checkoutOrder.setCheckoutItems(checkoutItems);
+        return checkoutOrder;
+    }
+
+    // The shape findAll/findById return to the client: authority plus every line with its item.
+    static CheckoutOrder enrichedCheckoutOrder(int itemCount) {
+        CheckoutOrder checkoutOrder = checkoutOrder(itemCount);
+        checkoutOrder.setAuthority(authority());
+        for (CheckoutItem checkoutItem : checkoutOrder.getCheckoutItems()) {
+            checkoutItem.setItem(item(checkoutItem.getItemId()));
+        }
+        return checkoutOrder;
+    }
+
+    static InventoryLog enrichedInventoryLog() {
+        InventoryLog inventoryLog = new InventoryLog(1, 2, 3, -4, "Damaged in storage", CHECKOUT_DATE);
+        inventoryLog.setAuthority(authority());
+        inventoryLog.setItem(item(3));
+        return inventoryLog;
+    }
+
+    static Map<String, Object> itemRow() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("item_id", 1);
+        row.put("item_name", "Sona Masoori Rice");
+        row.put("item_description", "1 lb of 85 lbs bulk");
+        row.put("nutrition_facts", "Calories: 160, Protein: 3, Carbs: 36, Fat: 0, Sodium: 0");
+        row.put("picture_path", "https://res.cloudinary.com/re-images/image/upload/rice.jpg");
+        row.put("category", "South Asian - Staple");
+        row.put("current_count", 200);
+        row.put("item_limit", 5);
+        row.put("price_per_unit", new BigDecimal("1.25"));
+        row.put("enabled", true);
+        return row;
+    }
+
+    static Map<String, Object> checkoutOrderRow() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("checkout_id", 9);
+        row.put("student_id", "VF28040");
+        row.put("authority_id", 2);
+        row.put("self_checkout", true);
+        row.put("checkout_date", Timestamp.valueOf(CHECKOUT_DATE));
+        return row;
+    }
+
+    // itemRow() repeated with distinct ids and names, the shape of an ItemRepository.findAll result.
+    static List<Map<String, Object>> itemRows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int itemId = 1; itemId <= count; itemId++) {
+            Map<String, Object> row = itemRow();
+            row.put("item_id", itemId);
+            row.put("item_name", "Item " + itemId);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // A single-row ResultSet over the given columns, positioned on that row.
+    static ResultSet resultSet(Map<String, Object> row) {
+        return resultSet(List.of(row), 0);
+    }
+
+    // A forward-only ResultSet over rows that all share the first row's columns, positioned before the
+    // first row. Supports next() and the by-label and by-index getters the mappers use; anything else
+    // throws so a benchmark can't silently measure a default value. Labels resolve through a
+    // case-insensitive TreeMap, as Connector/J's do, so by-label reads cost roughly what they do against
+    // a real result set.
+    static ResultSet resultSet(List<Map<String, Object>> rows) {
+        return resultSet(rows, -1);
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows, int startRow) {
+        List<String> labels = List.copyOf(rows.getFirst().keySet());
+        Map<String, Integer> labelToIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < labels.size(); i++) {
+            labelToIndex.put(labels.get(i), i + 1);
+        }
+        int[] rowIndex = {startRow};
+        boolean[] wasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("next")) {
+                        return ++rowIndex[0] < rows.size();
+                    }
+                    if (name.equals("wasNull")) {
+                        return wasNull[0];
+                    }
+                    if (name.equals("findColumn")) {
+                        return labelToIndex.get((String) args[0]);
+                    }
+                    if (!name.startsWith("get") || args == null || args.length != 1) {
+                        throw new UnsupportedOperationException(name);
+                    }
+                    int columnIndex = args[0] instanceof String label ? labelToIndex.get(label) : (Integer) args[0];
+                    Object value = rows.get(rowIndex[0]).get(labels.get(columnIndex - 1));
+                    wasNull[0] = value == null;
+                    return switch (name) {
+                        case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                        case "getBoolean" -> value != null && (Boolean) value;
+                        case "getString", "getBigDecimal", "getTimestamp", "getObject" -> value;
+                        default -> throw new UnsupportedOperationException(name);
+                    };
+                });
+    }
+
+    // An implementation of a repository interface that answers the listed methods and returns
+    // false/0/null for the rest.
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == List.class) {
+                return List.of();
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package re.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import re.api.data.AppUserRepository;
+import re.api.data.CheckoutItemRepository;
+import re.api.data.CheckoutOrderRepository;
+import re.api.data.ItemRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import re.api.domain.CheckoutOrderService;
+import re.api.domain.CheckoutQuotaTracker;
+import re.api.domain.Result;
+import re.api.domain.ResultType;
+import re.api.models.CheckoutHistoryLine;
+import re.api.models.CheckoutOrder;
+import re.api.models.Item;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+// CheckoutOrderService.update is validation plus a single repository call, so with in-memory
+// repositories it measures validate() for a typical kiosk order.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int itemCount;
+
+    private CheckoutOrderService checkoutOrderService;
+    private CheckoutOrder checkoutOrder;
+    private CheckoutQuotaTracker quotaTracker;
+    private CheckoutOrder quotaOrder;
+    private Map<Integer, Item> itemsById;
+
+    @Setup
+    public void setup() {
+        checkoutOrderService = new CheckoutOrderService(
+                BenchmarkFixtures.stub(CheckoutOrderRepository.class, Map.of("update", args -> true)),
+                BenchmarkFixtures.stub(CheckoutItemRepository.class, Map.of()),
+                BenchmarkFixtures.stub(ItemRepository.class,
+                        Map.of("findById", args -> BenchmarkFixtures.item((Integer) args[0]))),
+                BenchmarkFixtures.stub(AppUserRepository.class,
+                        Map.of("findById", args -> BenchmarkFixtures.authority())),
+                new CheckoutQuotaTracker(BenchmarkFixtures.stub(CheckoutOrderRepository.class, Map.of()),
+                        false, 7, Map.of()));
+        checkoutOrder = BenchmarkFixtures.checkoutOrder(itemCount);
+
+        // A student with 20 earlier orders this week, none for the items being checked out now
+        LocalDateTime now = LocalDateTime.now();
+        List<CheckoutHistoryLine> history = new ArrayList<>();
+        for (int orderId = 1; orderId <= 20; orderId++) {
+            for (int line = 0; line < itemCount; line++) {
+                history.add(new CheckoutHistoryLine(orderId, now.minusHours(orderId), checkoutOrder.getStudentId(),
+                        2, true, 100 + orderId * itemCount + line, "Item", "South Asian - Staple", 1, BigDecimal.ONE));
+            }
+        }
+        quotaTracker = new CheckoutQuotaTracker(
+                BenchmarkFixtures.stub(CheckoutOrderRepository.class, Map.of("streamHistory", args -> history.stream())),
+                true, 7, Map.of("South Asian - Staple", 1000));
+        quotaTracker.warmUp();
+        quotaOrder = BenchmarkFixtures.checkoutOrder(itemCount);
+        quotaOrder.setCheckoutDate(now);
+        itemsById = quotaOrder.getCheckoutItems().stream()
+                .map(checkoutItem -> BenchmarkFixtures.item(checkoutItem.getItemId()))
+                .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+    }
+
+    @Benchmark
+    public Result<CheckoutOrder> validateCheckoutOrder() {
+        return checkoutOrderService.update(checkoutOrder);
+    }
+
+    // What the quota adds to a kiosk checkout: sum the student's window, reserve, release on rollback.
+    @Benchmark
+    public Result<CheckoutOrder> reserveCheckoutQuota() {
+        Result<CheckoutOrder> result = new Result<>();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            quotaTracker.reserve(result, quotaOrder, itemsById);
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Result<CheckoutOrder> successResult() {
+        Result<CheckoutOrder> result = new Result<>();
+        result.setPayload(checkoutOrder);
+        return result;
+    }
+
+    @Benchmark
+    public Result<CheckoutOrder> failedResult() {
+        Result<CheckoutOrder> result = new Result<>();
+        result.addMessage(ResultType.INVALID, "Student ID is required.");
+        result.addMessage(ResultType.NOT_FOUND, "Authority does not exist or is disabled.");
+        return result;
+    }
+}
@@ -0,0 +1,42 @@
+package re.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import re.api.models.AppUser;
+import re.api.security.JwtConverter;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtConverterBenchmark {
+
+    private final JwtConverter jwtConverter = new JwtConverter();
+    private final AppUser authority = BenchmarkFixtures.authority();
+
+    private String header;
+
+    @Setup
+    public void setup() {
+        header = "Bearer " + jwtConverter.getTokenFromUser(authority);
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return jwtConverter.getTokenFromUser(authority);
+    }
+
+    // Every request after login presents the same token.
+    @Benchmark
+    public AppUser parseRepeatedToken() {
+        return jwtConverter.getUserFromToken(header);
+    }
+
+    @Benchmark
+    public AppUser issueAndParseNewToken() {
+        return jwtConverter.getUserFromToken("Bearer " + jwtConverter.getTokenFromUser(authority));
+    }
+}
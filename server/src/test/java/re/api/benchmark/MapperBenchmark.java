@@ -0,0 +1,105 @@
+package re.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import re.api.data.mappers.CheckoutOrderMapper;
+import re.api.data.mappers.ItemMapper;
+import re.api.models.CheckoutOrder;
+import re.api.models.Item;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// mapItem/mapCheckoutOrder time one row through the shared mappers. findAllItems* run a whole
+// ItemRepository.findAll-sized result through JdbcTemplate's extractor, comparing the index-resolving
+// ItemMapper with the by-label mapping it replaced; the *Concurrently variants do the same from four
+// threads sharing the one ItemMapper.INSTANCE, as concurrent requests do. Add -prof gc for the
+// allocation side.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10000"})
+    public int rowCount;
+
+    private ResultSet itemRow;
+    private ResultSet checkoutOrderRow;
+    private List<Map<String, Object>> itemRows;
+    private RowMapper<Item> itemMapper;
+    private RowMapper<CheckoutOrder> checkoutOrderMapper;
+
+    @Setup
+    public void setup() {
+        itemRow = BenchmarkFixtures.resultSet(BenchmarkFixtures.itemRow());
+        checkoutOrderRow = BenchmarkFixtures.resultSet(BenchmarkFixtures.checkoutOrderRow());
+        itemRows = BenchmarkFixtures.itemRows(rowCount);
+        itemMapper = ItemMapper.INSTANCE.rowMapper();
+        checkoutOrderMapper = CheckoutOrderMapper.INSTANCE.rowMapper();
+    }
+
+    @Benchmark
+    public Item mapItem() throws SQLException {
+        return itemMapper.mapRow(itemRow, 0);
+    }
+
+    @Benchmark
+    public CheckoutOrder mapCheckoutOrder() throws SQLException {
+        return checkoutOrderMapper.mapRow(checkoutOrderRow, 0);
+    }
+
+    @Benchmark
+    public List<Item> findAllItemsByIndex() throws SQLException {
+        return extract(ItemMapper.INSTANCE.rowMapper());
+    }
+
+    @Benchmark
+    public List<Item> findAllItemsByLabel() throws SQLException {
+        return extract(new LabelItemMapper());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Item> findAllItemsByIndexConcurrently() throws SQLException {
+        return extract(ItemMapper.INSTANCE.rowMapper());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Item> findAllItemsByLabelConcurrently() throws SQLException {
+        return extract(new LabelItemMapper());
+    }
+
+    // A fresh ResultSet and mapper per call, like a real query, so the index mapper resolves once per call.
+    private List<Item> extract(RowMapper<Item> mapper) throws SQLException {
+        return new RowMapperResultSetExtractor<>(mapper).extractData(BenchmarkFixtures.resultSet(itemRows));
+    }
+
+    // ItemMapper as it was before column indexes: a new instance per query and a label lookup per getter.
+    private static class LabelItemMapper implements RowMapper<Item> {
+        @Override
+        public Item mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Item item = new Item();
+            item.setItemId(rs.getInt("item_id"));
+            item.setItemName(rs.getString("item_name"));
+            item.setItemDescription(rs.getString("item_description"));
+            item.setNutritionFacts(rs.getString("nutrition_facts"));
+            item.setPicturePath(rs.getString("picture_path"));
+            item.setCategory(rs.getString("category"));
+            item.setCurrentCount(rs.getInt("current_count"));
+            item.setItemLimit(rs.getInt("item_limit"));
+            BigDecimal price = rs.getBigDecimal("price_per_unit");
+            item.setPricePerUnit(price != null ? price : BigDecimal.ZERO);
+            item.setEnabled(rs.getBoolean("enabled"));
+            return item;
+        }
+    }
+}
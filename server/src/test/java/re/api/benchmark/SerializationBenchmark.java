@@ -0,0 +1,44 @@
+package re.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import re.api.models.CheckoutOrder;
+import re.api.models.InventoryLog;
+
+import java.util.concurrent.TimeUnit;
+
+// Uses the same builder defaults Spring MVC applies to the controllers' ObjectMapper.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Param({"1", "5", "20"})
+    public int itemCount;
+
+    private CheckoutOrder checkoutOrder;
+    private InventoryLog inventoryLog;
+
+    @Setup
+    public void setup() {
+        checkoutOrder = BenchmarkFixtures.enrichedCheckoutOrder(itemCount);
+        inventoryLog = BenchmarkFixtures.enrichedInventoryLog();
+    }
+
+    @Benchmark
+    public byte[] writeCheckoutOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(checkoutOrder);
+    }
+
+    @Benchmark
+    public byte[] writeInventoryLog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inventoryLog);
+    }
+}
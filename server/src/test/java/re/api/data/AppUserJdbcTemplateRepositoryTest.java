@@ -61,6 +61,28 @@ class AppUserJdbcTemplateRepositoryTest {
         assertNull(user);
     }
 
+    @Test
+    void shouldFindByIds() {
+        // Arrange
+        List<Integer> userIds = List.of(1, 2, 9999);
+        // Act
+        List<AppUser> users = appUserJdbcTemplateRepository.findByIds(userIds);
+        // Assert
+        assertNotNull(users);
+        assertEquals(2, users.size());
+        assertTrue(users.stream().anyMatch(u -> u.getUsername().equals("admin@umbc.com")));
+    }
+
+    @Test
+    void shouldNotFindByEmptyIds() {
+        // Arrange
+        // Act
+        List<AppUser> users = appUserJdbcTemplateRepository.findByIds(List.of());
+        // Assert
+        assertNotNull(users);
+        assertTrue(users.isEmpty());
+    }
+
     @Test
     void shouldFindByEmail() {
         // Arrange
@@ -0,0 +1,194 @@
+package re.api.data;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import re.api.models.Item;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class CachingItemRepositoryTest {
+
+    @MockitoBean
+    ItemJdbcTemplateRepository delegate;
+
+    @Autowired
+    CachingItemRepository cachingItemRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ItemCatalogVersion catalogVersion;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        cachingItemRepository.invalidateAll();
+    }
+
+    @Test
+    void shouldServeRepeatedFindByIdFromCache() {
+        // Arrange
+        when(delegate.findById(1)).thenReturn(makeItem(1, 10));
+        double hitsBefore = count("hit");
+        // Act
+        Item first = cachingItemRepository.findById(1);
+        Item second = cachingItemRepository.findById(1);
+        // Assert
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        verify(delegate, times(1)).findById(1);
+        assertEquals(hitsBefore + 1, count("hit"));
+    }
+
+    @Test
+    void shouldNotLetCallersMutateCachedItem() {
+        // Arrange
+        when(delegate.findById(1)).thenReturn(makeItem(1, 10));
+        // Act
+        cachingItemRepository.findById(1).setCurrentCount(0);
+        Item item = cachingItemRepository.findById(1);
+        // Assert
+        assertEquals(10, item.getCurrentCount());
+    }
+
+    @Test
+    void shouldLoadOnlyMissingIdsInFindByIds() {
+        // Arrange
+        when(delegate.findById(1)).thenReturn(makeItem(1, 10));
+        when(delegate.findByIds(List.of(2))).thenReturn(List.of(makeItem(2, 20)));
+        cachingItemRepository.findById(1);
+        // Act
+        List<Item> items = cachingItemRepository.findByIds(List.of(1, 2));
+        // Assert
+        assertEquals(2, items.size());
+        verify(delegate, times(1)).findByIds(List.of(2));
+    }
+
+    @Test
+    void shouldInvalidateOnCountUpdate() {
+        // Arrange
+        when(delegate.findById(1)).thenReturn(makeItem(1, 10));
+        cachingItemRepository.findById(1);
+        // Act
+        cachingItemRepository.updateCurrentCount(1, 5);
+        when(delegate.findById(1)).thenReturn(makeItem(1, 15));
+        Item item = cachingItemRepository.findById(1);
+        // Assert
+        assertEquals(15, item.getCurrentCount());
+        verify(delegate, times(2)).findById(1);
+    }
+
+    @Test
+    void shouldInvalidateOnBatchDecrement() {
+        // Arrange
+        when(delegate.findByIds(List.of(1, 2))).thenReturn(List.of(makeItem(1, 10), makeItem(2, 20)));
+        cachingItemRepository.findByIds(List.of(1, 2));
+        // Act
+        cachingItemRepository.decrementCurrentCounts(Map.of(2, 1));
+        when(delegate.findById(2)).thenReturn(makeItem(2, 19));
+        Item item = cachingItemRepository.findById(2);
+        // Assert
+        assertEquals(19, item.getCurrentCount());
+    }
+
+    @Test
+    void shouldInvalidateOnDisable() {
+        // Arrange
+        when(delegate.findById(1)).thenReturn(makeItem(1, 10));
+        cachingItemRepository.findById(1);
+        // Act
+        cachingItemRepository.disableById(1);
+        cachingItemRepository.findById(1);
+        // Assert
+        verify(delegate, times(2)).findById(1);
+    }
+
+    @Test
+    void shouldBumpCatalogVersionOnWritesOnly() {
+        // Arrange
+        when(delegate.findById(1)).thenReturn(makeItem(1, 10));
+        long before = catalogVersion.current();
+        // Act
+        cachingItemRepository.findById(1);
+        cachingItemRepository.findAllEnabled();
+        long afterReads = catalogVersion.current();
+        cachingItemRepository.updateCurrentCount(1, 5);
+        // Assert
+        assertEquals(before, afterReads);
+        assertTrue(catalogVersion.current() > afterReads);
+    }
+
+    @Test
+    void shouldNotCacheReadsOfTransactionThatWrote() {
+        // Arrange
+        when(delegate.findById(1)).thenReturn(makeItem(1, 15));
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            cachingItemRepository.updateCurrentCount(1, 5);
+            cachingItemRepository.findById(1);
+            cachingItemRepository.findById(1);
+            status.setRollbackOnly();
+        });
+        when(delegate.findById(1)).thenReturn(makeItem(1, 10));
+        Item afterRollback = cachingItemRepository.findById(1);
+        cachingItemRepository.findById(1);
+        // Assert
+        assertEquals(10, afterRollback.getCurrentCount());
+        verify(delegate, times(3)).findById(1);
+    }
+
+    @Test
+    void shouldNotCacheReadsMadeInsideTransaction() {
+        // Arrange
+        when(delegate.findById(1)).thenReturn(makeItem(1, 10));
+        when(delegate.findByIds(List.of(2))).thenReturn(List.of(makeItem(2, 20)));
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            cachingItemRepository.findById(1);
+            cachingItemRepository.findByIds(List.of(2));
+        });
+        cachingItemRepository.findById(1);
+        cachingItemRepository.findByIds(List.of(2));
+        // Assert
+        verify(delegate, times(2)).findById(1);
+        verify(delegate, times(2)).findByIds(List.of(2));
+    }
+
+    @Test
+    void shouldNotCacheMissingItem() {
+        // Arrange
+        when(delegate.findById(9999)).thenReturn(null);
+        // Act
+        Item first = cachingItemRepository.findById(9999);
+        Item second = cachingItemRepository.findById(9999);
+        // Assert
+        assertNull(first);
+        assertNull(second);
+        verify(delegate, times(2)).findById(9999);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "item").tag("result", result).counter().count();
+    }
+
+    private Item makeItem(int itemId, int currentCount) {
+        return new Item(itemId, "Item " + itemId, "", "", "", "Category", currentCount,
+                5, BigDecimal.ONE, true);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import re.api.models.CheckoutItem;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +28,39 @@ class CheckoutItemJdbcTemplateRepositoryTest {
     }
 
     // Tuple for find methods: (1, 1, 1, 2)
+    @Test
+    void shouldFindDuplicate() {
+        // Arrange
+        CheckoutItem checkoutItem = checkoutItemJdbcTemplateRepository.findById(1);
+        checkoutItem.setCheckoutItemId(0);
+        // Act
+        boolean exists = checkoutItemJdbcTemplateRepository.existsDuplicate(checkoutItem);
+        // Assert
+        assertTrue(exists);
+    }
+
+    @Test
+    void shouldNotFindItselfAsDuplicate() {
+        // Arrange
+        CheckoutItem checkoutItem = checkoutItemJdbcTemplateRepository.findById(1);
+        // Act
+        boolean exists = checkoutItemJdbcTemplateRepository.existsDuplicate(checkoutItem);
+        // Assert
+        assertFalse(exists);
+    }
+
+    @Test
+    void shouldNotFindDuplicateWhenFieldsDiffer() {
+        // Arrange
+        CheckoutItem checkoutItem = checkoutItemJdbcTemplateRepository.findById(1);
+        checkoutItem.setCheckoutItemId(0);
+        checkoutItem.setItemId(39);
+        // Act
+        boolean exists = checkoutItemJdbcTemplateRepository.existsDuplicate(checkoutItem);
+        // Assert
+        assertFalse(exists);
+    }
+
     @Test
     void shouldFindById() {
         // Arrange
@@ -68,6 +102,28 @@ class CheckoutItemJdbcTemplateRepositoryTest {
         assertEquals(2, checkoutItems.size());
     }
 
+    @Test
+    void shouldFindByCheckoutOrderIds() {
+        // Arrange
+        List<Integer> checkoutOrderIds = List.of(1, 2);
+        // Act
+        List<CheckoutItem> checkoutItems = checkoutItemJdbcTemplateRepository.findByCheckoutOrderIds(checkoutOrderIds);
+        // Assert
+        assertNotNull(checkoutItems);
+        assertEquals(4, checkoutItems.size());
+        assertTrue(checkoutItems.stream().allMatch(ci -> checkoutOrderIds.contains(ci.getCheckoutOrderId())));
+    }
+
+    @Test
+    void shouldNotFindByEmptyCheckoutOrderIds() {
+        // Arrange
+        // Act
+        List<CheckoutItem> checkoutItems = checkoutItemJdbcTemplateRepository.findByCheckoutOrderIds(List.of());
+        // Assert
+        assertNotNull(checkoutItems);
+        assertTrue(checkoutItems.isEmpty());
+    }
+
     @Test
     void shouldNotFindByBadCheckoutOrderId() {
         // Arrange
@@ -84,7 +140,7 @@ class CheckoutItemJdbcTemplateRepositoryTest {
     void findPopularItems() {
         // Arrange
         // Act
-        List<Map<String, Object>> popularItems = checkoutItemJdbcTemplateRepository.findPopularItems();
+        List<Map<String, Object>> popularItems = checkoutItemJdbcTemplateRepository.findPopularItems(null);
         // Assert
         assertNotNull(popularItems);
         assertFalse(popularItems.isEmpty());
@@ -97,7 +153,7 @@ class CheckoutItemJdbcTemplateRepositoryTest {
     void findPopularCategories() {
         // Arrange
         // Act
-        List<Map<String, Object>> popularCategories = checkoutItemJdbcTemplateRepository.findPopularCategories();
+        List<Map<String, Object>> popularCategories = checkoutItemJdbcTemplateRepository.findPopularCategories(null);
         // Assert
         assertNotNull(popularCategories);
         assertFalse(popularCategories.isEmpty());
@@ -105,6 +161,61 @@ class CheckoutItemJdbcTemplateRepositoryTest {
         assertEquals("South Asian - Snack", popularCategories.getFirst().get("category"));
     }
 
+    @Test
+    void shouldFindPopularItemsSince() {
+        // Arrange
+        LocalDate friday = LocalDate.of(2025, 4, 4);
+        // Act
+        List<Map<String, Object>> popularItems = checkoutItemJdbcTemplateRepository.findPopularItems(friday);
+        // Assert
+        assertFalse(popularItems.isEmpty());
+        assertTrue(popularItems.stream().noneMatch(row -> "Toor Dahl (Red Lentils)".equals(row.get("item_name"))));
+    }
+
+    @Test
+    void shouldNotFindPopularItemsOrCategoriesAfterLastCheckout() {
+        // Arrange
+        LocalDate since = LocalDate.of(2025, 4, 5);
+        // Act
+        List<Map<String, Object>> popularItems = checkoutItemJdbcTemplateRepository.findPopularItems(since);
+        List<Map<String, Object>> popularCategories = checkoutItemJdbcTemplateRepository.findPopularCategories(since);
+        // Assert
+        assertTrue(popularItems.isEmpty());
+        assertTrue(popularCategories.isEmpty());
+    }
+
+    // Tuple: (19, 10, 25, 1) -> Spicy Seaweed Snacks, Friday 2025-04-04
+    @Test
+    void shouldKeepPopularityTallyInStepOnUpdate() {
+        // Arrange
+        LocalDate friday = LocalDate.of(2025, 4, 4);
+        CheckoutItem checkoutItem = checkoutItemJdbcTemplateRepository.findById(19);
+        assertNotNull(checkoutItem);
+        int initialQuantity = checkoutItem.getQuantity();
+        int initialTally = tally("Spicy Seaweed Snacks", friday);
+        checkoutItem.setQuantity(initialQuantity + 3);
+        // Act
+        checkoutItemJdbcTemplateRepository.update(checkoutItem);
+        int updatedTally = tally("Spicy Seaweed Snacks", friday);
+        checkoutItem.setQuantity(initialQuantity);
+        checkoutItemJdbcTemplateRepository.update(checkoutItem);
+        // Assert
+        assertEquals(initialTally + 3, updatedTally);
+        assertEquals(initialTally, tally("Spicy Seaweed Snacks", friday));
+    }
+
+    @Test
+    void shouldRebuildPopularityTallyToSameCounts() {
+        // Arrange
+        List<Map<String, Object>> incrementalItems = checkoutItemJdbcTemplateRepository.findPopularItems(null);
+        List<Map<String, Object>> incrementalCategories = checkoutItemJdbcTemplateRepository.findPopularCategories(null);
+        // Act
+        checkoutItemJdbcTemplateRepository.rebuildPopularityTally();
+        // Assert
+        assertEquals(incrementalItems, checkoutItemJdbcTemplateRepository.findPopularItems(null));
+        assertEquals(incrementalCategories, checkoutItemJdbcTemplateRepository.findPopularCategories(null));
+    }
+
     @Test
     void shouldAdd() {
         // Arrange
@@ -120,6 +231,32 @@ class CheckoutItemJdbcTemplateRepositoryTest {
         assertEquals(CHECKOUT_ITEM_COUNT + 1, addedCheckoutItem.getCheckoutItemId());
     }
 
+    @Test
+    void shouldAddAll() {
+        // Arrange
+        int checkoutOrderId = 10;
+        List<CheckoutItem> checkoutItems = List.of(
+                new CheckoutItem(0, checkoutOrderId, 30, 1),
+                new CheckoutItem(0, checkoutOrderId, 31, 2));
+        // Act
+        List<CheckoutItem> addedCheckoutItems = checkoutItemJdbcTemplateRepository.addAll(checkoutItems);
+        // Assert
+        assertEquals(2, addedCheckoutItems.size());
+        assertTrue(addedCheckoutItems.getFirst().getCheckoutItemId() > CHECKOUT_ITEM_COUNT);
+        assertEquals(addedCheckoutItems.getFirst().getCheckoutItemId() + 1, addedCheckoutItems.getLast().getCheckoutItemId());
+        assertEquals(addedCheckoutItems.getLast(),
+                checkoutItemJdbcTemplateRepository.findById(addedCheckoutItems.getLast().getCheckoutItemId()));
+    }
+
+    @Test
+    void shouldAddNothingForEmptyList() {
+        // Arrange
+        // Act
+        List<CheckoutItem> addedCheckoutItems = checkoutItemJdbcTemplateRepository.addAll(List.of());
+        // Assert
+        assertTrue(addedCheckoutItems.isEmpty());
+    }
+
     @Test
     void shouldUpdate() {
         // Arrange
@@ -203,4 +340,12 @@ class CheckoutItemJdbcTemplateRepositoryTest {
         // Assert
         assertFalse(deleted);
     }
-}
\ No newline at end of file
+
+    private int tally(String itemName, LocalDate since) {
+        return checkoutItemJdbcTemplateRepository.findPopularItems(since).stream()
+                .filter(row -> itemName.equals(row.get("item_name")))
+                .mapToInt(row -> ((Number) row.get("total_checkouts")).intValue())
+                .findFirst()
+                .orElse(0);
+    }
+}
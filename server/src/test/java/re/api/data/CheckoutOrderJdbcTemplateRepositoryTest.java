@@ -4,11 +4,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import re.api.models.CheckoutHistoryLine;
 import re.api.models.CheckoutOrder;
 
 import java.time.LocalDateTime;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +25,9 @@ class CheckoutOrderJdbcTemplateRepositoryTest {
     @Autowired
     CheckoutOrderJdbcTemplateRepository checkoutOrderJdbcTemplateRepository;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @Autowired
     KnownGoodState knownGoodState;
 
@@ -40,8 +49,176 @@ class CheckoutOrderJdbcTemplateRepositoryTest {
                 || checkoutOrders.size() == CHECKOUT_ORDER_COUNT - 1);
     }
 
+    @Test
+    void shouldFindPage() {
+        // Arrange
+        int afterCheckoutId = 3;
+        int limit = 4;
+        // Act
+        List<CheckoutOrder> checkoutOrders = checkoutOrderJdbcTemplateRepository.findPage(afterCheckoutId, limit);
+        // Assert
+        assertNotNull(checkoutOrders);
+        assertEquals(limit, checkoutOrders.size());
+        assertEquals(4, checkoutOrders.getFirst().getCheckoutOrderId());
+        assertEquals(7, checkoutOrders.getLast().getCheckoutOrderId());
+    }
+
+    @Test
+    void shouldNotFindPageAfterLastId() {
+        // Arrange
+        int afterCheckoutId = 9999;
+        // Act
+        List<CheckoutOrder> checkoutOrders = checkoutOrderJdbcTemplateRepository.findPage(afterCheckoutId, 10);
+        // Assert
+        assertNotNull(checkoutOrders);
+        assertTrue(checkoutOrders.isEmpty());
+    }
+
+    @Test
+    void shouldStreamAll() {
+        // Arrange
+        List<CheckoutOrder> checkoutOrders;
+        // Act
+        try (Stream<CheckoutOrder> stream = checkoutOrderJdbcTemplateRepository.streamAll()) {
+            checkoutOrders = stream.toList();
+        }
+        // Assert
+        assertEquals(checkoutOrderJdbcTemplateRepository.findAll().size(), checkoutOrders.size());
+        assertEquals(1, checkoutOrders.getFirst().getCheckoutOrderId());
+    }
+
+    @Test
+    void shouldStreamHistoryInDateRange() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 4, 2, 12, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 4, 2, 14, 0);
+        List<CheckoutHistoryLine> lines;
+        // Act
+        try (Stream<CheckoutHistoryLine> stream = checkoutOrderJdbcTemplateRepository.streamHistory(from, to)) {
+            lines = stream.toList();
+        }
+        // Assert
+        assertEquals(4, lines.size());
+        assertEquals(5, lines.getFirst().checkoutOrderId());
+        assertEquals(2, lines.getFirst().itemId());
+        assertNotNull(lines.getFirst().itemName());
+        assertEquals(6, lines.getLast().checkoutOrderId());
+        assertTrue(lines.stream().allMatch(line -> !line.checkoutDate().isBefore(from) && line.checkoutDate().isBefore(to)));
+    }
+
+    @Test
+    void shouldNotStreamHistoryOutsideDateRange() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(1999, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2000, 1, 1, 0, 0);
+        List<CheckoutHistoryLine> lines;
+        // Act
+        try (Stream<CheckoutHistoryLine> stream = checkoutOrderJdbcTemplateRepository.streamHistory(from, to)) {
+            lines = stream.toList();
+        }
+        // Assert
+        assertTrue(lines.isEmpty());
+    }
+
+    @Test
+    void shouldFindHistoryByStudentId() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 4, 1, 0, 0);
+        // Act
+        List<CheckoutHistoryLine> lines = checkoutOrderJdbcTemplateRepository.findHistoryByStudentId("VF87923", from);
+        // Assert
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.checkoutOrderId() == 5 && line.studentId().equals("VF87923")));
+    }
+
+    @Test
+    void shouldFindByStudentIdNewestFirstWithCursor() {
+        // Arrange
+        checkoutOrderJdbcTemplateRepository.add(
+                new CheckoutOrder(0, "VF87923", 2, false, LocalDateTime.of(2025, 4, 9, 10, 0)));
+        CheckoutOrder sameTime = checkoutOrderJdbcTemplateRepository.add(
+                new CheckoutOrder(0, "VF87923", 3, false, LocalDateTime.of(2025, 4, 9, 10, 0)));
+        // Act
+        List<CheckoutOrder> firstPage = checkoutOrderJdbcTemplateRepository.findByStudentId("VF87923", 0, 2);
+        List<CheckoutOrder> secondPage = checkoutOrderJdbcTemplateRepository.findByStudentId("VF87923",
+                firstPage.getLast().getCheckoutOrderId(), 2);
+        // Assert
+        assertEquals(2, firstPage.size());
+        assertEquals(sameTime.getCheckoutOrderId(), firstPage.getFirst().getCheckoutOrderId());
+        assertEquals(1, secondPage.size());
+        assertEquals(5, secondPage.getFirst().getCheckoutOrderId());
+    }
+
+    @Test
+    void shouldFindByStudentIdAndDateRange() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 4, 2, 13, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 4, 2, 13, 1);
+        // Act
+        List<CheckoutOrder> inRange = checkoutOrderJdbcTemplateRepository.findByStudentIdAndDateRange(
+                "VF87923", from, to, 0, 10);
+        List<CheckoutOrder> outOfRange = checkoutOrderJdbcTemplateRepository.findByStudentIdAndDateRange(
+                "VF87923", to, null, 0, 10);
+        // Assert
+        assertEquals(1, inRange.size());
+        assertEquals(5, inRange.getFirst().getCheckoutOrderId());
+        assertTrue(outOfRange.isEmpty());
+    }
+
+    @Test
+    void shouldNotFindByUnknownStudentId() {
+        // Arrange
+        // Act
+        List<CheckoutOrder> checkoutOrders = checkoutOrderJdbcTemplateRepository.findByStudentId("ZZ00000", 0, 10);
+        // Assert
+        assertTrue(checkoutOrders.isEmpty());
+    }
+
+    @Test
+    void shouldNotFindHistoryByStudentIdBeforeFrom() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 4, 3, 0, 0);
+        // Act
+        List<CheckoutHistoryLine> lines = checkoutOrderJdbcTemplateRepository.findHistoryByStudentId("VF87923", from);
+        // Assert
+        assertTrue(lines.isEmpty());
+    }
+
     // (checkout_id, student_id, authority_id, self_checkout, checkout_date)
     // (1, VF21042, 2, 0, 2025-04-06 21:51:54)
+    @Test
+    void shouldFindDuplicate() {
+        // Arrange
+        CheckoutOrder checkoutOrder = checkoutOrderJdbcTemplateRepository.findById(1);
+        checkoutOrder.setCheckoutOrderId(0);
+        // Act
+        boolean exists = checkoutOrderJdbcTemplateRepository.existsDuplicate(checkoutOrder);
+        // Assert
+        assertTrue(exists);
+    }
+
+    @Test
+    void shouldNotFindItselfAsDuplicate() {
+        // Arrange
+        CheckoutOrder checkoutOrder = checkoutOrderJdbcTemplateRepository.findById(1);
+        // Act
+        boolean exists = checkoutOrderJdbcTemplateRepository.existsDuplicate(checkoutOrder);
+        // Assert
+        assertFalse(exists);
+    }
+
+    @Test
+    void shouldNotFindDuplicateWhenFieldsDiffer() {
+        // Arrange
+        CheckoutOrder checkoutOrder = checkoutOrderJdbcTemplateRepository.findById(1);
+        checkoutOrder.setCheckoutOrderId(0);
+        checkoutOrder.setStudentId("VF00000");
+        // Act
+        boolean exists = checkoutOrderJdbcTemplateRepository.existsDuplicate(checkoutOrder);
+        // Assert
+        assertFalse(exists);
+    }
+
     @Test
     void shouldFindById() {
         // Arrange
@@ -85,6 +262,67 @@ class CheckoutOrderJdbcTemplateRepositoryTest {
         assertTrue(summary.stream().noneMatch(row -> row.get("day").equals("Sunday")));
     }
 
+    @Test
+    void shouldMoveOrderBetweenHourlySummaryBucketsOnUpdate() {
+        // Arrange
+        int checkoutOrderId = 9;
+        CheckoutOrder checkoutOrder = checkoutOrderJdbcTemplateRepository.findById(checkoutOrderId);
+        LocalDateTime originalDate = checkoutOrder.getCheckoutDate();
+        int originalBucketBefore = summaryCount(originalDate.getDayOfWeek().getDisplayName(
+                TextStyle.FULL, Locale.ENGLISH), originalDate.getHour());
+        checkoutOrder.setCheckoutDate(LocalDateTime.of(2025, 4, 5, 9, 30)); // Saturday, closed
+        // Act
+        checkoutOrderJdbcTemplateRepository.update(checkoutOrder);
+        // Assert
+        assertEquals(1, summaryCount("Saturday", 9));
+        assertEquals(originalBucketBefore - 1, summaryCount(originalDate.getDayOfWeek().getDisplayName(
+                TextStyle.FULL, Locale.ENGLISH), originalDate.getHour()));
+        checkoutOrder.setCheckoutDate(originalDate);
+        checkoutOrderJdbcTemplateRepository.update(checkoutOrder);
+        assertEquals(0, summaryCount("Saturday", 9));
+    }
+
+    @Test
+    void shouldSumHourlySummaryShards() {
+        // Arrange
+        LocalDateTime sundayMorning = LocalDateTime.of(2025, 4, 6, 8, 0); // Sunday, closed
+        List<CheckoutOrder> added = new ArrayList<>();
+        // Act
+        for (int i = 0; i < 40; i++) {
+            added.add(checkoutOrderJdbcTemplateRepository.add(
+                    new CheckoutOrder(0, "SHARD" + i, 2, true, sundayMorning.plusSeconds(i))));
+        }
+        Integer shards = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM checkout_hourly_summary WHERE day_of_week = 1 AND hour = 8;
+                """, Integer.class);
+        int countAfterAdd = summaryCount("Sunday", 8);
+        for (CheckoutOrder checkoutOrder : added) {
+            checkoutOrderJdbcTemplateRepository.deleteById(checkoutOrder.getCheckoutOrderId());
+        }
+        // Assert
+        assertEquals(40, countAfterAdd);
+        assertTrue(shards > 1);
+        assertEquals(0, summaryCount("Sunday", 8));
+    }
+
+    @Test
+    void shouldRebuildHourlyCheckoutSummaryToSameCounts() {
+        // Arrange
+        List<Map<String, Object>> incremental = checkoutOrderJdbcTemplateRepository.findHourlyCheckoutSummary();
+        // Act
+        checkoutOrderJdbcTemplateRepository.rebuildHourlyCheckoutSummary();
+        // Assert
+        List<Map<String, Object>> rebuilt = checkoutOrderJdbcTemplateRepository.findHourlyCheckoutSummary();
+        assertEquals(incremental.size(), rebuilt.size());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(incremental.get(i).get("day"), rebuilt.get(i).get("day"));
+            assertEquals(((Number) incremental.get(i).get("hour")).intValue(),
+                    ((Number) rebuilt.get(i).get("hour")).intValue());
+            assertEquals(((Number) incremental.get(i).get("total_checkouts")).intValue(),
+                    ((Number) rebuilt.get(i).get("total_checkouts")).intValue());
+        }
+    }
+
     @Test
     void shouldAdd() {
         // Arrange
@@ -153,4 +391,12 @@ class CheckoutOrderJdbcTemplateRepositoryTest {
         // Assert
         assertFalse(deleted);
     }
-}
\ No newline at end of file
+
+    private int summaryCount(String day, int hour) {
+        return checkoutOrderJdbcTemplateRepository.findHourlyCheckoutSummary().stream()
+                .filter(row -> day.equals(row.get("day")) && hour == ((Number) row.get("hour")).intValue())
+                .mapToInt(row -> ((Number) row.get("total_checkouts")).intValue())
+                .findFirst()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,136 @@
+package re.api.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import re.api.models.IdempotentResponse;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IdempotencyKeyJdbcTemplateRepositoryTest {
+
+    private static final String ENDPOINT = "checkout-order";
+    private static final String HASH = "a".repeat(64);
+
+    @Autowired
+    IdempotencyKeyJdbcTemplateRepository idempotencyKeyJdbcTemplateRepository;
+
+    @Autowired
+    KnownGoodState knownGoodState;
+
+    @BeforeEach
+    void setup() {
+        knownGoodState.set();
+    }
+
+    @Test
+    void shouldClaimAndFindPendingKey() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        // Act
+        boolean claimed = idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, key, HASH, now);
+        IdempotentResponse response = idempotencyKeyJdbcTemplateRepository.findByKey(ENDPOINT, key);
+        // Assert
+        assertTrue(claimed);
+        assertNotNull(response);
+        assertTrue(response.isPending());
+        assertEquals(HASH, response.requestHash());
+        assertEquals(now, response.createdAt());
+        assertNull(response.body());
+    }
+
+    @Test
+    void shouldNotClaimTakenKey() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, key, HASH, LocalDateTime.now());
+        // Act
+        boolean claimedAgain = idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, key, HASH, LocalDateTime.now());
+        boolean claimedForOtherEndpoint = idempotencyKeyJdbcTemplateRepository.claim("purchase", key, HASH,
+                LocalDateTime.now());
+        // Assert
+        assertFalse(claimedAgain);
+        assertTrue(claimedForOtherEndpoint);
+    }
+
+    @Test
+    void shouldOnlyReclaimStalePendingKeyForSameRequest() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, key, HASH, now.minusMinutes(5));
+        // Act
+        boolean withinLease = idempotencyKeyJdbcTemplateRepository.reclaim(ENDPOINT, key, HASH, now,
+                now.minusMinutes(10));
+        boolean otherRequest = idempotencyKeyJdbcTemplateRepository.reclaim(ENDPOINT, key, "b".repeat(64), now,
+                now.minusMinutes(1));
+        boolean reclaimed = idempotencyKeyJdbcTemplateRepository.reclaim(ENDPOINT, key, HASH, now,
+                now.minusMinutes(1));
+        boolean reclaimedAgain = idempotencyKeyJdbcTemplateRepository.reclaim(ENDPOINT, key, HASH, now,
+                now.minusMinutes(1));
+        // Assert
+        assertFalse(withinLease);
+        assertFalse(otherRequest);
+        assertTrue(reclaimed);
+        assertFalse(reclaimedAgain);
+        assertEquals(now, idempotencyKeyJdbcTemplateRepository.findByKey(ENDPOINT, key).createdAt());
+    }
+
+    @Test
+    void shouldCompleteKey() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, key, HASH, LocalDateTime.now());
+        // Act
+        boolean completed = idempotencyKeyJdbcTemplateRepository.complete(ENDPOINT, key, 201, "{\"checkoutOrderId\":11}");
+        IdempotentResponse response = idempotencyKeyJdbcTemplateRepository.findByKey(ENDPOINT, key);
+        // Assert
+        assertTrue(completed);
+        assertFalse(response.isPending());
+        assertEquals(201, response.statusCode());
+        assertEquals("{\"checkoutOrderId\":11}", response.body());
+    }
+
+    @Test
+    void shouldOnlyReleasePendingKey() {
+        // Arrange
+        String pendingKey = UUID.randomUUID().toString();
+        String completedKey = UUID.randomUUID().toString();
+        idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, pendingKey, HASH, LocalDateTime.now());
+        idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, completedKey, HASH, LocalDateTime.now());
+        idempotencyKeyJdbcTemplateRepository.complete(ENDPOINT, completedKey, 400, "[\"Invalid\"]");
+        // Act
+        boolean releasedPending = idempotencyKeyJdbcTemplateRepository.release(ENDPOINT, pendingKey);
+        boolean releasedCompleted = idempotencyKeyJdbcTemplateRepository.release(ENDPOINT, completedKey);
+        // Assert
+        assertTrue(releasedPending);
+        assertNull(idempotencyKeyJdbcTemplateRepository.findByKey(ENDPOINT, pendingKey));
+        assertFalse(releasedCompleted);
+        assertNotNull(idempotencyKeyJdbcTemplateRepository.findByKey(ENDPOINT, completedKey));
+    }
+
+    @Test
+    void shouldDeleteExpiredKeys() {
+        // Arrange
+        String expiredKey = UUID.randomUUID().toString();
+        String freshKey = UUID.randomUUID().toString();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
+        idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, expiredKey, HASH, cutoff.minusMinutes(1));
+        idempotencyKeyJdbcTemplateRepository.claim(ENDPOINT, freshKey, HASH, cutoff.plusMinutes(1));
+        // Act
+        boolean deletedFresh = idempotencyKeyJdbcTemplateRepository.deleteByKeyCreatedBefore(ENDPOINT, freshKey, cutoff);
+        int deleted = idempotencyKeyJdbcTemplateRepository.deleteCreatedBefore(cutoff);
+        // Assert
+        assertFalse(deletedFresh);
+        assertTrue(deleted >= 1);
+        assertNull(idempotencyKeyJdbcTemplateRepository.findByKey(ENDPOINT, expiredKey));
+        assertNotNull(idempotencyKeyJdbcTemplateRepository.findByKey(ENDPOINT, freshKey));
+    }
+}
@@ -0,0 +1,214 @@
+package re.api.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import re.api.models.Item;
+import re.api.models.ItemStock;
+import re.api.models.StockDiscrepancy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class InventoryLedgerJdbcTemplateRepositoryTest {
+
+    private static final LocalDateTime OPENING = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    InventoryLedgerJdbcTemplateRepository inventoryLedgerJdbcTemplateRepository;
+
+    @Autowired
+    ItemJdbcTemplateRepository itemJdbcTemplateRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    KnownGoodState knownGoodState;
+
+    @BeforeEach
+    void setup() {
+        knownGoodState.set();
+    }
+
+    @Test
+    void shouldNotAddOpeningBalancesTwice() {
+        // Arrange
+        // Act
+        int opened = inventoryLedgerJdbcTemplateRepository.addOpeningBalances();
+        // Assert
+        assertEquals(0, opened);
+    }
+
+    @Test
+    void shouldFindOpeningBalanceTime() {
+        // Arrange
+        // Act
+        LocalDateTime opened = inventoryLedgerJdbcTemplateRepository.findOpeningBalanceTime();
+        // Assert
+        assertEquals(OPENING, opened);
+    }
+
+    @Test
+    void shouldRecordEveryCountChange() {
+        // Arrange
+        int before = ledgerEntries(10);
+        // Act
+        itemJdbcTemplateRepository.updateCurrentCount(10, 4);
+        itemJdbcTemplateRepository.updateCurrentCounts(Map.of(10, 2, 9999, 1));
+        itemJdbcTemplateRepository.decrementCurrentCounts(Map.of(10, 1, 11, 1_000_000));
+        itemJdbcTemplateRepository.decrementCurrentCount(10, 5);
+        // Assert
+        assertEquals(before + 4, ledgerEntries(10));
+        assertTrue(discrepancies().stream().noneMatch(discrepancy -> discrepancy.itemId() == 10));
+    }
+
+    @Test
+    void shouldRecordDifferenceOfItemEdit() {
+        // Arrange
+        Item item = itemJdbcTemplateRepository.findById(12);
+        item.setCurrentCount(item.getCurrentCount() + 7);
+        // Act
+        itemJdbcTemplateRepository.update(item);
+        // Assert
+        Integer lastChange = jdbcTemplate.queryForObject("""
+                SELECT quantity_change FROM inventory_ledger WHERE item_id = 12 ORDER BY entry_id DESC LIMIT 1;
+                """, Integer.class);
+        assertEquals(7, lastChange);
+        assertTrue(discrepancies().stream().noneMatch(discrepancy -> discrepancy.itemId() == 12));
+    }
+
+    @Test
+    void shouldNotDeadlockConcurrentItemEdits() throws Exception {
+        // Arrange
+        int original = itemJdbcTemplateRepository.findById(12).getCurrentCount();
+        List<Future<Boolean>> outcomes;
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            outcomes = executor.invokeAll(IntStream.range(0, 40)
+                    .mapToObj(i -> (Callable<Boolean>) () -> transactionTemplate.execute(status -> {
+                        Item item = itemJdbcTemplateRepository.findById(12);
+                        item.setCurrentCount(original + i);
+                        return itemJdbcTemplateRepository.update(item);
+                    }))
+                    .toList());
+        }
+        // Assert
+        for (Future<Boolean> outcome : outcomes) {
+            assertTrue(outcome.get());
+        }
+        assertTrue(discrepancies().stream().noneMatch(discrepancy -> discrepancy.itemId() == 12));
+        itemJdbcTemplateRepository.updateCurrentCount(12,
+                original - itemJdbcTemplateRepository.findById(12).getCurrentCount());
+    }
+
+    @Test
+    void shouldAttributeEntryToTransaction() {
+        // Arrange
+        TransactionTemplate named = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        named.setName("re.api.domain.InventoryLogService.add");
+        // Act
+        named.executeWithoutResult(status -> itemJdbcTemplateRepository.updateCurrentCount(13, 1));
+        // Assert
+        String source = jdbcTemplate.queryForObject("""
+                SELECT source FROM inventory_ledger WHERE item_id = 13 ORDER BY entry_id DESC LIMIT 1;
+                """, String.class);
+        assertEquals("InventoryLogService.add", source);
+    }
+
+    @Test
+    void shouldFindDiscrepancy() {
+        // Arrange
+        jdbcTemplate.update("UPDATE item SET current_count = current_count + 3 WHERE item_id = 14;");
+        // Act
+        List<StockDiscrepancy> discrepancies = discrepancies();
+        jdbcTemplate.update("UPDATE item SET current_count = current_count - 3 WHERE item_id = 14;");
+        // Assert
+        StockDiscrepancy discrepancy = discrepancies.stream()
+                .filter(d -> d.itemId() == 14)
+                .findFirst().orElseThrow();
+        assertEquals(discrepancy.ledgerCount() + 3, discrepancy.currentCount());
+    }
+
+    @Test
+    void shouldFindStockAtWithAndWithoutSnapshots() {
+        // Arrange
+        int openingCount = jdbcTemplate.queryForObject("""
+                SELECT quantity_change FROM inventory_ledger WHERE item_id = 15 ORDER BY entry_id LIMIT 1;
+                """, Integer.class);
+        itemJdbcTemplateRepository.updateCurrentCount(15, 2);
+        int currentCount = itemJdbcTemplateRepository.findById(15).getCurrentCount();
+        // Act
+        int openingFromLedger = inventoryLedgerJdbcTemplateRepository.findStockAt(15, OPENING.plusHours(12));
+        int beforeOpening = inventoryLedgerJdbcTemplateRepository.findStockAt(15, OPENING.minusDays(1));
+        inventoryLedgerJdbcTemplateRepository.addSnapshotsBefore(LocalDate.now());
+        int openingFromSnapshot = inventoryLedgerJdbcTemplateRepository.findStockAt(15, OPENING.plusDays(3));
+        int now = inventoryLedgerJdbcTemplateRepository.findStockAt(15, LocalDateTime.now().plusMinutes(1));
+        // Assert
+        assertEquals(openingCount, openingFromLedger);
+        assertEquals(0, beforeOpening);
+        assertEquals(openingCount, openingFromSnapshot);
+        assertEquals(currentCount, now);
+    }
+
+    @Test
+    void shouldFindAllStockAtWithAndWithoutSnapshots() {
+        // Arrange
+        itemJdbcTemplateRepository.updateCurrentCount(16, 3);
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        // Act
+        List<ItemStock> openingFromLedger = inventoryLedgerJdbcTemplateRepository.findAllStockAt(OPENING.plusHours(12));
+        List<ItemStock> beforeOpening = inventoryLedgerJdbcTemplateRepository.findAllStockAt(OPENING.minusDays(1));
+        inventoryLedgerJdbcTemplateRepository.addSnapshotsBefore(LocalDate.now());
+        List<ItemStock> openingFromSnapshot = inventoryLedgerJdbcTemplateRepository.findAllStockAt(OPENING.plusDays(3));
+        List<ItemStock> current = inventoryLedgerJdbcTemplateRepository.findAllStockAt(now);
+        // Assert
+        assertEquals(itemJdbcTemplateRepository.findAll().size(), current.size());
+        assertTrue(beforeOpening.stream().allMatch(stock -> stock.stock() == 0));
+        assertEquals(openingFromLedger.stream().map(ItemStock::stock).toList(),
+                openingFromSnapshot.stream().map(ItemStock::stock).toList());
+        for (ItemStock stock : current) {
+            assertEquals(now, stock.at());
+            assertEquals(inventoryLedgerJdbcTemplateRepository.findStockAt(stock.itemId(), now), stock.stock());
+        }
+        assertEquals(itemJdbcTemplateRepository.findById(16).getCurrentCount(), current.stream()
+                .filter(stock -> stock.itemId() == 16)
+                .findFirst().orElseThrow().stock());
+    }
+
+    @Test
+    void shouldNotAddSnapshotsForDaysAlreadyRolledUp() {
+        // Arrange
+        inventoryLedgerJdbcTemplateRepository.addSnapshotsBefore(LocalDate.now());
+        // Act
+        int added = inventoryLedgerJdbcTemplateRepository.addSnapshotsBefore(LocalDate.now());
+        // Assert
+        assertEquals(0, added);
+    }
+
+    private List<StockDiscrepancy> discrepancies() {
+        return inventoryLedgerJdbcTemplateRepository.findDiscrepancies();
+    }
+
+    private int ledgerEntries(int itemId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_ledger WHERE item_id = ?;",
+                Integer.class, itemId);
+    }
+}
@@ -8,6 +8,7 @@ import re.api.models.InventoryLog;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -39,7 +40,78 @@ class InventoryLogJdbcTemplateRepositoryTest {
                 || logs.size() == LOG_COUNT - 1); // If delete occurs first
     }
 
+    @Test
+    void shouldFindPage() {
+        // Arrange
+        int afterLogId = 0;
+        int limit = 2;
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findPage(afterLogId, limit);
+        // Assert
+        assertNotNull(logs);
+        assertEquals(limit, logs.size());
+        assertEquals(1, logs.getFirst().getLogId());
+        assertEquals(2, logs.getLast().getLogId());
+    }
+
+    @Test
+    void shouldNotFindPageAfterLastId() {
+        // Arrange
+        int afterLogId = 9999;
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findPage(afterLogId, 10);
+        // Assert
+        assertNotNull(logs);
+        assertTrue(logs.isEmpty());
+    }
+
+    @Test
+    void shouldStreamAll() {
+        // Arrange
+        List<InventoryLog> logs;
+        // Act
+        try (Stream<InventoryLog> stream = inventoryLogJdbcTemplateRepository.streamAll()) {
+            logs = stream.toList();
+        }
+        // Assert
+        assertEquals(inventoryLogJdbcTemplateRepository.findAll().size(), logs.size());
+        assertEquals(1, logs.getFirst().getLogId());
+    }
+
     // Log Entry for Find Tests: (2, 4, -2, 'Damaged Packaging')
+    @Test
+    void shouldFindDuplicate() {
+        // Arrange
+        InventoryLog inventoryLog = inventoryLogJdbcTemplateRepository.findById(1);
+        inventoryLog.setLogId(0);
+        // Act
+        boolean exists = inventoryLogJdbcTemplateRepository.existsDuplicate(inventoryLog);
+        // Assert
+        assertTrue(exists);
+    }
+
+    @Test
+    void shouldNotFindItselfAsDuplicate() {
+        // Arrange
+        InventoryLog inventoryLog = inventoryLogJdbcTemplateRepository.findById(1);
+        // Act
+        boolean exists = inventoryLogJdbcTemplateRepository.existsDuplicate(inventoryLog);
+        // Assert
+        assertFalse(exists);
+    }
+
+    @Test
+    void shouldNotFindDuplicateWhenFieldsDiffer() {
+        // Arrange
+        InventoryLog inventoryLog = inventoryLogJdbcTemplateRepository.findById(1);
+        inventoryLog.setLogId(0);
+        inventoryLog.setAuthorityId(3);
+        // Act
+        boolean exists = inventoryLogJdbcTemplateRepository.existsDuplicate(inventoryLog);
+        // Assert
+        assertFalse(exists);
+    }
+
     @Test
     void shouldFindById() {
         // Arrange
@@ -113,6 +185,114 @@ class InventoryLogJdbcTemplateRepositoryTest {
         assertTrue(logs.isEmpty());
     }
 
+    @Test
+    void shouldFindByIdWithItemAndAuthority() {
+        // Arrange
+        int logId = 1;
+        // Act
+        var log = inventoryLogJdbcTemplateRepository.findById(logId);
+        // Assert
+        assertNotNull(log.getItem());
+        assertEquals(4, log.getItem().getItemId());
+        assertEquals("Maggi Noodles", log.getItem().getItemName());
+        assertNotNull(log.getAuthority());
+        assertEquals(2, log.getAuthority().getAppUserId());
+        assertEquals("authority1@umbc.com", log.getAuthority().getUsername());
+        assertNull(log.getAuthority().getPassword());
+    }
+
+    @Test
+    void shouldFindByItemName() {
+        // Arrange
+        String itemName = "Maggi Noodles";
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findByItemName(itemName);
+        // Assert
+        assertEquals(2, logs.size());
+        assertTrue(logs.stream().allMatch(log -> log.getItemId() == 4));
+        assertEquals(itemName, logs.getFirst().getItem().getItemName());
+    }
+
+    @Test
+    void shouldNotFindByBadItemName() {
+        // Arrange
+        String itemName = "No Such Item";
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findByItemName(itemName);
+        // Assert
+        assertNotNull(logs);
+        assertTrue(logs.isEmpty());
+    }
+
+    @Test
+    void shouldFindByAuthorityEmail() {
+        // Arrange
+        String authorityEmail = "authority1@umbc.com";
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findByAuthorityEmail(authorityEmail);
+        // Assert
+        assertEquals(2, logs.size());
+        assertTrue(logs.stream().allMatch(log -> log.getAuthorityId() == 2));
+        assertEquals(authorityEmail, logs.getFirst().getAuthority().getUsername());
+    }
+
+    @Test
+    void shouldNotFindByBadAuthorityEmail() {
+        // Arrange
+        String authorityEmail = "nobody@umbc.com";
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findByAuthorityEmail(authorityEmail);
+        // Assert
+        assertNotNull(logs);
+        assertTrue(logs.isEmpty());
+    }
+
+    @Test
+    void shouldFindByTimeRangeAndItem() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findByTimeRange(from, null, 4, null, null, 10);
+        // Assert
+        assertEquals(2, logs.size());
+        assertTrue(logs.stream().allMatch(log -> log.getItemId() == 4));
+        assertTrue(logs.getFirst().getLogId() > logs.getLast().getLogId()); // newest first
+        assertNotNull(logs.getFirst().getItem());
+    }
+
+    @Test
+    void shouldFindByTimeRangeAndReason() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findByTimeRange(from, null, null, 2, "Damaged", 10);
+        // Assert
+        assertEquals(1, logs.size());
+        assertEquals("Damaged Packaging", logs.getFirst().getReason());
+    }
+
+    @Test
+    void shouldLimitTimeRange() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findByTimeRange(from, null, null, null, null, 1);
+        // Assert
+        assertEquals(1, logs.size());
+    }
+
+    @Test
+    void shouldNotFindOutsideTimeRange() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.now().minusDays(2);
+        LocalDateTime to = LocalDateTime.now().minusDays(1);
+        // Act
+        List<InventoryLog> logs = inventoryLogJdbcTemplateRepository.findByTimeRange(from, to, null, null, null, 10);
+        // Assert
+        assertNotNull(logs);
+        assertTrue(logs.isEmpty());
+    }
+
     @Test
     void shouldAdd() {
         // Arrange
@@ -1,13 +1,29 @@
 package re.api.data;
 
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import re.api.domain.CheckoutOrderService;
+import re.api.domain.Result;
+import re.api.models.CheckoutItem;
+import re.api.models.CheckoutOrder;
 import re.api.models.Item;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,6 +34,12 @@ class ItemJdbcTemplateRepositoryTest {
     @Autowired
     ItemJdbcTemplateRepository itemJdbcTemplateRepository;
 
+    @Autowired
+    CheckoutOrderService checkoutOrderService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @Autowired
     KnownGoodState knownGoodState;
 
@@ -38,6 +60,216 @@ class ItemJdbcTemplateRepositoryTest {
                 || items.size() == ITEM_COUNT + 1); // Tests may run out of order; if add is called, we may have one more item.
     }
 
+    @Test
+    void shouldFindAllEnabled() {
+        // Arrange
+        List<Integer> expectedIds = itemJdbcTemplateRepository.findAll().stream()
+                .filter(Item::isEnabled)
+                .map(Item::getItemId)
+                .sorted()
+                .toList();
+        // Act
+        List<Item> items = itemJdbcTemplateRepository.findAllEnabled();
+        // Assert
+        assertFalse(items.isEmpty());
+        assertEquals(expectedIds, items.stream().map(Item::getItemId).toList());
+    }
+
+    @Test
+    void shouldFindPage() {
+        // Arrange
+        int afterItemId = 10;
+        int limit = 5;
+        // Act
+        List<Item> items = itemJdbcTemplateRepository.findPage(afterItemId, limit);
+        // Assert
+        assertNotNull(items);
+        assertEquals(limit, items.size());
+        assertEquals(11, items.getFirst().getItemId());
+        assertEquals(15, items.getLast().getItemId());
+    }
+
+    @Test
+    void shouldNotFindPageAfterLastId() {
+        // Arrange
+        int afterItemId = 9999;
+        // Act
+        List<Item> items = itemJdbcTemplateRepository.findPage(afterItemId, 10);
+        // Assert
+        assertNotNull(items);
+        assertTrue(items.isEmpty());
+    }
+
+    @Test
+    void shouldStreamAll() {
+        // Arrange
+        List<Item> items;
+        // Act
+        try (Stream<Item> stream = itemJdbcTemplateRepository.streamAll()) {
+            items = stream.toList();
+        }
+        // Assert
+        assertTrue(items.size() == ITEM_COUNT
+                || items.size() == ITEM_COUNT + 1);
+        assertEquals(1, items.getFirst().getItemId());
+    }
+
+    @Test
+    void shouldFindDuplicate() {
+        // Arrange
+        Item item = itemJdbcTemplateRepository.findById(1);
+        item.setItemId(0);
+        // Act
+        boolean exists = itemJdbcTemplateRepository.existsDuplicate(item);
+        // Assert
+        assertTrue(exists);
+    }
+
+    @Test
+    void shouldNotFindItselfAsDuplicate() {
+        // Arrange
+        Item item = itemJdbcTemplateRepository.findById(1);
+        // Act
+        boolean exists = itemJdbcTemplateRepository.existsDuplicate(item);
+        // Assert
+        assertFalse(exists);
+    }
+
+    @Test
+    void shouldNotFindDuplicateWhenFieldsDiffer() {
+        // Arrange
+        Item item = itemJdbcTemplateRepository.findById(1);
+        item.setItemId(0);
+        item.setPricePerUnit(new BigDecimal("999.99"));
+        // Act
+        boolean exists = itemJdbcTemplateRepository.existsDuplicate(item);
+        // Assert
+        assertFalse(exists);
+    }
+
+    @Test
+    void shouldDecrementCurrentCount() {
+        // Arrange
+        int before = itemJdbcTemplateRepository.findById(2).getCurrentCount();
+        // Act
+        boolean decremented = itemJdbcTemplateRepository.decrementCurrentCount(2, 1);
+        // Assert
+        assertTrue(decremented);
+        assertEquals(before - 1, itemJdbcTemplateRepository.findById(2).getCurrentCount());
+        itemJdbcTemplateRepository.updateCurrentCount(2, 1);
+    }
+
+    @Test
+    void shouldNotDecrementBelowZero() {
+        // Arrange
+        int before = itemJdbcTemplateRepository.findById(2).getCurrentCount();
+        // Act
+        boolean decremented = itemJdbcTemplateRepository.decrementCurrentCount(2, before + 1);
+        // Assert
+        assertFalse(decremented);
+        assertEquals(before, itemJdbcTemplateRepository.findById(2).getCurrentCount());
+    }
+
+    @Test
+    void shouldUpdateCurrentCounts() {
+        // Arrange
+        int before4 = itemJdbcTemplateRepository.findById(4).getCurrentCount();
+        int before5 = itemJdbcTemplateRepository.findById(5).getCurrentCount();
+        // Act
+        boolean updated = itemJdbcTemplateRepository.updateCurrentCounts(Map.of(4, 3, 5, -2));
+        // Assert
+        assertTrue(updated);
+        assertEquals(before4 + 3, itemJdbcTemplateRepository.findById(4).getCurrentCount());
+        assertEquals(before5 - 2, itemJdbcTemplateRepository.findById(5).getCurrentCount());
+        itemJdbcTemplateRepository.updateCurrentCounts(Map.of(4, -3, 5, 2));
+    }
+
+    @Test
+    void shouldNotUpdateCurrentCountsForMissingItem() {
+        // Arrange
+        // Act
+        boolean updated = itemJdbcTemplateRepository.updateCurrentCounts(Map.of(9999, 1));
+        // Assert
+        assertFalse(updated);
+    }
+
+    @Test
+    void shouldReportInsufficientItemsWhenDecrementingCurrentCounts() {
+        // Arrange
+        int before4 = itemJdbcTemplateRepository.findById(4).getCurrentCount();
+        int before5 = itemJdbcTemplateRepository.findById(5).getCurrentCount();
+        // Act
+        List<Integer> insufficientItemIds = itemJdbcTemplateRepository.decrementCurrentCounts(
+                Map.of(4, 1, 5, before5 + 1));
+        // Assert
+        assertEquals(List.of(5), insufficientItemIds);
+        assertEquals(before4 - 1, itemJdbcTemplateRepository.findById(4).getCurrentCount());
+        assertEquals(before5, itemJdbcTemplateRepository.findById(5).getCurrentCount());
+        itemJdbcTemplateRepository.updateCurrentCount(4, 1);
+    }
+
+    // Connector/J only rewrites batches of more than three statements, so use four items.
+    @Test
+    void shouldUpdateAndDecrementCurrentCountsInRewrittenBatch() {
+        // Arrange
+        Map<Integer, Integer> before = new HashMap<>();
+        for (int itemId : List.of(6, 7, 8, 9)) {
+            before.put(itemId, itemJdbcTemplateRepository.findById(itemId).getCurrentCount());
+        }
+        // Act
+        boolean updated = itemJdbcTemplateRepository.updateCurrentCounts(Map.of(6, 1, 7, 1, 8, 1, 9, 1));
+        List<Integer> insufficientItemIds = itemJdbcTemplateRepository.decrementCurrentCounts(
+                Map.of(6, 1, 7, 1, 8, 1, 9, before.get(9) + 2));
+        // Assert
+        assertTrue(updated);
+        assertEquals(List.of(9), insufficientItemIds);
+        assertEquals(before.get(6), itemJdbcTemplateRepository.findById(6).getCurrentCount());
+        assertEquals(before.get(8), itemJdbcTemplateRepository.findById(8).getCurrentCount());
+        assertEquals(before.get(9) + 1, itemJdbcTemplateRepository.findById(9).getCurrentCount());
+        itemJdbcTemplateRepository.updateCurrentCount(9, -1);
+    }
+
+    // Through CheckoutOrderService.add, so every checkout takes the batched decrementCurrentCounts path
+    // inside its own transaction, the way kiosks hit it.
+    @Test
+    void shouldNotOversellUnderConcurrentDecrements() throws Exception {
+        // Arrange
+        int itemId = 11;
+        int stock = itemJdbcTemplateRepository.findById(itemId).getCurrentCount();
+        int attempts = stock + 100;
+        LocalDateTime checkoutDate = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Future<Result<CheckoutOrder>>> outcomes;
+        // Act
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            outcomes = executor.invokeAll(IntStream.range(0, attempts)
+                    .mapToObj(i -> (Callable<Result<CheckoutOrder>>) () -> {
+                        CheckoutOrder order = new CheckoutOrder(0, "OS" + i, 2, true, checkoutDate);
+                        order.setCheckoutItems(List.of(new CheckoutItem(0, 0, itemId, 1)));
+                        return checkoutOrderService.add(order);
+                    })
+                    .toList());
+        }
+        long elapsed = System.nanoTime() - started;
+        List<Integer> succeeded = new ArrayList<>();
+        for (Future<Result<CheckoutOrder>> outcome : outcomes) {
+            if (outcome.get().isSuccess()) {
+                succeeded.add(outcome.get().getPayload().getCheckoutOrderId());
+            }
+        }
+        System.out.printf("[concurrency] %d checkouts of one item on 16 threads in %.0f ms (%.0f checkouts/s)%n",
+                attempts, elapsed / 1e6, attempts / (elapsed / 1e9));
+        int remaining = itemJdbcTemplateRepository.findById(itemId).getCurrentCount();
+        succeeded.forEach(checkoutOrderService::deleteById);
+        // Other tests expect the next ids after the known good state.
+        jdbcTemplate.execute("ALTER TABLE checkout_item AUTO_INCREMENT = 1");
+        jdbcTemplate.execute("ALTER TABLE checkout_order AUTO_INCREMENT = 1");
+        // Assert
+        assertEquals(stock, succeeded.size());
+        assertEquals(0, remaining);
+        assertEquals(stock, itemJdbcTemplateRepository.findById(itemId).getCurrentCount());
+    }
+
     @Test
     void shouldFindById() {
         // Arrange
@@ -61,6 +293,29 @@ class ItemJdbcTemplateRepositoryTest {
         assertNull(item);
     }
 
+    @Test
+    void shouldFindByIds() {
+        // Arrange
+        List<Integer> itemIds = List.of(1, 2, 9999);
+        // Act
+        List<Item> items = itemJdbcTemplateRepository.findByIds(itemIds);
+        // Assert
+        assertNotNull(items);
+        assertEquals(2, items.size());
+        assertTrue(items.stream().anyMatch(i -> i.getItemName().equals("Sona Masoori Rice")));
+        assertTrue(items.stream().anyMatch(i -> i.getItemName().equals("Toor Dahl (Red Lentils)")));
+    }
+
+    @Test
+    void shouldNotFindByEmptyIds() {
+        // Arrange
+        // Act
+        List<Item> items = itemJdbcTemplateRepository.findByIds(List.of());
+        // Assert
+        assertNotNull(items);
+        assertTrue(items.isEmpty());
+    }
+
     @Test
     void shouldFindByName() {
         // Arrange
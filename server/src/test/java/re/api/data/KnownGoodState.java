@@ -11,7 +11,7 @@ public class KnownGoodState {
     @Autowired
     JdbcTemplate jdbcTemplate;
 
-    void set() {
+    public void set() {
         if (!hasRun) {
             hasRun = true;
             jdbcTemplate.update("call set_known_good_state()");
@@ -26,6 +26,39 @@ class PurchaseItemJdbcTemplateRepositoryTest {
     }
 
     //  (1, 1, 10)
+    @Test
+    void shouldFindDuplicate() {
+        // Arrange
+        PurchaseItem purchaseItem = purchaseItemJdbcTemplateRepository.findById(1);
+        purchaseItem.setPurchaseItemId(0);
+        // Act
+        boolean exists = purchaseItemJdbcTemplateRepository.existsDuplicate(purchaseItem);
+        // Assert
+        assertTrue(exists);
+    }
+
+    @Test
+    void shouldNotFindItselfAsDuplicate() {
+        // Arrange
+        PurchaseItem purchaseItem = purchaseItemJdbcTemplateRepository.findById(1);
+        // Act
+        boolean exists = purchaseItemJdbcTemplateRepository.existsDuplicate(purchaseItem);
+        // Assert
+        assertFalse(exists);
+    }
+
+    @Test
+    void shouldNotFindDuplicateWhenFieldsDiffer() {
+        // Arrange
+        PurchaseItem purchaseItem = purchaseItemJdbcTemplateRepository.findById(1);
+        purchaseItem.setPurchaseItemId(0);
+        purchaseItem.setItemId(39);
+        // Act
+        boolean exists = purchaseItemJdbcTemplateRepository.existsDuplicate(purchaseItem);
+        // Assert
+        assertFalse(exists);
+    }
+
     @Test
     void shouldFindById() {
         // Arrange
@@ -93,6 +126,23 @@ class PurchaseItemJdbcTemplateRepositoryTest {
         assertEquals(PURCHASE_ITEM_COUNT + 1, addedPurchaseItem.getPurchaseItemId());
     }
 
+    @Test
+    void shouldAddAll() {
+        // Arrange
+        int purchaseOrderId = 2;
+        List<PurchaseItem> purchaseItems = List.of(
+                new PurchaseItem(0, purchaseOrderId, 30, 5),
+                new PurchaseItem(0, purchaseOrderId, 31, 6));
+        // Act
+        List<PurchaseItem> addedPurchaseItems = purchaseItemJdbcTemplateRepository.addAll(purchaseItems);
+        // Assert
+        assertEquals(2, addedPurchaseItems.size());
+        assertTrue(addedPurchaseItems.getFirst().getPurchaseItemId() > PURCHASE_ITEM_COUNT);
+        assertEquals(addedPurchaseItems.getFirst().getPurchaseItemId() + 1, addedPurchaseItems.getLast().getPurchaseItemId());
+        assertEquals(6, purchaseItemJdbcTemplateRepository
+                .findById(addedPurchaseItems.getLast().getPurchaseItemId()).getQuantity());
+    }
+
     @Test
     void shouldUpdate() {
         // Arrange
@@ -9,6 +9,7 @@ import re.api.models.PurchaseOrder;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,6 +42,77 @@ class PurchaseOrderJdbcTemplateRepositoryTest {
     }
 
     // (1, 1)
+    @Test
+    void shouldFindPage() {
+        // Arrange
+        int afterPurchaseId = 0;
+        int limit = 2;
+        // Act
+        List<PurchaseOrder> purchaseOrders = purchaseOrderJdbcTemplateRepository.findPage(afterPurchaseId, limit);
+        // Assert
+        assertNotNull(purchaseOrders);
+        assertEquals(limit, purchaseOrders.size());
+        assertEquals(1, purchaseOrders.getFirst().getPurchaseId());
+        assertEquals(2, purchaseOrders.getLast().getPurchaseId());
+    }
+
+    @Test
+    void shouldNotFindPageAfterLastId() {
+        // Arrange
+        int afterPurchaseId = 9999;
+        // Act
+        List<PurchaseOrder> purchaseOrders = purchaseOrderJdbcTemplateRepository.findPage(afterPurchaseId, 10);
+        // Assert
+        assertNotNull(purchaseOrders);
+        assertTrue(purchaseOrders.isEmpty());
+    }
+
+    @Test
+    void shouldStreamAll() {
+        // Arrange
+        List<PurchaseOrder> purchaseOrders;
+        // Act
+        try (Stream<PurchaseOrder> stream = purchaseOrderJdbcTemplateRepository.streamAll()) {
+            purchaseOrders = stream.toList();
+        }
+        // Assert
+        assertEquals(purchaseOrderJdbcTemplateRepository.findAll().size(), purchaseOrders.size());
+        assertEquals(1, purchaseOrders.getFirst().getPurchaseId());
+    }
+
+    @Test
+    void shouldFindDuplicate() {
+        // Arrange
+        PurchaseOrder purchaseOrder = purchaseOrderJdbcTemplateRepository.findById(1);
+        purchaseOrder.setPurchaseId(0);
+        // Act
+        boolean exists = purchaseOrderJdbcTemplateRepository.existsDuplicate(purchaseOrder);
+        // Assert
+        assertTrue(exists);
+    }
+
+    @Test
+    void shouldNotFindItselfAsDuplicate() {
+        // Arrange
+        PurchaseOrder purchaseOrder = purchaseOrderJdbcTemplateRepository.findById(1);
+        // Act
+        boolean exists = purchaseOrderJdbcTemplateRepository.existsDuplicate(purchaseOrder);
+        // Assert
+        assertFalse(exists);
+    }
+
+    @Test
+    void shouldNotFindDuplicateWhenFieldsDiffer() {
+        // Arrange
+        PurchaseOrder purchaseOrder = purchaseOrderJdbcTemplateRepository.findById(1);
+        purchaseOrder.setPurchaseId(0);
+        purchaseOrder.setAdminId(2);
+        // Act
+        boolean exists = purchaseOrderJdbcTemplateRepository.existsDuplicate(purchaseOrder);
+        // Assert
+        assertFalse(exists);
+    }
+
     @Test
     void shouldFindById() {
         // Arrange
@@ -54,6 +126,28 @@ class PurchaseOrderJdbcTemplateRepositoryTest {
         assertEquals(1, purchaseOrder.getVendorId());
     }
 
+    @Test
+    void shouldFindByAdminIdAndDateRange() {
+        // Arrange
+        LocalDateTime purchaseDate = LocalDateTime.of(2025, 3, 18, 12, 15);
+        // Act
+        List<PurchaseOrder> purchaseOrders = purchaseOrderJdbcTemplateRepository
+                .findByAdminIdAndDateRange(1, purchaseDate, purchaseDate);
+        // Assert
+        assertEquals(1, purchaseOrders.size());
+        assertEquals(1, purchaseOrders.getFirst().getPurchaseId());
+    }
+
+    @Test
+    void shouldNotFindByAdminIdOutsideDateRange() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0);
+        // Act
+        List<PurchaseOrder> purchaseOrders = purchaseOrderJdbcTemplateRepository.findByAdminIdAndDateRange(1, from, from.plusDays(1));
+        // Assert
+        assertTrue(purchaseOrders.isEmpty());
+    }
+
     @Test
     void shouldNotFindByBadId() {
         // Arrange
@@ -80,6 +174,26 @@ class PurchaseOrderJdbcTemplateRepositoryTest {
         assertEquals(PURCHASE_ORDER_COUNT + 1, purchaseOrder.getPurchaseId());
     }
 
+    @Test
+    void shouldAddAll() {
+        // Arrange
+        List<PurchaseOrder> purchaseOrders = List.of(
+                new PurchaseOrder(0, 1, 1, LocalDateTime.now().minusDays(5)),
+                new PurchaseOrder(0, 1, 2, LocalDateTime.now().minusDays(5)),
+                new PurchaseOrder(0, 1, 2, LocalDateTime.now().minusDays(4)));
+        // Act
+        List<PurchaseOrder> addedPurchaseOrders = purchaseOrderJdbcTemplateRepository.addAll(purchaseOrders);
+        // Assert
+        assertEquals(3, addedPurchaseOrders.size());
+        assertTrue(addedPurchaseOrders.getFirst().getPurchaseId() > PURCHASE_ORDER_COUNT);
+        assertEquals(addedPurchaseOrders.getFirst().getPurchaseId() + 2, addedPurchaseOrders.getLast().getPurchaseId());
+        assertEquals(2, purchaseOrderJdbcTemplateRepository
+                .findById(addedPurchaseOrders.getLast().getPurchaseId()).getVendorId());
+        // Leave the row count where shouldFindAll and shouldDeleteById expect it
+        addedPurchaseOrders.forEach(purchaseOrder ->
+                assertTrue(purchaseOrderJdbcTemplateRepository.deleteById(purchaseOrder.getPurchaseId())));
+    }
+
     // (1, 1)
     @Test
     void shouldUpdate() {
@@ -0,0 +1,25 @@
+package re.api.data;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Test helper for catching N+1 regressions: runs the call and fails if it executed more JDBC
+// statements than allowed. Only meaningful against real repositories, not @MockitoBean ones.
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertMaxStatements(int maxStatements, Supplier<T> call) {
+        T result;
+        int count;
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            result = call.get();
+            count = scope.count();
+        }
+        assertTrue(count <= maxStatements,
+                "expected at most %d JDBC statements but %d were executed".formatted(maxStatements, count));
+        return result;
+    }
+}
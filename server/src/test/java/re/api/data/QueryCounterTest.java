@@ -0,0 +1,88 @@
+package re.api.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class QueryCounterTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    KnownGoodState knownGoodState;
+
+    @BeforeEach
+    void setup() {
+        knownGoodState.set();
+    }
+
+    @Test
+    void shouldCountStatementsInScope() {
+        // Arrange
+        // Act
+        int count;
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vendor;", Integer.class);
+            jdbcTemplate.queryForList("SELECT vendor_id FROM vendor WHERE vendor_id = ?;", 1);
+            count = scope.count();
+        }
+        // Assert
+        assertEquals(2, count);
+    }
+
+    @Test
+    void shouldCountBatchOnce() {
+        // Arrange
+        List<Object[]> args = List.of(new Object[]{1}, new Object[]{2}, new Object[]{3}, new Object[]{4});
+        // Act
+        int count;
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            jdbcTemplate.batchUpdate("UPDATE item SET current_count = current_count WHERE item_id = ?", args);
+            count = scope.count();
+        }
+        // Assert
+        assertEquals(1, count);
+    }
+
+    @Test
+    void shouldAddNestedScopeToEnclosingScope() {
+        // Arrange
+        // Act
+        int inner;
+        int outer;
+        try (QueryCounter.Scope outerScope = QueryCounter.open()) {
+            jdbcTemplate.queryForObject("SELECT 1;", Integer.class);
+            try (QueryCounter.Scope innerScope = QueryCounter.open()) {
+                jdbcTemplate.queryForObject("SELECT 1;", Integer.class);
+                inner = innerScope.count();
+            }
+            outer = outerScope.count();
+        }
+        // Assert
+        assertEquals(1, inner);
+        assertEquals(2, outer);
+    }
+
+    @Test
+    void shouldNotCountOtherThreads() throws Exception {
+        // Arrange
+        // Act
+        int count;
+        try (QueryCounter.Scope scope = QueryCounter.open();
+             var executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> jdbcTemplate.queryForObject("SELECT 1;", Integer.class)).get();
+            count = scope.count();
+        }
+        // Assert
+        assertEquals(0, count);
+    }
+}
@@ -0,0 +1,102 @@
+package re.api.data;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import re.api.models.Item;
+import re.api.models.Vendor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RepositoryMetricsPostProcessorTest {
+
+    @Autowired
+    VendorJdbcTemplateRepository vendorJdbcTemplateRepository;
+
+    @Autowired
+    ItemJdbcTemplateRepository itemJdbcTemplateRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    KnownGoodState knownGoodState;
+
+    @BeforeEach
+    void setup() {
+        knownGoodState.set();
+    }
+
+    @Test
+    void shouldTimeQueryAndRecordRows() {
+        // Arrange
+        long queriesBefore = timerCount("VendorJdbcTemplateRepository", "findAll", "SUCCESS");
+        double rowsBefore = rowsTotal("VendorJdbcTemplateRepository", "findAll");
+        // Act
+        List<Vendor> vendors = vendorJdbcTemplateRepository.findAll();
+        // Assert
+        assertEquals(queriesBefore + 1, timerCount("VendorJdbcTemplateRepository", "findAll", "SUCCESS"));
+        assertEquals(rowsBefore + vendors.size(), rowsTotal("VendorJdbcTemplateRepository", "findAll"));
+    }
+
+    @Test
+    void shouldRecordSingleRowFinder() {
+        // Arrange
+        long summariesBefore = rowsCount("VendorJdbcTemplateRepository", "findById");
+        // Act
+        vendorJdbcTemplateRepository.findById(9999);
+        // Assert
+        assertEquals(summariesBefore + 1, rowsCount("VendorJdbcTemplateRepository", "findById"));
+    }
+
+    @Test
+    void shouldRecordStreamWhenClosed() {
+        // Arrange
+        long queriesBefore = timerCount("ItemJdbcTemplateRepository", "streamAll", "SUCCESS");
+        // Act
+        long streamed;
+        try (Stream<Item> items = itemJdbcTemplateRepository.streamAll()) {
+            streamed = items.count();
+            assertEquals(queriesBefore, timerCount("ItemJdbcTemplateRepository", "streamAll", "SUCCESS"));
+        }
+        // Assert
+        assertEquals(queriesBefore + 1, timerCount("ItemJdbcTemplateRepository", "streamAll", "SUCCESS"));
+        assertTrue(streamed > 0);
+    }
+
+    @Test
+    void shouldTagFailedQueries() {
+        // Arrange
+        long errorsBefore = timerCount("ItemJdbcTemplateRepository", "findPage", "ERROR");
+        // Act
+        assertThrows(DataAccessException.class, () -> itemJdbcTemplateRepository.findPage(0, -1));
+        // Assert
+        assertEquals(errorsBefore + 1, timerCount("ItemJdbcTemplateRepository", "findPage", "ERROR"));
+    }
+
+    private long timerCount(String repository, String method, String outcome) {
+        return Search.in(meterRegistry).name(RepositoryMetricsPostProcessor.QUERY_TIMER)
+                .tag("repository", repository).tag("method", method).tag("outcome", outcome)
+                .timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+
+    private long rowsCount(String repository, String method) {
+        return Search.in(meterRegistry).name(RepositoryMetricsPostProcessor.ROWS_SUMMARY)
+                .tag("repository", repository).tag("method", method)
+                .summaries().stream().mapToLong(summary -> summary.count()).sum();
+    }
+
+    private double rowsTotal(String repository, String method) {
+        return Search.in(meterRegistry).name(RepositoryMetricsPostProcessor.ROWS_SUMMARY)
+                .tag("repository", repository).tag("method", method)
+                .summaries().stream().mapToDouble(summary -> summary.totalAmount()).sum();
+    }
+}
@@ -37,6 +37,39 @@ class VendorJdbcTemplateRepositoryTest {
                 || vendors.size() == VENDOR_COUNT + 1);
     }
 
+    @Test
+    void shouldFindDuplicate() {
+        // Arrange
+        Vendor vendor = vendorJdbcTemplateRepository.findById(1);
+        vendor.setVendorId(0);
+        // Act
+        boolean exists = vendorJdbcTemplateRepository.existsDuplicate(vendor);
+        // Assert
+        assertTrue(exists);
+    }
+
+    @Test
+    void shouldNotFindItselfAsDuplicate() {
+        // Arrange
+        Vendor vendor = vendorJdbcTemplateRepository.findById(1);
+        // Act
+        boolean exists = vendorJdbcTemplateRepository.existsDuplicate(vendor);
+        // Assert
+        assertFalse(exists);
+    }
+
+    @Test
+    void shouldNotFindDuplicateWhenFieldsDiffer() {
+        // Arrange
+        Vendor vendor = vendorJdbcTemplateRepository.findById(1);
+        vendor.setVendorId(0);
+        vendor.setPhoneNumber("000-000-0000");
+        // Act
+        boolean exists = vendorJdbcTemplateRepository.existsDuplicate(vendor);
+        // Assert
+        assertFalse(exists);
+    }
+
     @Test
     void shouldFindById() {
         // Arrange
@@ -62,9 +62,9 @@ class CheckoutItemServiceTest {
         // Given
         Map<String, Object> mockItemStat = Map.of("item_id", 1, "count", 20);
         // When
-        when(checkoutItemRepository.findPopularItems()).thenReturn(List.of(mockItemStat));
+        when(checkoutItemRepository.findPopularItems(null)).thenReturn(List.of(mockItemStat));
         // Then
-        List<Map<String, Object>> result = checkoutItemService.findPopularItems();
+        List<Map<String, Object>> result = checkoutItemService.findPopularItems(null);
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(1, result.getFirst().get("item_id"));
@@ -76,9 +76,9 @@ class CheckoutItemServiceTest {
         // Given
         Map<String, Object> mockCategoryStat = Map.of("category", "Grains", "count", 40);
         // When
-        when(checkoutItemRepository.findPopularCategories()).thenReturn(List.of(mockCategoryStat));
+        when(checkoutItemRepository.findPopularCategories(null)).thenReturn(List.of(mockCategoryStat));
         // Then
-        List<Map<String, Object>> result = checkoutItemService.findPopularCategories();
+        List<Map<String, Object>> result = checkoutItemService.findPopularCategories(null);
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Grains", result.getFirst().get("category"));
@@ -232,11 +232,10 @@ class CheckoutItemServiceTest {
     void shouldNotUpdateWhenDuplicateCheckoutItemExists() {
         // Given
         CheckoutItem input = new CheckoutItem(1, 1, 1, 2);
-        CheckoutItem duplicate = new CheckoutItem(99, 1, 1, 2); // same order and item ID, different ID
         // When
         when(checkoutOrderRepository.findById(1)).thenReturn(new CheckoutOrder());
         when(itemRepository.findById(1)).thenReturn(new Item(1, "Item", "", "", "", "", 10, 2, BigDecimal.ONE, true));
-        when(checkoutItemRepository.findByCheckoutOrderId(1)).thenReturn(List.of(duplicate));
+        when(checkoutItemRepository.existsDuplicate(input)).thenReturn(true); // same order and item under another ID
         when(checkoutItemRepository.findById(1)).thenReturn(input);
         // Then
         Result<CheckoutItem> result = checkoutItemService.update(input);
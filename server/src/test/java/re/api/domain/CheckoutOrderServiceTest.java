@@ -1,6 +1,8 @@
 package re.api.domain;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -12,13 +14,19 @@ import re.api.models.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +45,14 @@ class CheckoutOrderServiceTest {
     @Autowired
     private CheckoutOrderService checkoutOrderService;
 
+    @Autowired
+    private CheckoutQuotaTracker quotaTracker;
+
+    @BeforeEach
+    void setup() {
+        quotaTracker.clear();
+    }
+
     @Test
     void shouldFindAll() {
         // Given
@@ -45,33 +61,178 @@ class CheckoutOrderServiceTest {
         AppUser admin = makeAdmin();
         // When
         when(checkoutOrderRepository.findAll()).thenReturn(orders);
-        when(checkoutItemRepository.findByCheckoutOrderId(anyInt()))
-                .thenAnswer(invocation -> {
-                    int orderId = invocation.getArgument(0);
-                    return orders.stream()
-                            .filter(o -> o.getCheckoutOrderId() == orderId)
-                            .findFirst()
-                            .map(CheckoutOrder::getCheckoutItems)
-                            .orElse(List.of());
-                });
-        when(itemRepository.findById(anyInt()))
-                .thenAnswer(invocation -> {
-                    int itemId = invocation.getArgument(0);
-                    return makeItems().stream()
-                            .filter(i -> i.getItemId() == itemId)
-                            .findFirst()
-                            .orElse(null);
-                });
-        when(appUserRepository.findById(1)).thenReturn(admin);
+        when(checkoutItemRepository.findByCheckoutOrderIds(anyCollection()))
+                .thenReturn(orders.stream()
+                        .flatMap(o -> o.getCheckoutItems().stream())
+                        .toList());
+        when(itemRepository.findByIds(anyCollection())).thenReturn(items);
+        when(appUserRepository.findByIds(anyCollection())).thenReturn(List.of(admin));
         // Then
         List<CheckoutOrder> result = checkoutOrderService.findAll();
         assertNotNull(result);
         assertEquals(3, result.size());
         assertEquals("A123456789", result.getFirst().getStudentId());
+        assertEquals(2, result.getFirst().getCheckoutItems().size());
         assertEquals("Rice", result.getFirst().getCheckoutItems().getFirst().getItem().getItemName());
+        assertEquals("Beans", result.get(2).getCheckoutItems().getFirst().getItem().getItemName());
         assertEquals("admin@school.edu", result.getFirst().getAuthority().getUsername());
     }
 
+    @Test
+    void shouldFindAllWithConstantNumberOfQueries() {
+        // Given
+        List<CheckoutOrder> orders = new ArrayList<>();
+        List<CheckoutItem> checkoutItems = new ArrayList<>();
+        for (int orderId = 1; orderId <= 500; orderId++) {
+            orders.add(new CheckoutOrder(orderId, "S" + orderId, 1, false, LocalDateTime.now()));
+            checkoutItems.add(new CheckoutItem(orderId * 2 - 1, orderId, 1, 1));
+            checkoutItems.add(new CheckoutItem(orderId * 2, orderId, 2, 1));
+        }
+        // When
+        when(checkoutOrderRepository.findAll()).thenReturn(orders);
+        when(checkoutItemRepository.findByCheckoutOrderIds(anyCollection())).thenReturn(checkoutItems);
+        when(itemRepository.findByIds(anyCollection())).thenReturn(makeItems());
+        when(appUserRepository.findByIds(anyCollection())).thenReturn(List.of(makeAdmin()));
+        List<CheckoutOrder> result = checkoutOrderService.findAll();
+        // Then
+        assertEquals(500, result.size());
+        assertTrue(result.stream().allMatch(o -> o.getCheckoutItems().size() == 2
+                && o.getCheckoutItems().stream().allMatch(ci -> ci.getItem() != null)
+                && o.getAuthority() != null));
+        verify(checkoutItemRepository, times(1)).findByCheckoutOrderIds(anyCollection());
+        verify(itemRepository, times(1)).findByIds(anyCollection());
+        verify(appUserRepository, times(1)).findByIds(anyCollection());
+        verify(checkoutItemRepository, never()).findByCheckoutOrderId(anyInt());
+        verify(itemRepository, never()).findById(anyInt());
+        verify(appUserRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void shouldFindAllInChunksOfBoundedIdLists() {
+        // Given
+        List<CheckoutOrder> orders = new ArrayList<>();
+        for (int orderId = 1; orderId <= 1200; orderId++) {
+            orders.add(new CheckoutOrder(orderId, "S" + orderId, 1, false, LocalDateTime.now()));
+        }
+        // When
+        when(checkoutOrderRepository.findAll()).thenReturn(orders);
+        when(checkoutItemRepository.findByCheckoutOrderIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> orderIds = invocation.getArgument(0);
+            return orderIds.stream().map(orderId -> new CheckoutItem(orderId, orderId, 1, 1)).toList();
+        });
+        when(itemRepository.findByIds(anyCollection())).thenReturn(makeItems());
+        when(appUserRepository.findByIds(anyCollection())).thenReturn(List.of(makeAdmin()));
+        List<CheckoutOrder> result = checkoutOrderService.findAll();
+        // Then
+        assertEquals(1200, result.size());
+        assertTrue(result.stream().allMatch(o -> o.getCheckoutItems().size() == 1 && o.getAuthority() != null));
+        ArgumentCaptor<Collection<Integer>> orderIds = ArgumentCaptor.captor();
+        verify(checkoutItemRepository, times(3)).findByCheckoutOrderIds(orderIds.capture());
+        assertTrue(orderIds.getAllValues().stream().allMatch(ids -> ids.size() <= Paging.STREAM_CHUNK_SIZE));
+        verify(itemRepository, times(3)).findByIds(anyCollection());
+        verify(appUserRepository, times(3)).findByIds(anyCollection());
+    }
+
+    @Test
+    void shouldFindPage() {
+        // Given
+        List<CheckoutOrder> orders = makeCheckoutOrders();
+        List<CheckoutItem> checkoutItems = orders.stream()
+                .flatMap(order -> order.getCheckoutItems().stream())
+                .toList();
+        // When
+        when(checkoutOrderRepository.findPage(0, 2)).thenReturn(orders);
+        when(checkoutItemRepository.findByCheckoutOrderIds(anyCollection())).thenReturn(checkoutItems);
+        when(itemRepository.findByIds(anyCollection())).thenReturn(makeItems());
+        when(appUserRepository.findByIds(anyCollection())).thenReturn(List.of(makeAdmin()));
+        List<CheckoutOrder> result = checkoutOrderService.findPage(0, 2);
+        // Then
+        assertEquals(orders.size(), result.size());
+        assertNotNull(result.getFirst().getAuthority());
+        verify(checkoutItemRepository, times(1)).findByCheckoutOrderIds(anyCollection());
+    }
+
+    @Test
+    void shouldClampPageLimit() {
+        // Given
+        // When
+        when(checkoutOrderRepository.findPage(anyInt(), anyInt())).thenReturn(List.of());
+        checkoutOrderService.findPage(0, 100_000);
+        // Then
+        verify(checkoutOrderRepository).findPage(eq(0), eq(Paging.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void shouldFindByStudentId() {
+        // Given
+        CheckoutOrder order = makeCheckoutOrders().getFirst();
+        // When
+        when(checkoutOrderRepository.findByStudentIdAndDateRange("A123456789", null, null, 0, 20))
+                .thenReturn(List.of(order));
+        when(checkoutItemRepository.findByCheckoutOrderIds(anyCollection())).thenReturn(order.getCheckoutItems());
+        when(itemRepository.findByIds(anyCollection())).thenReturn(makeItems());
+        when(appUserRepository.findByIds(anyCollection())).thenReturn(List.of(makeAdmin()));
+        List<CheckoutOrder> result = checkoutOrderService.findByStudentId("A123456789", null, null, 0, 20);
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Rice", result.getFirst().getCheckoutItems().getFirst().getItem().getItemName());
+        verify(checkoutItemRepository, times(1)).findByCheckoutOrderIds(anyCollection());
+        verify(checkoutItemRepository, never()).findByCheckoutOrderId(anyInt());
+    }
+
+    @Test
+    void shouldNotEnrichWhenStudentHasNoOrders() {
+        // Given
+        // When
+        when(checkoutOrderRepository.findByStudentIdAndDateRange(any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+        List<CheckoutOrder> result = checkoutOrderService.findByStudentId("Z000000000", null, null, 0, 100_000);
+        // Then
+        assertTrue(result.isEmpty());
+        verify(checkoutOrderRepository).findByStudentIdAndDateRange("Z000000000", null, null, 0, Paging.MAX_PAGE_SIZE);
+        verify(checkoutItemRepository, never()).findByCheckoutOrderIds(anyCollection());
+    }
+
+    @Test
+    void shouldStreamAllInChunks() {
+        // Given
+        int orderCount = Paging.STREAM_CHUNK_SIZE * 2 + 1;
+        List<CheckoutOrder> orders = new ArrayList<>();
+        for (int orderId = 1; orderId <= orderCount; orderId++) {
+            orders.add(new CheckoutOrder(orderId, "S" + orderId, 1, false, LocalDateTime.now()));
+        }
+        List<CheckoutOrder> streamed = new ArrayList<>();
+        // When
+        when(checkoutOrderRepository.streamAll()).thenReturn(orders.stream());
+        when(checkoutItemRepository.findByCheckoutOrderIds(anyCollection())).thenReturn(List.of());
+        when(itemRepository.findByIds(anyCollection())).thenReturn(List.of());
+        when(appUserRepository.findByIds(anyCollection())).thenReturn(List.of(makeAdmin()));
+        checkoutOrderService.streamAll(streamed::add);
+        // Then
+        assertEquals(orderCount, streamed.size());
+        assertTrue(streamed.stream().allMatch(o -> o.getAuthority() != null));
+        verify(checkoutItemRepository, times(3)).findByCheckoutOrderIds(anyCollection());
+        verify(checkoutOrderRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldExportHistoryWithoutLoadingOrders() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 4, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 5, 1, 0, 0);
+        List<CheckoutHistoryLine> lines = List.of(
+                new CheckoutHistoryLine(1, from, "S1", 1, false, 1, "Rice", "Staple", 2, BigDecimal.ONE),
+                new CheckoutHistoryLine(1, from, "S1", 1, false, 2, "Beans", "Staple", 1, BigDecimal.ZERO));
+        List<CheckoutHistoryLine> exported = new ArrayList<>();
+        // When
+        when(checkoutOrderRepository.streamHistory(from, to)).thenReturn(lines.stream());
+        checkoutOrderService.exportHistory(from, to, exported::add);
+        // Then
+        assertEquals(lines, exported);
+        verify(checkoutItemRepository, never()).findByCheckoutOrderIds(anyCollection());
+        verify(checkoutOrderRepository, never()).streamAll();
+    }
+
     @Test
     void shouldFindById() {
         // Given
@@ -145,15 +306,42 @@ class CheckoutOrderServiceTest {
         when(itemRepository.findById(1)).thenReturn(items.getFirst());
         when(itemRepository.findById(2)).thenReturn(items.get(1));
         when(checkoutOrderRepository.add(newOrder)).thenReturn(savedOrder);
-        when(itemRepository.updateCurrentCount(1, -2)).thenReturn(true);
-        when(itemRepository.updateCurrentCount(2, -1)).thenReturn(true);
+        when(itemRepository.decrementCurrentCounts(Map.of(1, 2, 2, 1))).thenReturn(List.of());
         when(checkoutItemRepository.findByCheckoutOrderId(0)).thenReturn(List.of()); // No conflicts
-        when(checkoutItemRepository.add(any())).thenReturn(null); // Don't care about return
+        when(checkoutItemRepository.addAll(checkoutItems)).thenReturn(checkoutItems);
         Result<CheckoutOrder> result = checkoutOrderService.add(newOrder);
         // Then
         assertTrue(result.isSuccess());
         assertNotNull(result.getPayload());
         assertEquals(4, result.getPayload().getCheckoutOrderId());
+        assertTrue(checkoutItems.stream().allMatch(ci -> ci.getCheckoutOrderId() == 4));
+        verify(checkoutItemRepository, times(1)).addAll(checkoutItems);
+        verify(checkoutItemRepository, never()).add(any());
+    }
+
+    @Test
+    void shouldNotAddWhenStudentReachedItemLimitInEarlierOrder() {
+        // Given
+        List<Item> items = makeItems();
+        CheckoutOrder firstOrder = new CheckoutOrder(0, "Z123456789", 1, false, LocalDateTime.now().minusDays(1));
+        firstOrder.setCheckoutItems(List.of(new CheckoutItem(0, 0, 1, 2)));
+        CheckoutOrder secondOrder = new CheckoutOrder(0, "Z123456789", 1, false, LocalDateTime.now());
+        secondOrder.setCheckoutItems(List.of(new CheckoutItem(0, 0, 1, 1)));
+        // When
+        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
+        when(itemRepository.findById(1)).thenReturn(items.getFirst());
+        when(itemRepository.findByIds(List.of(1))).thenReturn(List.of(items.getFirst()));
+        when(checkoutOrderRepository.add(firstOrder)).thenReturn(new CheckoutOrder(4, "Z123456789", 1,
+                false, firstOrder.getCheckoutDate()));
+        when(itemRepository.decrementCurrentCounts(Map.of(1, 2))).thenReturn(List.of());
+        Result<CheckoutOrder> firstResult = checkoutOrderService.add(firstOrder);
+        Result<CheckoutOrder> secondResult = checkoutOrderService.add(secondOrder);
+        // Then
+        assertTrue(firstResult.isSuccess());
+        assertFalse(secondResult.isSuccess());
+        assertEquals("Quantity for item Rice exceeds the limit of 2 per 7 days (2 already checked out).",
+                secondResult.getMessages().getFirst());
+        verify(checkoutOrderRepository, never()).add(secondOrder);
     }
 
     @Test
@@ -293,6 +481,32 @@ class CheckoutOrderServiceTest {
         assertTrue(result.getMessages().stream().anyMatch(m -> m.contains("exceeds available stock")));
     }
 
+    @Test
+    void shouldNotAddWhenStockIsTakenAfterValidation() {
+        // Given
+        CheckoutOrder newOrder = new CheckoutOrder(0, "Z123456789", 1,
+                false, LocalDateTime.now());
+        List<Item> items = makeItems();
+        newOrder.setCheckoutItems(List.of(
+                new CheckoutItem(0, 0, 1, 2), // Rice (Item 1)
+                new CheckoutItem(0, 0, 2, 1)  // Beans (Item 2), sold out by a concurrent checkout
+        ));
+        // When
+        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
+        when(itemRepository.findById(1)).thenReturn(items.getFirst());
+        when(itemRepository.findById(2)).thenReturn(items.get(1));
+        when(checkoutOrderRepository.add(newOrder)).thenReturn(new CheckoutOrder(4, "Z123456789", 1,
+                false, newOrder.getCheckoutDate()));
+        when(itemRepository.decrementCurrentCounts(Map.of(1, 2, 2, 1))).thenReturn(List.of(2));
+        Result<CheckoutOrder> result = checkoutOrderService.add(newOrder);
+        // Then
+        assertFalse(result.isSuccess());
+        assertNull(result.getPayload());
+        assertTrue(result.getMessages().contains("Insufficient stock for item ID: 2"));
+        verify(checkoutItemRepository, never()).addAll(any());
+        verify(itemRepository, never()).updateCurrentCount(anyInt(), anyInt());
+    }
+
     @Test
     void shouldNotAddWhenQuantityExceedsItemLimit() {
         // Given
@@ -366,6 +580,23 @@ class CheckoutOrderServiceTest {
         assertEquals(2, result.getPayload().getCheckoutOrderId());
     }
 
+    @Test
+    void shouldNotUpdateOrderOntoStudentOverQuota() {
+        // Given
+        List<CheckoutOrder> orders = makeCheckoutOrders();
+        Map<Integer, Item> itemsById = Map.of(1, makeItems().get(0), 2, makeItems().get(1));
+        quotaTracker.bind(quotaTracker.reserve(new Result<>(), orders.get(0), itemsById), 1);
+        CheckoutOrder moved = new CheckoutOrder(2, "A123456789", 1, true, LocalDateTime.now().minusDays(1));
+        // When
+        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
+        when(checkoutItemRepository.findByCheckoutOrderId(2)).thenReturn(orders.get(1).getCheckoutItems());
+        when(itemRepository.findByIds(anyCollection())).thenReturn(makeItems());
+        Result<CheckoutOrder> result = checkoutOrderService.update(moved);
+        // Then
+        assertEquals(ResultType.INVALID, result.getType());
+        verify(checkoutOrderRepository, never()).update(any());
+    }
+
     @Test
     void shouldNotUpdateWhenCheckoutOrderIdIsMissing() {
         // Given
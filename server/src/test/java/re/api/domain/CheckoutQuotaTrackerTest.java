@@ -0,0 +1,234 @@
+package re.api.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import re.api.data.CheckoutOrderRepository;
+import re.api.models.CheckoutHistoryLine;
+import re.api.models.CheckoutItem;
+import re.api.models.CheckoutOrder;
+import re.api.models.Item;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "checkout-quota.category-limits={'Protein': 3}")
+class CheckoutQuotaTrackerTest {
+
+    @MockitoBean
+    private CheckoutOrderRepository checkoutOrderRepository;
+
+    @Autowired
+    private CheckoutQuotaTracker quotaTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        quotaTracker.clear();
+    }
+
+    @Test
+    void shouldRejectItemLimitReachedAcrossOrders() {
+        // Given
+        CheckoutOrder first = makeOrder("VF10001", LocalDateTime.now().minusDays(2), 1, 2);
+        CheckoutOrder second = makeOrder("VF10001", LocalDateTime.now(), 1, 1);
+        Result<CheckoutOrder> firstResult = new Result<>();
+        Result<CheckoutOrder> secondResult = new Result<>();
+        // When
+        quotaTracker.bind(quotaTracker.reserve(firstResult, first, makeItemsById()), 100);
+        CheckoutQuotaTracker.Reservation reservation = quotaTracker.reserve(secondResult, second, makeItemsById());
+        // Then
+        assertTrue(firstResult.isSuccess());
+        assertNull(reservation);
+        assertEquals(ResultType.INVALID, secondResult.getType());
+        assertEquals("Quantity for item Rice exceeds the limit of 2 per 7 days (2 already checked out).",
+                secondResult.getMessages().getFirst());
+    }
+
+    @Test
+    void shouldRejectBackdatedOrderThatOverfillsLaterWindow() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(checkoutOrderRepository.streamHistory(any(), eq(null))).thenReturn(List.of(
+                makeLine(100, now.minusDays(9), "VF10001", 1, 1),
+                makeLine(101, now.minusDays(1), "VF10001", 1, 2)
+        ).stream());
+        quotaTracker.warmUp();
+        Result<CheckoutOrder> result = new Result<>();
+        // When
+        CheckoutQuotaTracker.Reservation reservation = quotaTracker.reserve(result,
+                makeOrder("VF10001", now.minusDays(5), 1, 1), makeItemsById());
+        // Then
+        assertNull(reservation);
+        assertEquals("Quantity for item Rice exceeds the limit of 2 per 7 days (2 already checked out).",
+                result.getMessages().getFirst());
+    }
+
+    @Test
+    void shouldCheckBackdatedOrderAgainstWindowLeadingUpToIt() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(checkoutOrderRepository.streamHistory(argThat(from -> from.isBefore(now.minusDays(12))), eq(null)))
+                .thenReturn(List.of(makeLine(100, now.minusDays(9), "VF10001", 1, 2)).stream());
+        quotaTracker.warmUp();
+        Result<CheckoutOrder> backdated = new Result<>();
+        Result<CheckoutOrder> current = new Result<>();
+        // When
+        quotaTracker.reserve(backdated, makeOrder("VF10001", now.minusDays(5), 1, 1), makeItemsById());
+        quotaTracker.reserve(current, makeOrder("VF10001", now, 2, 1), makeItemsById());
+        // Then
+        assertFalse(backdated.isSuccess());
+        assertTrue(current.isSuccess());
+    }
+
+    @Test
+    void shouldNotCountOtherStudentsOrOrdersOutsideWindow() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(checkoutOrderRepository.streamHistory(any(), eq(null))).thenReturn(List.of(
+                makeLine(100, now.minusDays(8), "VF10001", 1, 2),
+                makeLine(101, now.minusHours(1), "VF10002", 1, 2)
+        ).stream());
+        quotaTracker.warmUp();
+        Result<CheckoutOrder> result = new Result<>();
+        // When
+        CheckoutQuotaTracker.Reservation reservation = quotaTracker.reserve(result,
+                makeOrder("VF10001", now, 1, 2), makeItemsById());
+        // Then
+        assertTrue(result.isSuccess());
+        assertNotNull(reservation);
+    }
+
+    @Test
+    void shouldRejectCategoryLimitReached() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(checkoutOrderRepository.streamHistory(any(), eq(null))).thenReturn(List.of(
+                makeLine(100, now.minusDays(1), "VF10001", 2, 1),
+                makeLine(100, now.minusDays(1), "VF10001", 3, 1)
+        ).stream());
+        quotaTracker.warmUp();
+        Result<CheckoutOrder> result = new Result<>();
+        // When
+        quotaTracker.reserve(result, makeOrder("VF10001", now, 2, 2), makeItemsById());
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals("Checkout exceeds the limit of 3 per 7 days for category Protein (2 already checked out).",
+                result.getMessages().getFirst());
+    }
+
+    @Test
+    void shouldReleaseReservationOnRollback() {
+        // Given
+        CheckoutOrder order = makeOrder("VF10001", LocalDateTime.now(), 1, 2);
+        Result<CheckoutOrder> rolledBack = new Result<>();
+        Result<CheckoutOrder> result = new Result<>();
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            quotaTracker.bind(quotaTracker.reserve(rolledBack, order, makeItemsById()), 100);
+            status.setRollbackOnly();
+        });
+        quotaTracker.reserve(result, order, makeItemsById());
+        // Then
+        assertTrue(rolledBack.isSuccess());
+        assertTrue(result.isSuccess());
+    }
+
+    @Test
+    void shouldReloadStudentAfterOrderIsEdited() {
+        // Given
+        CheckoutOrder order = makeOrder("VF10001", LocalDateTime.now(), 1, 2);
+        quotaTracker.bind(quotaTracker.reserve(new Result<>(), order, makeItemsById()), 100);
+        Result<CheckoutOrder> result = new Result<>();
+        // When
+        when(checkoutOrderRepository.findHistoryByStudentId(eq("VF10001"), any())).thenReturn(List.of());
+        transactionTemplate.executeWithoutResult(status -> quotaTracker.refreshAfterCompletion(100, null));
+        quotaTracker.reserve(result, order, makeItemsById());
+        // Then
+        assertTrue(result.isSuccess());
+    }
+
+    @Test
+    void shouldCheckEditedOrderInPlaceOfItself() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        quotaTracker.bind(quotaTracker.reserve(new Result<>(), makeOrder("VF10001", now.minusDays(1), 1, 1), makeItemsById()), 100);
+        quotaTracker.bind(quotaTracker.reserve(new Result<>(), makeOrder("VF10001", now, 1, 1), makeItemsById()), 101);
+        CheckoutOrder unchanged = makeOrder("VF10001", now, 1, 1);
+        unchanged.setCheckoutOrderId(101);
+        CheckoutOrder raised = makeOrder("VF10001", now, 1, 2);
+        raised.setCheckoutOrderId(101);
+        Result<CheckoutOrder> unchangedResult = new Result<>();
+        Result<CheckoutOrder> raisedResult = new Result<>();
+        // When
+        quotaTracker.reserveEdit(unchangedResult, unchanged, makeItemsById());
+        quotaTracker.reserveEdit(raisedResult, raised, makeItemsById());
+        // Then
+        assertTrue(unchangedResult.isSuccess());
+        assertEquals(ResultType.INVALID, raisedResult.getType());
+        assertEquals("Quantity for item Rice exceeds the limit of 2 per 7 days (1 already checked out).",
+                raisedResult.getMessages().getFirst());
+    }
+
+    @Test
+    void shouldKeepCheckoutReservedWhileStudentReloads() throws Exception {
+        // Given
+        CheckoutOrder concurrent = makeOrder("VF10001", LocalDateTime.now(), 1, 2);
+        quotaTracker.bind(quotaTracker.reserve(new Result<>(), makeOrder("VF10002", LocalDateTime.now(), 1, 1),
+                makeItemsById()), 100);
+        // When
+        when(checkoutOrderRepository.findHistoryByStudentId(eq("VF10001"), any())).thenAnswer(invocation -> {
+            // Another kiosk checks out while the reload's query runs; it must not wait for it.
+            try (ExecutorService kiosk = Executors.newSingleThreadExecutor()) {
+                kiosk.submit(() -> quotaTracker.bind(quotaTracker.reserve(new Result<>(), concurrent,
+                        makeItemsById()), 200)).get(5, TimeUnit.SECONDS);
+            }
+            return List.of();
+        });
+        quotaTracker.refreshAfterCompletion(100, "VF10001");
+        Result<CheckoutOrder> result = new Result<>();
+        quotaTracker.reserve(result, makeOrder("VF10001", LocalDateTime.now(), 1, 1), makeItemsById());
+        // Then
+        assertEquals(ResultType.INVALID, result.getType());
+    }
+
+    private CheckoutOrder makeOrder(String studentId, LocalDateTime checkoutDate, int itemId, int quantity) {
+        CheckoutOrder order = new CheckoutOrder(0, studentId, 1, true, checkoutDate);
+        order.setCheckoutItems(List.of(new CheckoutItem(0, 0, itemId, quantity)));
+        return order;
+    }
+
+    private CheckoutHistoryLine makeLine(int checkoutOrderId, LocalDateTime checkoutDate, String studentId,
+                                         int itemId, int quantity) {
+        Item item = makeItemsById().get(itemId);
+        return new CheckoutHistoryLine(checkoutOrderId, checkoutDate, studentId, 1, true, itemId,
+                item.getItemName(), item.getCategory(), quantity, BigDecimal.ZERO);
+    }
+
+    private Map<Integer, Item> makeItemsById() {
+        return Map.of(
+                1, new Item(1, "Rice", "Staple food", "Carbs", "http://image1", "Staple",
+                        100, 2, BigDecimal.ZERO, true),
+                2, new Item(2, "Beans", "Protein source", "Protein", "http://image2", "Protein",
+                        50, 5, BigDecimal.ZERO, true),
+                3, new Item(3, "Lentils", "Protein source", "Protein", "http://image3", "Protein",
+                        50, 5, BigDecimal.ZERO, true)
+        );
+    }
+}
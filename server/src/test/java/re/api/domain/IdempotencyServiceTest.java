@@ -0,0 +1,165 @@
+package re.api.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import re.api.data.IdempotencyKeyRepository;
+import re.api.models.IdempotentResponse;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    private static final String ENDPOINT = "checkout-order";
+    private static final String KEY = "3f1c9a2e-kiosk-7";
+    private static final String HASH = "a".repeat(64);
+
+    @MockitoBean
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setup() {
+        idempotencyService.clear();
+    }
+
+    @Test
+    void shouldClaimNewKey() {
+        // Given
+        // When
+        when(idempotencyKeyRepository.claim(eq(ENDPOINT), eq(KEY), eq(HASH), any())).thenReturn(true);
+        Result<IdempotentResponse> result = idempotencyService.claim(ENDPOINT, KEY, HASH);
+        // Then
+        assertTrue(result.isSuccess());
+        assertNull(result.getPayload());
+    }
+
+    @Test
+    void shouldReplayCompletedKeyFromMemory() {
+        // Given
+        when(idempotencyKeyRepository.claim(eq(ENDPOINT), eq(KEY), eq(HASH), any())).thenReturn(true);
+        idempotencyService.claim(ENDPOINT, KEY, HASH);
+        idempotencyService.complete(ENDPOINT, KEY, HASH, 201, "{\"checkoutOrderId\":11}");
+        // When
+        Result<IdempotentResponse> result = idempotencyService.claim(ENDPOINT, KEY, HASH);
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals(201, result.getPayload().statusCode());
+        assertEquals("{\"checkoutOrderId\":11}", result.getPayload().body());
+        verify(idempotencyKeyRepository, times(1)).claim(anyString(), anyString(), anyString(), any());
+        verify(idempotencyKeyRepository, never()).findByKey(anyString(), anyString());
+    }
+
+    @Test
+    void shouldReplayCompletedKeyFromDatabase() {
+        // Given
+        IdempotentResponse stored = new IdempotentResponse(ENDPOINT, KEY, HASH, 201, "{}",
+                LocalDateTime.now().minusHours(1));
+        // When
+        when(idempotencyKeyRepository.claim(eq(ENDPOINT), eq(KEY), eq(HASH), any())).thenReturn(false);
+        when(idempotencyKeyRepository.findByKey(ENDPOINT, KEY)).thenReturn(stored);
+        Result<IdempotentResponse> first = idempotencyService.claim(ENDPOINT, KEY, HASH);
+        Result<IdempotentResponse> second = idempotencyService.claim(ENDPOINT, KEY, HASH);
+        // Then
+        assertEquals(stored, first.getPayload());
+        assertEquals(stored, second.getPayload());
+        verify(idempotencyKeyRepository, times(1)).findByKey(ENDPOINT, KEY);
+    }
+
+    @Test
+    void shouldNotClaimKeyStillInProgress() {
+        // Given
+        IdempotentResponse pending = new IdempotentResponse(ENDPOINT, KEY, HASH, 0, null, LocalDateTime.now());
+        // When
+        when(idempotencyKeyRepository.claim(eq(ENDPOINT), eq(KEY), eq(HASH), any())).thenReturn(false);
+        when(idempotencyKeyRepository.findByKey(ENDPOINT, KEY)).thenReturn(pending);
+        Result<IdempotentResponse> result = idempotencyService.claim(ENDPOINT, KEY, HASH);
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals(ResultType.DUPLICATE, result.getType());
+    }
+
+    @Test
+    void shouldReclaimKeyLeftPendingPastLease() {
+        // Given
+        IdempotentResponse abandoned = new IdempotentResponse(ENDPOINT, KEY, HASH, 0, null,
+                LocalDateTime.now().minusMinutes(5));
+        // When
+        when(idempotencyKeyRepository.claim(eq(ENDPOINT), eq(KEY), eq(HASH), any())).thenReturn(false);
+        when(idempotencyKeyRepository.findByKey(ENDPOINT, KEY)).thenReturn(abandoned);
+        when(idempotencyKeyRepository.reclaim(eq(ENDPOINT), eq(KEY), eq(HASH), any(), any())).thenReturn(true);
+        Result<IdempotentResponse> result = idempotencyService.claim(ENDPOINT, KEY, HASH);
+        // Then
+        assertTrue(result.isSuccess());
+        assertNull(result.getPayload());
+    }
+
+    @Test
+    void shouldNotReclaimPendingKeyWithinLease() {
+        // Given
+        IdempotentResponse pending = new IdempotentResponse(ENDPOINT, KEY, HASH, 0, null,
+                LocalDateTime.now().minusSeconds(10));
+        // When
+        when(idempotencyKeyRepository.claim(eq(ENDPOINT), eq(KEY), eq(HASH), any())).thenReturn(false);
+        when(idempotencyKeyRepository.findByKey(ENDPOINT, KEY)).thenReturn(pending);
+        Result<IdempotentResponse> result = idempotencyService.claim(ENDPOINT, KEY, HASH);
+        // Then
+        assertEquals(ResultType.DUPLICATE, result.getType());
+        verify(idempotencyKeyRepository, never()).reclaim(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldNotReuseKeyForDifferentRequest() {
+        // Given
+        IdempotentResponse stored = new IdempotentResponse(ENDPOINT, KEY, HASH, 201, "{}", LocalDateTime.now());
+        // When
+        when(idempotencyKeyRepository.claim(eq(ENDPOINT), eq(KEY), anyString(), any())).thenReturn(false);
+        when(idempotencyKeyRepository.findByKey(ENDPOINT, KEY)).thenReturn(stored);
+        Result<IdempotentResponse> result = idempotencyService.claim(ENDPOINT, KEY, "b".repeat(64));
+        // Then
+        assertEquals(ResultType.INVALID, result.getType());
+        assertEquals("Idempotency-Key was already used for a different request.", result.getMessages().getFirst());
+    }
+
+    @Test
+    void shouldTakeOverExpiredKey() {
+        // Given
+        IdempotentResponse expired = new IdempotentResponse(ENDPOINT, KEY, "b".repeat(64), 201, "{}",
+                LocalDateTime.now().minusDays(2));
+        // When
+        when(idempotencyKeyRepository.claim(eq(ENDPOINT), eq(KEY), eq(HASH), any())).thenReturn(false, true);
+        when(idempotencyKeyRepository.findByKey(ENDPOINT, KEY)).thenReturn(expired);
+        Result<IdempotentResponse> result = idempotencyService.claim(ENDPOINT, KEY, HASH);
+        // Then
+        assertTrue(result.isSuccess());
+        assertNull(result.getPayload());
+        verify(idempotencyKeyRepository).deleteByKeyCreatedBefore(eq(ENDPOINT), eq(KEY), any());
+    }
+
+    @Test
+    void shouldNotClaimBlankOrOverlongKey() {
+        // Given
+        // When
+        Result<IdempotentResponse> blank = idempotencyService.claim(ENDPOINT, " ", HASH);
+        Result<IdempotentResponse> overlong = idempotencyService.claim(ENDPOINT,
+                "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), HASH);
+        // Then
+        assertEquals(ResultType.INVALID, blank.getType());
+        assertEquals(ResultType.INVALID, overlong.getType());
+        verify(idempotencyKeyRepository, never()).claim(anyString(), anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,130 @@
+package re.api.domain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import re.api.data.InventoryLedgerRepository;
+import re.api.data.ItemRepository;
+import re.api.models.Item;
+import re.api.models.ItemStock;
+import re.api.models.StockDiscrepancy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class InventoryLedgerServiceTest {
+
+    @MockitoBean
+    private InventoryLedgerRepository inventoryLedgerRepository;
+    @MockitoBean
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private InventoryLedgerService inventoryLedgerService;
+
+    @Test
+    void shouldFindStockAt() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2025, 3, 3, 17, 0);
+        // When
+        when(itemRepository.findById(1)).thenReturn(makeItem());
+        when(inventoryLedgerRepository.findStockAt(1, at)).thenReturn(42);
+        Result<ItemStock> result = inventoryLedgerService.findStockAt(1, at);
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals(new ItemStock(1, at, 42), result.getPayload());
+    }
+
+    @Test
+    void shouldNotFindStockAtForMissingItem() {
+        // Given
+        // When
+        when(itemRepository.findById(999)).thenReturn(null);
+        Result<ItemStock> result = inventoryLedgerService.findStockAt(999, LocalDateTime.now());
+        // Then
+        assertEquals(ResultType.NOT_FOUND, result.getType());
+        verify(inventoryLedgerRepository, never()).findStockAt(anyInt(), any());
+    }
+
+    @Test
+    void shouldNotFindStockAtWithoutTime() {
+        // Given
+        // When
+        Result<ItemStock> result = inventoryLedgerService.findStockAt(1, null);
+        // Then
+        assertEquals(ResultType.INVALID, result.getType());
+    }
+
+    @Test
+    void shouldFindAllStockAt() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2025, 3, 3, 17, 0);
+        List<ItemStock> stock = List.of(new ItemStock(1, at, 42), new ItemStock(2, at, 0));
+        // When
+        when(inventoryLedgerRepository.findAllStockAt(at)).thenReturn(stock);
+        Result<List<ItemStock>> result = inventoryLedgerService.findAllStockAt(at);
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals(stock, result.getPayload());
+    }
+
+    @Test
+    void shouldNotFindAllStockAtWithoutTime() {
+        // Given
+        // When
+        Result<List<ItemStock>> result = inventoryLedgerService.findAllStockAt(null);
+        // Then
+        assertEquals(ResultType.INVALID, result.getType());
+        verify(inventoryLedgerRepository, never()).findAllStockAt(any());
+    }
+
+    @Test
+    void shouldNotFindStockBeforeOpeningBalances() {
+        // Given
+        LocalDateTime opened = LocalDateTime.of(2025, 3, 1, 9, 0);
+        when(inventoryLedgerRepository.findOpeningBalanceTime()).thenReturn(opened);
+        inventoryLedgerService.addOpeningBalances();
+        // When
+        when(itemRepository.findById(1)).thenReturn(makeItem());
+        Result<ItemStock> one = inventoryLedgerService.findStockAt(1, opened.minusSeconds(1));
+        Result<List<ItemStock>> all = inventoryLedgerService.findAllStockAt(opened.minusDays(1));
+        Result<List<ItemStock>> atOpening = inventoryLedgerService.findAllStockAt(opened);
+        when(inventoryLedgerRepository.findOpeningBalanceTime()).thenReturn(null);
+        inventoryLedgerService.addOpeningBalances();
+        // Then
+        assertEquals(ResultType.INVALID, one.getType());
+        assertEquals(ResultType.INVALID, all.getType());
+        assertTrue(atOpening.isSuccess());
+        verify(inventoryLedgerRepository, never()).findStockAt(anyInt(), any());
+        verify(inventoryLedgerRepository).findAllStockAt(opened);
+    }
+
+    @Test
+    void shouldSnapshotFinishedDaysAndReconcile() {
+        // Given
+        List<StockDiscrepancy> discrepancies = List.of(new StockDiscrepancy(1, "Rice", 10, 8));
+        // When
+        when(inventoryLedgerRepository.findDiscrepancies()).thenReturn(discrepancies);
+        inventoryLedgerService.snapshotAndReconcile();
+        // Then
+        verify(inventoryLedgerRepository).addSnapshotsBefore(LocalDate.now());
+        assertEquals(discrepancies, inventoryLedgerService.reconcile());
+    }
+
+    private Item makeItem() {
+        return new Item(1, "Rice", "Staple food", "Carbs",
+                "http://image1", "Staple", 100,
+                2, BigDecimal.ZERO, true);
+    }
+}
@@ -14,11 +14,14 @@ import re.api.models.UserRole;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,31 +41,57 @@ class InventoryLogServiceTest {
     @Test
     void shouldFindAll() {
         // Given
-        List<InventoryLog> logs = makeInventoryLogs();
+        List<InventoryLog> logs = makeInventoryLogsWithDetails();
         // When
         when(logRepository.findAll()).thenReturn(logs);
-        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
-        when(itemRepository.findById(anyInt())).thenReturn(makeItems().getFirst());
         // Then
         List<InventoryLog> result = inventoryLogService.findAll();
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("admin@school.edu", result.getFirst().getAuthority().getUsername());
+        verify(itemRepository, never()).findById(anyInt());
+        verify(appUserRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void shouldFindPage() {
+        // Given
+        List<InventoryLog> logs = makeInventoryLogsWithDetails();
+        // When
+        when(logRepository.findPage(0, 2)).thenReturn(logs);
+        // Then
+        List<InventoryLog> result = inventoryLogService.findPage(0, 2);
+        assertEquals(2, result.size());
+        assertEquals("Beans", result.getLast().getItem().getItemName());
+        assertEquals("admin@school.edu", result.getFirst().getAuthority().getUsername());
+        verify(itemRepository, never()).findByIds(anyCollection());
+    }
+
+    @Test
+    void shouldStreamAll() {
+        // Given
+        List<InventoryLog> streamed = new ArrayList<>();
+        // When
+        when(logRepository.streamAll()).thenReturn(makeInventoryLogsWithDetails().stream());
+        inventoryLogService.streamAll(streamed::add);
+        // Then
+        assertEquals(2, streamed.size());
+        assertEquals("Rice", streamed.getFirst().getItem().getItemName());
+        verify(logRepository, never()).findAll();
     }
 
     @Test
     void shouldFindById() {
         // Given
-        InventoryLog log = makeInventoryLogs().getFirst();
+        InventoryLog log = makeInventoryLogsWithDetails().getFirst();
         // When
         when(logRepository.findById(1)).thenReturn(log);
-        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
-        when(itemRepository.findById(1)).thenReturn(makeItems().getFirst());
         // Then
         InventoryLog result = inventoryLogService.findById(1);
         assertNotNull(result);
         assertEquals(1, result.getLogId());
         assertEquals("Restock", result.getReason());
+        assertEquals("Rice", result.getItem().getItemName());
     }
 
     @Test
@@ -79,9 +108,7 @@ class InventoryLogServiceTest {
     void shouldFindByItemId() {
         // Given
         // When
-        when(logRepository.findByItemId(1)).thenReturn(makeInventoryLogs());
-        when(itemRepository.findById(1)).thenReturn(makeItems().getFirst());
-        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
+        when(logRepository.findByItemId(1)).thenReturn(makeInventoryLogsWithDetails());
         // Then
         List<InventoryLog> result = inventoryLogService.findByItemId(1);
         assertNotNull(result);
@@ -103,9 +130,7 @@ class InventoryLogServiceTest {
     void shouldFindByAuthorityId() {
         // Given
         // When
-        when(logRepository.findByAuthorityId(1)).thenReturn(makeInventoryLogs());
-        when(itemRepository.findById(anyInt())).thenReturn(makeItems().get(0));
-        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
+        when(logRepository.findByAuthorityId(1)).thenReturn(makeInventoryLogsWithDetails());
         // Then
         List<InventoryLog> result = inventoryLogService.findByAuthorityId(1);
         assertNotNull(result);
@@ -127,21 +152,19 @@ class InventoryLogServiceTest {
     void shouldFindByItemName() {
         // Given
         // When
-        when(itemRepository.findByName("Rice")).thenReturn(makeItems().get(0));
-        when(logRepository.findByItemId(1)).thenReturn(makeInventoryLogs());
-        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
-        when(itemRepository.findById(1)).thenReturn(makeItems().get(0));
+        when(logRepository.findByItemName("Rice")).thenReturn(makeInventoryLogsWithDetails());
         // Then
         List<InventoryLog> result = inventoryLogService.findByItemName("Rice");
         assertNotNull(result);
         assertFalse(result.isEmpty());
+        verify(itemRepository, never()).findByName(any());
     }
 
     @Test
     void shouldNotFindByItemName() {
         // Given
         // When
-        when(itemRepository.findByName("Unknown")).thenReturn(null);
+        when(logRepository.findByItemName("Unknown")).thenReturn(List.of());
         // Then
         List<InventoryLog> result = inventoryLogService.findByItemName("Unknown");
         assertNotNull(result);
@@ -151,29 +174,61 @@ class InventoryLogServiceTest {
     @Test
     void shouldFindByAuthorityEmail() {
         // Given
-        AppUser admin = makeAdmin();
         // When
-        when(appUserRepository.findByEmail("admin@school.edu")).thenReturn(admin);
-        when(logRepository.findByAuthorityId(1)).thenReturn(makeInventoryLogs());
-        when(itemRepository.findById(anyInt())).thenReturn(makeItems().getFirst());
-        when(appUserRepository.findById(1)).thenReturn(admin);
+        when(logRepository.findByAuthorityEmail("admin@school.edu")).thenReturn(makeInventoryLogsWithDetails());
         // Then
         List<InventoryLog> result = inventoryLogService.findByAuthorityEmail("admin@school.edu");
         assertNotNull(result);
         assertFalse(result.isEmpty());
+        verify(appUserRepository, never()).findByEmail(any());
     }
 
     @Test
     void shouldNotFindByAuthorityEmail() {
         //Given
         // When
-        when(appUserRepository.findByEmail("notfound@domain.com")).thenReturn(null);
+        when(logRepository.findByAuthorityEmail("notfound@domain.com")).thenReturn(List.of());
         // Then
         List<InventoryLog> result = inventoryLogService.findByAuthorityEmail("notfound@domain.com");
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void shouldFindByTimeRange() {
+        // Given
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        // When
+        when(logRepository.findByTimeRange(from, null, 1, null, "Restock", Paging.MAX_PAGE_SIZE))
+                .thenReturn(makeInventoryLogsWithDetails());
+        Result<List<InventoryLog>> result = inventoryLogService.findByTimeRange(from, null, 1, null, " Restock ", 10_000);
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getPayload().size());
+    }
+
+    @Test
+    void shouldNotFindByTimeRangeWithoutStart() {
+        // Given
+        // When
+        Result<List<InventoryLog>> result = inventoryLogService.findByTimeRange(null, null, null, null, null, 10);
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals(ResultType.INVALID, result.getType());
+        verify(logRepository, never()).findByTimeRange(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldNotFindByTimeRangeWhenStartNotBeforeEnd() {
+        // Given
+        LocalDateTime from = LocalDateTime.now();
+        // When
+        Result<List<InventoryLog>> result = inventoryLogService.findByTimeRange(from, from.minusDays(1), null, null, null, 10);
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals(ResultType.INVALID, result.getType());
+    }
+
     @Test
     void shouldAdd() {
         // Given
@@ -290,15 +345,15 @@ class InventoryLogServiceTest {
     void shouldNotAddWhenDuplicate() {
         // Given
         InventoryLog newLog = new InventoryLog(0, 1, 1, 5, "Restock", LocalDateTime.of(2023, 1, 1, 0, 0));
-        InventoryLog existing = new InventoryLog(5, 1, 1, 5, "Restock", LocalDateTime.of(2023, 1, 1, 0, 0));
         // When
         when(appUserRepository.findById(1)).thenReturn(makeAdmin());
         when(itemRepository.findById(1)).thenReturn(makeItems().get(0));
-        when(logRepository.findAll()).thenReturn(List.of(existing));
+        when(logRepository.existsDuplicate(newLog)).thenReturn(true);
         // Then
         Result<InventoryLog> result = inventoryLogService.add(newLog);
         assertFalse(result.isSuccess());
         assertTrue(result.getMessages().contains("Duplicate log entry detected."));
+        verify(logRepository, never()).findAll();
     }
 
     @Test
@@ -487,6 +542,17 @@ class InventoryLogServiceTest {
         );
     }
 
+    // What the repository hands back: each log joined with its item and authority
+    private List<InventoryLog> makeInventoryLogsWithDetails() {
+        List<InventoryLog> logs = makeInventoryLogs();
+        List<Item> items = makeItems();
+        for (InventoryLog log : logs) {
+            log.setItem(items.get(log.getItemId() - 1));
+            log.setAuthority(makeAdmin());
+        }
+        return logs;
+    }
+
     private AppUser makeAdmin() {
         return new AppUser(1, "admin@school.edu", "password",
                 UserRole.ADMIN, true);
@@ -11,6 +11,8 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -36,22 +38,32 @@ class ItemServiceTest {
         assertEquals("Test Item 1", items.getFirst().getItemName());
     }
 
+    @Test
+    void shouldFindPageWithClampedLimit() {
+        // Given
+        List<Item> testItems = makeTestItems();
+        // When
+        when(itemRepository.findPage(0, Paging.MAX_PAGE_SIZE)).thenReturn(testItems);
+        // Then
+        List<Item> items = itemService.findPage(0, Paging.MAX_PAGE_SIZE + 1);
+        assertEquals(testItems, items);
+    }
+
     @Test
     void shouldFindAllEnabled() {
         // Given
-        List<Item> allItems = List.of(
+        List<Item> enabledItems = List.of(
                 new Item(1, "Rice", "White rice", "Grain", "img.com/1", "Staple", 100, 2, BigDecimal.ZERO, true),
-                new Item(2, "Beans", "Black beans", "Protein", "img.com/2", "Staple", 50, 1, BigDecimal.ZERO, false),
                 new Item(3, "Lentils", "Red lentils", "Protein", "img.com/3", "Staple", 75, 1, BigDecimal.ZERO, true)
         );
         // When
-        when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.findAllEnabled()).thenReturn(enabledItems);
         List<Item> result = itemService.findAllEnabled();
         // Then
         assertEquals(2, result.size());
-        assertTrue(result.stream().allMatch(Item::isEnabled));
         assertEquals("Rice", result.get(0).getItemName());
         assertEquals("Lentils", result.get(1).getItemName());
+        verify(itemRepository, never()).findAll();
     }
 
     @Test
@@ -389,12 +401,13 @@ class ItemServiceTest {
                 BigDecimal.valueOf(9.99), true);
         // When
         when(itemRepository.add(newItem)).thenReturn(newItem);
-        when(itemRepository.findAll()).thenReturn(makeTestItems());
+        when(itemRepository.existsDuplicate(newItem)).thenReturn(true);
         // Then
         Result<Item> result = itemService.add(newItem);
         assertFalse(result.isSuccess());
         assertEquals(1, result.getMessages().size());
         assertEquals("Duplicate items are not allowed.", result.getMessages().getFirst());
+        verify(itemRepository, never()).findAll();
     }
 
     @Test
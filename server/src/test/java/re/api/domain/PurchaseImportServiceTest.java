@@ -0,0 +1,247 @@
+package re.api.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import re.api.data.*;
+import re.api.models.*;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class PurchaseImportServiceTest {
+
+    @MockitoBean
+    private PurchaseOrderRepository purchaseOrderRepository;
+    @MockitoBean
+    private PurchaseItemRepository purchaseItemRepository;
+    @MockitoBean
+    private AppUserRepository appUserRepository;
+    @MockitoBean
+    private VendorRepository vendorRepository;
+    @MockitoBean
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PurchaseImportService purchaseImportService;
+
+    @BeforeEach
+    void setup() {
+        when(appUserRepository.findById(1)).thenReturn(makeAdmin());
+        when(itemRepository.findAll()).thenReturn(makeItems());
+        when(vendorRepository.findAll()).thenReturn(makeVendors());
+        when(purchaseOrderRepository.addAll(anyList())).thenAnswer(invocation -> {
+            List<PurchaseOrder> purchaseOrders = invocation.getArgument(0);
+            for (int i = 0; i < purchaseOrders.size(); i++) {
+                purchaseOrders.get(i).setPurchaseId(100 + i);
+            }
+            return purchaseOrders;
+        });
+        when(purchaseItemRepository.addAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemRepository.updateCurrentCounts(anyMap())).thenReturn(true);
+    }
+
+    @Test
+    void shouldImportCsvGroupedByVendorAndDate() {
+        // Given
+        String csv = """
+                vendor,purchase_date,item,quantity
+                Patel Brothers,2025-06-01,Rice,10
+                1,2025-06-01T00:00,2,5
+
+                Sunrise Foods,2025-06-01 09:30:00,"Rice",3
+                """;
+        // When
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(1, new StringReader(csv),
+                PurchaseImportService.Format.CSV);
+        // Then
+        assertTrue(result.isSuccess(), result.getMessages().toString());
+        assertEquals(2, result.getPayload().size());
+        assertEquals(1, result.getPayload().getFirst().getVendorId());
+        assertEquals(100, result.getPayload().getFirst().getPurchaseId());
+        assertEquals(LocalDateTime.of(2025, 6, 1, 9, 30), result.getPayload().getLast().getPurchaseDate());
+        verify(purchaseItemRepository).addAll(anyList());
+        verify(itemRepository).updateCurrentCounts(Map.of(1, 13, 2, 5));
+    }
+
+    @Test
+    void shouldImportJsonLines() {
+        // Given
+        String jsonLines = """
+                {"vendor": "Sunrise Foods", "purchaseDate": "2025-06-02T08:00:00", "item": "Beans", "quantity": 4}
+                {"vendorId": 2, "purchaseDate": "2025-06-02T08:00:00", "itemId": 1, "quantity": 6}
+                """;
+        // When
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(1, new StringReader(jsonLines),
+                PurchaseImportService.Format.JSON_LINES);
+        // Then
+        assertTrue(result.isSuccess(), result.getMessages().toString());
+        assertEquals(1, result.getPayload().size());
+        assertNull(result.getPayload().getFirst().getPurchaseItems());
+        verify(itemRepository).updateCurrentCounts(Map.of(1, 6, 2, 4));
+    }
+
+    @Test
+    void shouldReportRowErrorsAndWriteNothing() {
+        // Given
+        String csv = """
+                vendor,purchase_date,item,quantity
+                Patel Brothers,2025-06-01,Rice,10
+                Nobody Foods,2025-06-01,Rice,1
+                Patel Brothers,June 1st,Rice,1
+                Patel Brothers,2025-06-01,Disabled Lentils,1
+                Patel Brothers,2025-06-01,Beans,-2
+                """;
+        // When
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(1, new StringReader(csv),
+                PurchaseImportService.Format.CSV);
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals(ResultType.INVALID, result.getType());
+        assertEquals(4, result.getMessages().size());
+        assertTrue(result.getMessages().getFirst().startsWith("Line 3:"));
+        assertTrue(result.getMessages().getLast().startsWith("Line 6:"));
+        verify(purchaseOrderRepository, never()).addAll(anyList());
+        verify(itemRepository, never()).updateCurrentCounts(anyMap());
+    }
+
+    @Test
+    void shouldNotImportDuplicateItemInOrder() {
+        // Given
+        String csv = """
+                vendor,purchase_date,item,quantity
+                1,2025-06-01,1,10
+                1,2025-06-01,rice,5
+                """;
+        // When
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(1, new StringReader(csv),
+                PurchaseImportService.Format.CSV);
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals("Line 3: Duplicate item in purchase order: Item ID 1", result.getMessages().getFirst());
+    }
+
+    @Test
+    void shouldNotImportExistingPurchaseOrder() {
+        // Given
+        String csv = """
+                vendor,purchase_date,item,quantity
+                1,2025-03-18T12:15:00,1,10
+                """;
+        // When
+        when(purchaseOrderRepository.findByAdminIdAndDateRange(1, LocalDateTime.of(2025, 3, 18, 12, 15),
+                LocalDateTime.of(2025, 3, 18, 12, 15)))
+                .thenReturn(List.of(new PurchaseOrder(1, 1, 1, LocalDateTime.of(2025, 3, 18, 12, 15))));
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(1, new StringReader(csv),
+                PurchaseImportService.Format.CSV);
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals("Purchase order for vendor ID 1 on 2025-03-18T12:15 already exists.", result.getMessages().getFirst());
+        verify(purchaseOrderRepository, never()).existsDuplicate(any());
+        verify(purchaseOrderRepository, never()).addAll(anyList());
+    }
+
+    @Test
+    void shouldNotImportInvalidJsonLine() {
+        // Given
+        String jsonLines = """
+                {"vendor": 1, "purchaseDate": "2025-06-02", "item": 1, "quantity": 4}
+                [1, 2025-06-02, 1, 4]
+                """;
+        // When
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(1, new StringReader(jsonLines),
+                PurchaseImportService.Format.JSON_LINES);
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals("Line 2: Not a valid JSON object.", result.getMessages().getFirst());
+    }
+
+    @Test
+    void shouldCapReportedErrors() {
+        // Given
+        StringBuilder csv = new StringBuilder("vendor,purchase_date,item,quantity\n");
+        for (int i = 0; i < 150; i++) {
+            csv.append("1,2025-06-01,9999,1\n");
+        }
+        // When
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(1, new StringReader(csv.toString()),
+                PurchaseImportService.Format.CSV);
+        // Then
+        assertEquals(PurchaseImportService.MAX_REPORTED_ERRORS + 1, result.getMessages().size());
+        assertEquals("50 more row errors not shown.", result.getMessages().getLast());
+    }
+
+    @Test
+    void shouldNotImportEmptyFile() {
+        // Given
+        String csv = "vendor,purchase_date,item,quantity\n";
+        // When
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(1, new StringReader(csv),
+                PurchaseImportService.Format.CSV);
+        // Then
+        assertFalse(result.isSuccess());
+        assertEquals("Import file has no purchase rows.", result.getMessages().getFirst());
+    }
+
+    @Test
+    void shouldNotImportForUnknownAdmin() {
+        // Given
+        // When
+        when(appUserRepository.findById(2)).thenReturn(null);
+        Result<List<PurchaseOrder>> result = purchaseImportService.importPurchases(2, new StringReader(""),
+                PurchaseImportService.Format.CSV);
+        // Then
+        assertEquals(ResultType.NOT_FOUND, result.getType());
+        verify(itemRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldSplitQuotedCsvFields() {
+        // Given
+        String line = "1, \"Beans, Black\" ,\"Say \"\"hi\"\"\",";
+        // When
+        List<String> values = PurchaseImportService.splitCsvLine(line);
+        // Then
+        assertEquals(List.of("1", "Beans, Black", "Say \"hi\"", ""), values);
+    }
+
+    private List<Item> makeItems() {
+        return List.of(
+                new Item(1, "Rice", "Staple food", "Carbs",
+                        "http://image1", "Staple", 100,
+                        2, BigDecimal.ZERO, true),
+                new Item(2, "Beans", "Protein source", "Protein",
+                        "http://image2", "Staple", 50,
+                        1, BigDecimal.ZERO, true),
+                new Item(3, "Disabled Lentils", "Protein source", "Protein",
+                        "http://image3", "Staple", 0,
+                        1, BigDecimal.ZERO, false)
+        );
+    }
+
+    private List<Vendor> makeVendors() {
+        return List.of(
+                new Vendor(1, "Patel Brothers", "999-555-1234", "contact@patelbros.com", true),
+                new Vendor(2, "Sunrise Foods", "888-555-9876", "hello@sunrisefoods.com", true)
+        );
+    }
+
+    private AppUser makeAdmin() {
+        return new AppUser(1, "admin@school.edu", "password",
+                UserRole.ADMIN, true);
+    }
+}
@@ -222,12 +222,11 @@ class PurchaseItemServiceTest {
     void shouldNotUpdateWhenDuplicatePurchaseItemExists() {
         // Given
         PurchaseItem purchaseItem = new PurchaseItem(2, 1, 1, 10); // trying to update
-        PurchaseItem existingDuplicate = new PurchaseItem(99, 1, 1, 10); // same order, same item, different ID (duplicate)
         // When
         when(purchaseOrderRepository.findById(1)).thenReturn(new PurchaseOrder(1, 1, 1, LocalDateTime.now()));
         when(itemRepository.findById(1)).thenReturn(new Item(1, "Item", "desc", "nutri", "https://url", "cat", 10, 2, BigDecimal.TEN, true));
         when(purchaseItemRepository.findById(2)).thenReturn(purchaseItem); // find the current
-        when(purchaseItemRepository.findByPurchaseOrderId(1)).thenReturn(List.of(existingDuplicate)); // show existing duplicate
+        when(purchaseItemRepository.existsDuplicate(purchaseItem)).thenReturn(true); // same order and item under another ID
         // Then
         Result<PurchaseItem> result = purchaseItemService.update(purchaseItem);
         assertNotNull(result);
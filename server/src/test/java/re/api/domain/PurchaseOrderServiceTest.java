@@ -11,10 +11,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -112,14 +117,18 @@ class PurchaseOrderServiceTest {
                 .thenAnswer(invocation -> itemObjects.stream()
                         .filter(i -> i.getItemId() == (invocation.getArgument(0, Integer.class)))
                         .findFirst().orElse(null));
-        when(itemRepository.updateCurrentCount(anyInt(), anyInt())).thenReturn(true);
+        when(itemRepository.updateCurrentCounts(anyMap())).thenReturn(true);
         when(purchaseOrderRepository.add(newOrder)).thenReturn(new PurchaseOrder(10, 1, 1, newOrder.getPurchaseDate()));
-        when(purchaseItemRepository.add(any())).thenReturn(null); // Don't care about return value here
+        when(purchaseItemRepository.addAll(anyList())).thenReturn(items);
         // Then
         Result<PurchaseOrder> result = purchaseOrderService.add(newOrder);
         assertNotNull(result);
         assertTrue(result.isSuccess());
         assertEquals(10, result.getPayload().getPurchaseId());
+        verify(purchaseItemRepository, times(1)).addAll(items);
+        verify(itemRepository, times(1)).updateCurrentCounts(anyMap());
+        verify(purchaseItemRepository, never()).add(any());
+        verify(itemRepository, never()).updateCurrentCount(anyInt(), anyInt());
     }
 
     @Test
@@ -227,12 +236,11 @@ class PurchaseOrderServiceTest {
         when(vendorRepository.findById(1)).thenReturn(makeVendor());
         when(itemRepository.findById(1)).thenReturn(makeItems().getFirst());
         when(purchaseOrderRepository.add(order)).thenReturn(new PurchaseOrder(10, 1, 1, order.getPurchaseDate()));
-        when(purchaseItemRepository.add(any())).thenReturn(null); // Don't care about return value here
-        when(itemRepository.updateCurrentCount(1, 5)).thenReturn(false); // simulate failure
+        when(itemRepository.updateCurrentCounts(Map.of(1, 5))).thenReturn(false); // simulate failure
         Result<PurchaseOrder> result = purchaseOrderService.add(order);
         // Then
         assertFalse(result.isSuccess());
-        assertTrue(result.getMessages().contains("Failed to update item count for item ID: 1"));
+        assertTrue(result.getMessages().contains("Failed to update item counts for purchase order."));
     }
 
     @Test
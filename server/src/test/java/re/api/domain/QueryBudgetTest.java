@@ -0,0 +1,70 @@
+package re.api.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import re.api.data.KnownGoodState;
+import re.api.models.CheckoutOrder;
+import re.api.models.InventoryLog;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static re.api.data.QueryBudget.assertMaxStatements;
+
+// Read paths that enrich every row must stay at a fixed number of statements however many rows
+// they return.
+@SpringBootTest
+class QueryBudgetTest {
+
+    @Autowired
+    CheckoutOrderService checkoutOrderService;
+
+    @Autowired
+    InventoryLogService inventoryLogService;
+
+    @Autowired
+    KnownGoodState knownGoodState;
+
+    @BeforeEach
+    void setup() {
+        knownGoodState.set();
+    }
+
+    @Test
+    void shouldFindAllCheckoutOrdersInFixedStatements() {
+        // Given
+        // When
+        List<CheckoutOrder> checkoutOrders = assertMaxStatements(4, checkoutOrderService::findAll);
+        // Then
+        assertTrue(checkoutOrders.size() > 1);
+    }
+
+    @Test
+    void shouldFindCheckoutOrderPageInFixedStatements() {
+        // Given
+        // When
+        List<CheckoutOrder> checkoutOrders = assertMaxStatements(4, () -> checkoutOrderService.findPage(0, 50));
+        // Then
+        assertTrue(checkoutOrders.size() > 1);
+    }
+
+    @Test
+    void shouldFindInventoryLogPageInFixedStatements() {
+        // Given
+        // When
+        List<InventoryLog> inventoryLogs = assertMaxStatements(1, () -> inventoryLogService.findPage(0, 50));
+        // Then
+        assertFalse(inventoryLogs.isEmpty());
+    }
+
+    @Test
+    void shouldFindAllInventoryLogsInOneStatement() {
+        // Given
+        // When
+        List<InventoryLog> inventoryLogs = assertMaxStatements(1, () -> inventoryLogService.findAll());
+        // Then
+        assertTrue(inventoryLogs.stream().allMatch(log -> log.getItem() != null && log.getAuthority() != null));
+    }
+}
@@ -250,7 +250,7 @@ class VendorServiceTest {
                 "vendora@contact.email", true);
         // When
         when(vendorRepository.add(newVendor)).thenReturn(newVendor);
-        when(vendorRepository.findAll()).thenReturn(makeTestVendors());
+        when(vendorRepository.existsDuplicate(newVendor)).thenReturn(true);
         // Then
         Result<Vendor> result = vendorService.add(newVendor);
         assertNotNull(result);
@@ -267,14 +267,14 @@ class VendorServiceTest {
                 "vendora@contact.email", true);
         // When
         when(vendorRepository.add(newVendor)).thenReturn(newVendor);
-        when(vendorRepository.findAll()).thenReturn(makeTestVendors());
+        when(vendorRepository.existsByName("Vendor A", 0)).thenReturn(true);
         // Then
         Result<Vendor> result = vendorService.add(newVendor);
         assertNotNull(result);
         assertFalse(result.isSuccess());
         assertEquals(ResultType.INVALID, result.getType());
         assertEquals(1, result.getMessages().size());
-        assertEquals("Duplicate vendors are not allowed", result.getMessages().getFirst());
+        assertEquals("Vendor name already exists", result.getMessages().getFirst());
     }
 
     @Test
@@ -0,0 +1,147 @@
+package re.api.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import re.api.data.CheckoutItemRepository;
+import re.api.data.CheckoutOrderRepository;
+import re.api.data.QueryCounter;
+import re.api.domain.CheckoutOrderService;
+import re.api.domain.Paging;
+import re.api.models.CheckoutOrder;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fills the database with a semester of synthetic history at each of several sizes, then times loading
+// every checkout order with its items and authority: in process through CheckoutOrderService.findAll
+// (chunked, batched enrichment), and over HTTP through the streamed GET /api/checkout-order and a
+// single page of it. Statements and time per order should stay flat as the number of orders grows.
+//
+//   mvn test -P load-test -Dtest=CheckoutOrderListLoadTest [-Dload.order-counts=1000,10000,100000
+//       -Dgenerate.months=... -Dload.requests=...]
+//
+// This replaces the contents of the configured database (re_inventory_test by default).
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CheckoutOrderListLoadTest {
+
+    private static final int[] ORDER_COUNTS = Arrays.stream(
+            System.getProperty("load.order-counts", "1000,10000,100000").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    private static final int REQUESTS = Integer.getInteger("load.requests", 5);
+    private static final LocalDate SEMESTER_END = LocalDate.of(2025, 12, 12);
+    // One query each for checkout items, items and authorities per chunk, plus the orders themselves.
+    private static final int STATEMENTS_PER_CHUNK = 3;
+    // Generous enough for a noisy machine; enrichment per row would grow with the orders a hundredfold.
+    private static final double MAX_PER_ORDER_GROWTH = 3.0;
+
+    private record Measurement(int orders, int statements, long findAllNanos, long streamedNanos) {
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CheckoutOrderRepository checkoutOrderRepository;
+
+    @Autowired
+    CheckoutItemRepository checkoutItemRepository;
+
+    @Autowired
+    CheckoutOrderService checkoutOrderService;
+
+    @Test
+    void loadEveryCheckoutOrderAsOrdersGrow() throws Exception {
+        List<Measurement> measurements = new ArrayList<>();
+        for (int orderCount : ORDER_COUNTS) {
+            measurements.add(measure(orderCount));
+        }
+
+        System.out.printf("[load] %-10s %-12s %-22s %-22s%n", "orders", "statements", "findAll p50 (us/order)",
+                "streamed p50 (us/order)");
+        for (Measurement m : measurements) {
+            System.out.printf("[load] %-10d %-12d %-22.2f %-22.2f%n", m.orders(), m.statements(),
+                    m.findAllNanos() / 1e3 / m.orders(), m.streamedNanos() / 1e3 / m.orders());
+        }
+
+        for (Measurement m : measurements) {
+            int chunks = (m.orders() + Paging.STREAM_CHUNK_SIZE - 1) / Paging.STREAM_CHUNK_SIZE;
+            assertTrue(m.statements() <= 1 + STATEMENTS_PER_CHUNK * chunks,
+                    "%d statements for %d orders".formatted(m.statements(), m.orders()));
+        }
+        Measurement smallest = measurements.getFirst();
+        Measurement largest = measurements.getLast();
+        double growth = ((double) largest.findAllNanos() / largest.orders())
+                / ((double) smallest.findAllNanos() / smallest.orders());
+        assertTrue(growth < MAX_PER_ORDER_GROWTH, "findAll time per order grew %.1fx".formatted(growth));
+    }
+
+    private Measurement measure(int orderCount) throws Exception {
+        SyntheticDataGenerator.Scale scale = SyntheticDataGenerator.Scale.fromSystemProperties()
+                .withCheckoutOrders(orderCount, SEMESTER_END);
+        long started = System.nanoTime();
+        new SyntheticDataGenerator(jdbcTemplate, checkoutOrderRepository, checkoutItemRepository, 42)
+                .generate(scale, SEMESTER_END);
+        Integer orders = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM checkout_order;", Integer.class);
+        System.out.printf("[load] generated %s with %d checkout orders in %.1f s%n",
+                scale, orders, (System.nanoTime() - started) / 1e9);
+
+        List<Long> latencies = new ArrayList<>();
+        int statements = 0;
+        for (int i = 0; i < REQUESTS + 1; i++) {
+            List<CheckoutOrder> checkoutOrders;
+            try (QueryCounter.Scope scope = QueryCounter.open()) {
+                started = System.nanoTime();
+                checkoutOrders = checkoutOrderService.findAll();
+                if (i > 0) {
+                    latencies.add(System.nanoTime() - started);
+                }
+                statements = Math.max(statements, scope.count());
+            }
+            assertEquals(orders, checkoutOrders.size());
+        }
+        Collections.sort(latencies);
+        long findAllP50 = latencies.get(latencies.size() / 2);
+        System.out.printf("[load] %-28s runs=%d statements=%d p50=%.1f ms max=%.1f ms%n",
+                "findAll orders=" + orders, latencies.size(), statements, findAllP50 / 1e6,
+                latencies.getLast() / 1e6);
+
+        LoadRunner runner = new LoadRunner(port);
+        runner.closedLoop(1, 1, i -> get(runner, "/api/checkout-order"));
+        LoadRunner.Report all = runner.closedLoop(REQUESTS, 1, i -> get(runner, "/api/checkout-order"));
+        all.print("streamed orders=" + orders);
+        LoadRunner.Report page = runner.closedLoop(REQUESTS * 10, 1,
+                i -> get(runner, "/api/checkout-order?after=0&limit=500"));
+        page.print("page limit=500 orders=" + orders);
+
+        assertEquals(0, all.failures() + page.failures(),
+                "failed requests: " + all.failuresByCause() + " " + page.failuresByCause());
+        return new Measurement(orders, statements, findAllP50, p50(all.latencies()));
+    }
+
+    private static HttpRequest get(LoadRunner runner, String path) {
+        return HttpRequest.newBuilder(runner.uri(path)).GET().build();
+    }
+
+    private static long p50(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
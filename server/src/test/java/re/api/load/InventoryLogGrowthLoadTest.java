@@ -0,0 +1,119 @@
+package re.api.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import re.api.data.CheckoutItemRepository;
+import re.api.data.CheckoutOrderRepository;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fills the database with a semester of synthetic history, then keeps doubling inventory_log towards
+// millions of rows and times POST /api/inventory-log at each size. Every write runs the
+// existsDuplicate check, which used to load the whole log; with the index behind it the write latency
+// should stay flat however large the log grows.
+//
+//   mvn test -P load-test -Dtest=InventoryLogGrowthLoadTest [-Dload.inventory-log-rows=...
+//       -Dload.requests=... -Dload.concurrency=...]
+//
+// This replaces the contents of the configured database (re_inventory_test by default).
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class InventoryLogGrowthLoadTest {
+
+    private static final int TARGET_ROWS = Integer.getInteger("load.inventory-log-rows", 2_000_000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 400);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 8);
+    private static final int WARMUP_REQUESTS = 400;
+    private static final LocalDate SEMESTER_END = LocalDate.of(2025, 12, 12);
+    // Generous enough for a noisy machine; a scan of the log would grow with it a thousandfold.
+    private static final double MAX_P50_GROWTH = 3.0;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CheckoutOrderRepository checkoutOrderRepository;
+
+    @Autowired
+    CheckoutItemRepository checkoutItemRepository;
+
+    @Test
+    void writeLatencyStaysFlatAsLogGrows() throws Exception {
+        SyntheticDataGenerator.Scale scale = SyntheticDataGenerator.Scale.fromSystemProperties();
+        new SyntheticDataGenerator(jdbcTemplate, checkoutOrderRepository, checkoutItemRepository, 42)
+                .generate(scale, SEMESTER_END);
+
+        LoadRunner runner = new LoadRunner(port);
+        Random random = new Random(7);
+        AtomicInteger written = new AtomicInteger();
+        runner.closedLoop(WARMUP_REQUESTS, CONCURRENCY, i -> write(runner, scale, random, written));
+
+        List<Long> p50s = new ArrayList<>();
+        for (int rows = logRows(); ; rows = logRows()) {
+            LoadRunner.Report report = runner.closedLoop(REQUESTS, CONCURRENCY, i -> write(runner, scale, random, written));
+            report.print("inventory-log rows=" + rows);
+            assertEquals(0, report.failures(), "failed writes: " + report.failuresByCause());
+            p50s.add(p50(report.latencies()));
+            if (rows >= TARGET_ROWS) {
+                break;
+            }
+            long started = System.nanoTime();
+            doubleLog();
+            System.out.printf("[load] doubled inventory_log in %.1f s%n", (System.nanoTime() - started) / 1e9);
+        }
+
+        double growth = (double) p50s.getLast() / p50s.getFirst();
+        assertTrue(growth < MAX_P50_GROWTH, "p50 write latency grew %.1fx".formatted(growth));
+    }
+
+    // Copies of the existing rows, shifted a year back per doubling so they do not collide with the
+    // duplicate check of the writes being timed.
+    private void doubleLog() {
+        jdbcTemplate.update("""
+                INSERT INTO inventory_log (authority_id, item_id, quantity_change, reason, time_stamp)
+                SELECT authority_id, item_id, quantity_change, reason, time_stamp - INTERVAL 1 YEAR
+                FROM inventory_log;
+                """);
+    }
+
+    private int logRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_log;", Integer.class);
+    }
+
+    // Restocks, so the writes never run an item out; each at its own second, so none is a duplicate.
+    private static HttpRequest write(LoadRunner runner, SyntheticDataGenerator.Scale scale, Random random,
+                                     AtomicInteger written) {
+        LocalDateTime timeStamp = SEMESTER_END.plusDays(1).atStartOfDay().plusSeconds(written.incrementAndGet());
+        String body = """
+                {"authorityId": %d, "itemId": %d, "quantityChange": %d, "reason": "Restock", "timeStamp": "%s"}
+                """.formatted(2 + random.nextInt(SyntheticDataGenerator.AUTHORITY_COUNT),
+                1 + random.nextInt(scale.items()), 1 + random.nextInt(20), timeStamp);
+        return HttpRequest.newBuilder(runner.uri("/api/inventory-log"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long p50(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,73 @@
+package re.api.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Drives the checkout and dashboard endpoints of a server started on a random port and prints
+// throughput and latency percentiles. Subclasses pick the request-thread mode, so the two reports
+// are directly comparable. Excluded from the default build; run with `mvn test -P load-test`.
+// Tune with -Dload.requests (per scenario) and -Dload.concurrency.
+@Tag("load")
+abstract class LoadHarness {
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final LocalDateTime FIRST_CHECKOUT = LocalDateTime.of(2025, 9, 2, 11, 0);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private LoadRunner runner;
+
+    abstract String mode();
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("call set_known_good_state()");
+        runner = new LoadRunner(port);
+    }
+
+    @Test
+    void checkout() throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        LoadRunner.Report report = runner.closedLoop(REQUESTS, CONCURRENCY, i -> {
+            int n = sequence.incrementAndGet();
+            String body = """
+                    {"studentId": "LT%07d", "authorityId": 2, "checkoutDate": "%s",
+                     "checkoutItems": [{"itemId": %d, "quantity": 1}]}
+                    """.formatted(n, FIRST_CHECKOUT.plusSeconds(n), n % 20 + 1);
+            return HttpRequest.newBuilder(runner.uri("/api/checkout-order"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        });
+        report.print(mode() + " checkout");
+        assertTrue(report.failures() < REQUESTS / 10, "too many failed checkouts: " + report.failures());
+    }
+
+    @Test
+    void dashboard() throws Exception {
+        String[] paths = {
+                "/api/checkout-order/hourly-checkout-summary",
+                "/api/checkout-item/popular-items",
+                "/api/checkout-item/popular-categories"
+        };
+        LoadRunner.Report report = runner.closedLoop(REQUESTS, CONCURRENCY,
+                i -> HttpRequest.newBuilder(runner.uri(paths[i % paths.length])).GET().build());
+        report.print(mode() + " dashboard");
+        assertTrue(report.failures() == 0, "failed dashboard requests: " + report.failures());
+    }
+}
@@ -0,0 +1,161 @@
+package re.api.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+// Sends requests to a running server and collects latencies. Client threads are virtual so the client
+// side never becomes the bottleneck being measured.
+final class LoadRunner {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final int port;
+
+    LoadRunner(int port) {
+        this.port = port;
+    }
+
+    URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    // Closed loop: at most `concurrency` requests in flight, the next one leaves as soon as one returns.
+    Report closedLoop(int requests, int concurrency, IntFunction<HttpRequest> requestFactory) throws Exception {
+        Recorder recorder = new Recorder();
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                HttpRequest request = requestFactory.apply(i);
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        send(request, recorder);
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return recorder.report(System.nanoTime() - start);
+    }
+
+    // Open loop: every request leaves at its scheduled offset whether or not earlier ones have returned,
+    // so a slow server shows up as latency instead of a quietly reduced arrival rate.
+    Map<String, Report> openLoop(List<Scheduled> schedule) throws Exception {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        for (Scheduled scheduled : schedule) {
+            recorders.computeIfAbsent(scheduled.label(), label -> new Recorder());
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(schedule.size());
+            for (Scheduled scheduled : schedule) {
+                Recorder recorder = recorders.get(scheduled.label());
+                futures.add(executor.submit(() -> {
+                    long wait = start + scheduled.at().toNanos() - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    send(scheduled.request(), recorder);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Map<String, Report> reports = new LinkedHashMap<>();
+        recorders.forEach((label, recorder) -> reports.put(label, recorder.report(elapsed)));
+        return reports;
+    }
+
+    private void send(HttpRequest request, Recorder recorder) {
+        long sent = System.nanoTime();
+        String failure = null;
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 400) {
+                failure = "HTTP " + status;
+            }
+        } catch (Exception ex) {
+            failure = ex.getClass().getSimpleName();
+        }
+        recorder.record(System.nanoTime() - sent, failure);
+    }
+
+    record Scheduled(Duration at, String label, HttpRequest request) {
+    }
+
+    private static class Recorder {
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+
+        void record(long latency, String failure) {
+            latencies.add(latency);
+            if (failure != null) {
+                failures.merge(failure, 1, Integer::sum);
+            }
+        }
+
+        Report report(long elapsedNanos) {
+            return new Report(new ArrayList<>(latencies), new TreeMap<>(failures), elapsedNanos);
+        }
+    }
+
+    record Report(List<Long> latencies, Map<String, Integer> failuresByCause, long elapsedNanos) {
+
+        int failures() {
+            return failuresByCause.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        void print(String label) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            System.out.printf("[load] %-28s requests=%d failures=%d throughput=%.1f req/s "
+                            + "p50=%.1f ms p95=%.1f ms p99=%.1f ms max=%.1f ms%s%n",
+                    label, sorted.size(), failures(), sorted.size() / (elapsedNanos / 1e9),
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.isEmpty() ? 0 : sorted.getLast()),
+                    failuresByCause.isEmpty() ? "" : " " + failuresByCause);
+        }
+
+        private static long percentile(List<Long> sorted, double p) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            return sorted.get((int) Math.max(0, Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1)));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package re.api.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import re.api.data.CheckoutItemRepository;
+import re.api.data.CheckoutOrderRepository;
+import re.api.domain.CheckoutQuotaTracker;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fills the database with a semester of synthetic history, then replays one weekday's checkout traffic
+// against the REST controllers, compressed into a short window and paced open-loop by the same hourly
+// rush pattern the generator uses. Every checkout is preceded by the kiosk loading the catalog, and the
+// admin dashboard is refreshed alongside. The semester ends yesterday and today is replayed, so every
+// checkout runs the quota check against a window of generated history.
+//
+//   mvn test -P load-test -Dtest=RushHourLoadTest [-Dgenerate.items=... -Dgenerate.students=...
+//       -Dgenerate.months=... -Dgenerate.checkouts-per-day=... -Dload.checkouts=... -Dload.replay-seconds=...
+//       -Dspring.threads.virtual.enabled=true]
+//
+// This replaces the contents of the configured database (re_inventory_test by default).
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RushHourLoadTest {
+
+    private static final int CHECKOUTS = Integer.getInteger("load.checkouts", 3000);
+    private static final int REPLAY_SECONDS = Integer.getInteger("load.replay-seconds", 60);
+    private static final int DASHBOARD_EVERY = 25;
+    private static final String[] DASHBOARD_PATHS = {
+            "/api/checkout-order/hourly-checkout-summary",
+            "/api/checkout-item/popular-items",
+            "/api/checkout-item/popular-categories"
+    };
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CheckoutOrderRepository checkoutOrderRepository;
+
+    @Autowired
+    CheckoutItemRepository checkoutItemRepository;
+
+    @Autowired
+    CheckoutQuotaTracker quotaTracker;
+
+    @Test
+    void replayRushHour() throws Exception {
+        SyntheticDataGenerator.Scale scale = SyntheticDataGenerator.Scale.fromSystemProperties();
+        LocalDate replayDay = LocalDate.now();
+        long started = System.nanoTime();
+        new SyntheticDataGenerator(jdbcTemplate, checkoutOrderRepository, checkoutItemRepository, 42)
+                .generate(scale, replayDay.minusDays(1));
+        // The tracker warmed up from the history the generator just replaced
+        quotaTracker.clear();
+        quotaTracker.warmUp();
+        System.out.printf("[load] generated %s in %.1f s%n", scale, (System.nanoTime() - started) / 1e9);
+
+        LoadRunner runner = new LoadRunner(port);
+        Map<String, LoadRunner.Report> reports = runner.openLoop(schedule(runner, scale, replayDay, new Random(7)));
+        reports.forEach((label, report) -> report.print("rush-hour " + label));
+
+        LoadRunner.Report checkouts = reports.get("checkout");
+        assertTrue(checkouts.failures() <= CHECKOUTS / 100, "failed checkouts: " + checkouts.failures());
+    }
+
+    private List<LoadRunner.Scheduled> schedule(LoadRunner runner, SyntheticDataGenerator.Scale scale,
+                                                LocalDate replayDay, Random random) {
+        int openSeconds = SyntheticDataGenerator.OPEN_HOURS.length * 3600;
+        double compression = (double) REPLAY_SECONDS / openSeconds;
+
+        List<LoadRunner.Scheduled> schedule = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            int hour = SyntheticDataGenerator.pickHour(random);
+            int secondOfHour = random.nextInt(3600);
+            LocalDateTime checkoutDate = replayDay.atTime(hour, 0).plusSeconds(secondOfHour);
+            Duration at = Duration.ofMillis((long) (((hour - SyntheticDataGenerator.OPEN_HOURS[0]) * 3600L
+                    + secondOfHour) * compression * 1000));
+
+            schedule.add(new LoadRunner.Scheduled(at, "catalog",
+                    HttpRequest.newBuilder(runner.uri("/api/item/enabled")).GET().build()));
+            schedule.add(new LoadRunner.Scheduled(at.plusMillis(Math.round(30_000 * compression)), "checkout",
+                    checkout(runner, scale, random, checkoutDate)));
+            if (i % DASHBOARD_EVERY == 0) {
+                schedule.add(new LoadRunner.Scheduled(at, "dashboard",
+                        HttpRequest.newBuilder(runner.uri(DASHBOARD_PATHS[i / DASHBOARD_EVERY % DASHBOARD_PATHS.length]))
+                                .GET().build()));
+            }
+        }
+        schedule.sort(Comparator.comparing(LoadRunner.Scheduled::at));
+        return schedule;
+    }
+
+    private HttpRequest checkout(LoadRunner runner, SyntheticDataGenerator.Scale scale, Random random,
+                                 LocalDateTime checkoutDate) {
+        Set<Integer> itemIds = new LinkedHashSet<>();
+        int lines = Math.min(scale.items(), 1 + random.nextInt(4));
+        while (itemIds.size() < lines) {
+            itemIds.add(1 + random.nextInt(scale.items()));
+        }
+        String items = itemIds.stream()
+                .map(itemId -> "{\"itemId\": %d, \"quantity\": %d}".formatted(itemId, 1 + random.nextInt(2)))
+                .collect(Collectors.joining(", "));
+        String body = """
+                {"studentId": "%s", "authorityId": %d, "selfCheckout": %b, "checkoutDate": "%s",
+                 "checkoutItems": [%s]}
+                """.formatted(SyntheticDataGenerator.studentId(1 + random.nextInt(scale.students())),
+                2 + random.nextInt(SyntheticDataGenerator.AUTHORITY_COUNT), random.nextBoolean(), checkoutDate, items);
+        return HttpRequest.newBuilder(runner.uri("/api/checkout-order"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package re.api.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import re.api.data.CheckoutItemRepository;
+import re.api.data.CheckoutOrderRepository;
+import re.api.data.InventoryLedgerRepository;
+import re.api.domain.InventoryLedgerService;
+import re.api.models.ItemStock;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fills the database with years of synthetic history and its inventory ledger, rolls up all but the
+// last week into daily snapshots (a nightly job that has fallen behind), then asks the point-in-time
+// stock endpoint for every item at random moments across the whole history. A full replay of the
+// ledger is timed alongside for comparison, and spot-checked against the endpoint's answers.
+//
+//   mvn test -P load-test -Dtest=StockHistoryLoadTest [-Dgenerate.months=... -Dgenerate.items=...
+//       -Dgenerate.checkouts-per-day=... -Dload.requests=...]
+//
+// This replaces the contents of the configured database (re_inventory_test by default).
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StockHistoryLoadTest {
+
+    private static final int MONTHS = 36;
+    private static final int REQUESTS = Integer.getInteger("load.requests", 200);
+    private static final int WARMUP_REQUESTS = 20;
+    private static final int UNROLLED_DAYS = 7;
+    private static final int REPLAY_CHECKS = 3;
+    private static final LocalDate LAST_DAY = LocalDate.of(2025, 12, 12);
+    private static final Duration BUDGET = Duration.ofSeconds(1);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CheckoutOrderRepository checkoutOrderRepository;
+
+    @Autowired
+    CheckoutItemRepository checkoutItemRepository;
+
+    @Autowired
+    InventoryLedgerRepository inventoryLedgerRepository;
+
+    @Autowired
+    InventoryLedgerService inventoryLedgerService;
+
+    @Test
+    void answerStockAtAnyPointInHistory() throws Exception {
+        SyntheticDataGenerator.Scale scale = SyntheticDataGenerator.Scale.fromSystemProperties(MONTHS);
+        long started = System.nanoTime();
+        new SyntheticDataGenerator(jdbcTemplate, checkoutOrderRepository, checkoutItemRepository, 42)
+                .generate(scale, LAST_DAY);
+        Integer entries = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_ledger;", Integer.class);
+        System.out.printf("[load] generated %s with %d ledger entries in %.1f s%n",
+                scale, entries, (System.nanoTime() - started) / 1e9);
+        // The generated ledger opens at the start of its history rather than when the app started.
+        inventoryLedgerService.addOpeningBalances();
+
+        started = System.nanoTime();
+        int snapshots = inventoryLedgerRepository.addSnapshotsBefore(LAST_DAY.minusDays(UNROLLED_DAYS - 1));
+        System.out.printf("[load] rolled up %d snapshots in %.1f s%n", snapshots, (System.nanoTime() - started) / 1e9);
+
+        LocalDateTime first = LAST_DAY.minusMonths(scale.months()).atStartOfDay();
+        long span = Duration.between(first, LAST_DAY.plusDays(1).atStartOfDay()).toSeconds();
+        Random random = new Random(7);
+
+        for (int i = 0; i < REPLAY_CHECKS; i++) {
+            LocalDateTime at = first.plusSeconds((long) (random.nextDouble() * span));
+            started = System.nanoTime();
+            List<Integer> replayed = fullReplay(at);
+            System.out.printf("[load] full ledger replay at %s took %.1f ms%n", at, (System.nanoTime() - started) / 1e6);
+            assertEquals(replayed, inventoryLedgerRepository.findAllStockAt(at).stream().map(ItemStock::stock).toList(),
+                    "stock at " + at);
+        }
+
+        LoadRunner runner = new LoadRunner(port);
+        IntFunction<HttpRequest> stockAt = i -> HttpRequest.newBuilder(
+                runner.uri("/api/item/stock?at=" + first.plusSeconds((long) (random.nextDouble() * span))))
+                .GET().build();
+        runner.closedLoop(WARMUP_REQUESTS, 1, stockAt);
+        LoadRunner.Report report = runner.closedLoop(REQUESTS, 1, stockAt);
+        report.print("stock-at");
+
+        assertEquals(0, report.failures(), "failed stock lookups: " + report.failuresByCause());
+        long slowest = Collections.max(report.latencies());
+        assertTrue(slowest < BUDGET.toNanos(), "slowest stock lookup took %.1f ms".formatted(slowest / 1e6));
+    }
+
+    // What the endpoint replaced: every ledger entry up to the moment, summed per item.
+    private List<Integer> fullReplay(LocalDateTime at) {
+        return jdbcTemplate.queryForList("""
+                SELECT COALESCE(SUM(l.quantity_change), 0)
+                FROM item i
+                LEFT JOIN inventory_ledger l
+                  ON l.item_id = i.item_id
+                 AND l.recorded_at <= ?
+                GROUP BY i.item_id
+                ORDER BY i.item_id;
+                """, Integer.class, at);
+    }
+}
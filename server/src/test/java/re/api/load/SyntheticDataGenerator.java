@@ -0,0 +1,273 @@
+package re.api.load;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import re.api.data.CheckoutItemRepository;
+import re.api.data.CheckoutOrderRepository;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Replaces the contents of whatever database the JdbcTemplate points at with a seeded, repeatable
+// dataset at the requested scale: a catalog, a student body, and months of weekday checkouts and
+// inventory adjustments shaped like the pantry's real traffic. Works against any schema created from
+// re_createAll.sql (or re_createTest.sql), on MySQL or a MariaDB stand-in.
+final class SyntheticDataGenerator {
+
+    // Pantry hours and the relative share of a day's checkouts each hour gets; 11:00-16:00 is the rush.
+    static final int[] OPEN_HOURS = {10, 11, 12, 13, 14, 15, 16};
+    static final int[] HOUR_WEIGHTS = {1, 3, 4, 4, 2, 3, 2};
+
+    static final int AUTHORITY_COUNT = 5;
+    static final String PASSWORD_HASH = "$2a$10$ntB7CsRKQzuLoKY3rfoAQen5nNyiC/U60wBsWnnYrtQQi8Z3IZzQa";
+
+    private static final String[] CATEGORIES = {
+            "South Asian - Staple", "South Asian - Snack", "South Asian - Prepared Meal",
+            "East Asian - Staple", "East Asian - Snack", "Latin American - Staple",
+            "Latin American - Snack", "Mediterranean - Staple", "Italian - Staple", "Korean - Snack"
+    };
+    private static final String[] REASONS = {"Restock", "Damaged in storage", "Expired", "Count correction"};
+    private static final int BATCH_SIZE = 1000;
+
+    record Scale(int items, int students, int months, int checkoutsPerDay, int inventoryLogsPerDay) {
+
+        static Scale fromSystemProperties() {
+            return fromSystemProperties(4);
+        }
+
+        static Scale fromSystemProperties(int defaultMonths) {
+            return new Scale(
+                    Integer.getInteger("generate.items", 500),
+                    Integer.getInteger("generate.students", 5000),
+                    Integer.getInteger("generate.months", defaultMonths),
+                    Integer.getInteger("generate.checkouts-per-day", 300),
+                    Integer.getInteger("generate.inventory-logs-per-day", 20));
+        }
+
+        // The same scale with checkoutsPerDay chosen so that about this many orders end on lastDay.
+        Scale withCheckoutOrders(int orders, LocalDate lastDay) {
+            long openDays = firstDay(lastDay).datesUntil(lastDay.plusDays(1))
+                    .filter(SyntheticDataGenerator::isOpen)
+                    .count();
+            return new Scale(items, students, months, (int) Math.ceil((double) orders / openDays),
+                    inventoryLogsPerDay);
+        }
+
+        LocalDate firstDay(LocalDate lastDay) {
+            return lastDay.minusMonths(months).plusDays(1);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CheckoutOrderRepository checkoutOrderRepository;
+    private final CheckoutItemRepository checkoutItemRepository;
+    private final Random random;
+
+    SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                           CheckoutOrderRepository checkoutOrderRepository,
+                           CheckoutItemRepository checkoutItemRepository,
+                           long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkoutOrderRepository = checkoutOrderRepository;
+        this.checkoutItemRepository = checkoutItemRepository;
+        this.random = new Random(seed);
+    }
+
+    void generate(Scale scale, LocalDate lastDay) {
+        truncate();
+        insertUsers();
+        insertVendors();
+        insertItems(scale.items());
+
+        LocalDate firstDay = scale.firstDay(lastDay);
+        insertCheckouts(scale, firstDay, lastDay);
+        insertInventoryLogs(scale, firstDay, lastDay);
+        insertLedger(firstDay);
+
+        checkoutOrderRepository.rebuildHourlyCheckoutSummary();
+        checkoutItemRepository.rebuildPopularityTally();
+    }
+
+    static String studentId(int student) {
+        return "S%07d".formatted(student);
+    }
+
+    static int pickHour(Random random) {
+        int total = 0;
+        for (int weight : HOUR_WEIGHTS) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < HOUR_WEIGHTS.length; i++) {
+            roll -= HOUR_WEIGHTS[i];
+            if (roll < 0) {
+                return OPEN_HOURS[i];
+            }
+        }
+        return OPEN_HOURS[OPEN_HOURS.length - 1];
+    }
+
+    // FOREIGN_KEY_CHECKS is per session, so it is switched off and back on around the TRUNCATEs on the
+    // one connection that runs them, never leaving a pooled connection without FK checks.
+    private void truncate() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                try {
+                    for (String table : List.of("inventory_log", "checkout_item", "purchase_item",
+                            "checkout_order", "purchase_order", "vendor", "item", "app_user",
+                            "checkout_hourly_summary", "checkout_item_daily_tally", "inventory_ledger",
+                            "inventory_snapshot", "idempotency_key")) {
+                        statement.execute("TRUNCATE TABLE " + table);
+                    }
+                } finally {
+                    statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+                }
+            }
+            return null;
+        });
+    }
+
+    // Ids are assigned explicitly (tables were just truncated) so child rows can reference them directly.
+    private void insertUsers() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1, "admin@umbc.com", PASSWORD_HASH, "ADMIN"});
+        for (int i = 1; i <= AUTHORITY_COUNT; i++) {
+            rows.add(new Object[]{i + 1, "authority" + i + "@umbc.com", PASSWORD_HASH, "AUTHORITY"});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO app_user (app_user_id, username, password_hash, user_role) VALUES (?, ?, ?, ?);
+                """, rows);
+    }
+
+    private void insertVendors() {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO vendor (vendor_id, vendor_name, phone_number, contact_email) VALUES (?, ?, ?, ?);
+                """, List.of(
+                new Object[]{1, "Patel Brothers", "999-555-1234", "contact@patelbros.com"},
+                new Object[]{2, "Sunrise Foods", "888-555-9876", "hello@sunrisefoods.com"}));
+    }
+
+    // Stock is effectively unlimited so a replayed workload measures the server, not an empty shelf.
+    private void insertItems(int items) {
+        List<Object[]> rows = new ArrayList<>(items);
+        for (int itemId = 1; itemId <= items; itemId++) {
+            rows.add(new Object[]{itemId, "Synthetic Item %05d".formatted(itemId), "Generated for load testing",
+                    "Calories: 150", null, CATEGORIES[itemId % CATEGORIES.length], 1_000_000, 5,
+                    BigDecimal.valueOf(50 + random.nextInt(500), 2)});
+        }
+        batch("""
+                INSERT INTO item (item_id, item_name, item_description, nutrition_facts, picture_path,
+                                  category, current_count, item_limit, price_per_unit)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);
+                """, rows);
+    }
+
+    private void insertCheckouts(Scale scale, LocalDate firstDay, LocalDate lastDay) {
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> lines = new ArrayList<>();
+        int checkoutId = 0;
+
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!isOpen(day)) {
+                continue;
+            }
+            for (int i = 0; i < scale.checkoutsPerDay(); i++) {
+                checkoutId++;
+                LocalDateTime checkoutDate = day.atTime(pickHour(random), random.nextInt(60), random.nextInt(60));
+                orders.add(new Object[]{checkoutId, studentId(1 + random.nextInt(scale.students())),
+                        2 + random.nextInt(AUTHORITY_COUNT), random.nextBoolean(), Timestamp.valueOf(checkoutDate)});
+                for (int itemId : pickItems(scale.items(), 1 + random.nextInt(4))) {
+                    lines.add(new Object[]{checkoutId, itemId, 1 + random.nextInt(3)});
+                }
+            }
+            if (orders.size() >= BATCH_SIZE) {
+                flushCheckouts(orders, lines);
+            }
+        }
+        flushCheckouts(orders, lines);
+    }
+
+    private void flushCheckouts(List<Object[]> orders, List<Object[]> lines) {
+        batch("""
+                INSERT INTO checkout_order (checkout_id, student_id, authority_id, self_checkout, checkout_date)
+                VALUES (?, ?, ?, ?, ?);
+                """, orders);
+        batch("INSERT INTO checkout_item (checkout_id, item_id, quantity) VALUES (?, ?, ?);", lines);
+        orders.clear();
+        lines.clear();
+    }
+
+    private void insertInventoryLogs(Scale scale, LocalDate firstDay, LocalDate lastDay) {
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!isOpen(day)) {
+                continue;
+            }
+            for (int i = 0; i < scale.inventoryLogsPerDay(); i++) {
+                String reason = REASONS[random.nextInt(REASONS.length)];
+                int quantityChange = reason.equals("Restock") ? 10 + random.nextInt(90) : -(1 + random.nextInt(5));
+                rows.add(new Object[]{2 + random.nextInt(AUTHORITY_COUNT), 1 + random.nextInt(scale.items()),
+                        quantityChange, reason,
+                        Timestamp.valueOf(day.atTime(9 + random.nextInt(9), random.nextInt(60)))});
+            }
+        }
+        batch("""
+                INSERT INTO inventory_log (authority_id, item_id, quantity_change, reason, time_stamp)
+                VALUES (?, ?, ?, ?, ?);
+                """, rows);
+    }
+
+    // The ledger the API would have written for that history, opening with whatever balance leaves
+    // every item's entries summing to its current_count. Snapshots are left to the caller.
+    private void insertLedger(LocalDate firstDay) {
+        jdbcTemplate.update("""
+                INSERT INTO inventory_ledger (item_id, quantity_change, recorded_at, source)
+                SELECT ci.item_id, -ci.quantity, o.checkout_date, 'CheckoutOrderService.add'
+                FROM checkout_item ci
+                INNER JOIN checkout_order o ON o.checkout_id = ci.checkout_id
+                UNION ALL
+                SELECT item_id, quantity_change, time_stamp, 'InventoryLogService.add'
+                FROM inventory_log;
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO inventory_ledger (item_id, quantity_change, recorded_at, source)
+                SELECT i.item_id, i.current_count - COALESCE(l.total, 0), ?, 'opening balance'
+                FROM item i
+                LEFT JOIN (
+                    SELECT item_id, SUM(quantity_change) AS total
+                    FROM inventory_ledger
+                    GROUP BY item_id
+                ) l ON l.item_id = i.item_id;
+                """, Timestamp.valueOf(firstDay.atStartOfDay()));
+    }
+
+    // Popular items really are popular: a quarter of the catalog gets most of the picks.
+    private Set<Integer> pickItems(int items, int count) {
+        Set<Integer> itemIds = new LinkedHashSet<>();
+        int popular = Math.max(1, items / 4);
+        while (itemIds.size() < Math.min(count, items)) {
+            itemIds.add(1 + (random.nextInt(4) > 0 ? random.nextInt(popular) : random.nextInt(items)));
+        }
+        return itemIds;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private static boolean isOpen(LocalDate day) {
+        return day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,13 @@
+package re.api.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadLoadTest extends LoadHarness {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
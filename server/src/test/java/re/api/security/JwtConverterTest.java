@@ -0,0 +1,69 @@
+package re.api.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import re.api.models.AppUser;
+import re.api.models.UserRole;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class JwtConverterTest {
+
+    @Autowired
+    private JwtConverter jwtConverter;
+
+    @Test
+    void shouldGetUserFromToken() {
+        // Given
+        AppUser admin = new AppUser(1, "admin@school.edu", "hash", UserRole.ADMIN, true);
+        String token = jwtConverter.getTokenFromUser(admin);
+        // When
+        AppUser result = jwtConverter.getUserFromToken("Bearer " + token);
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.getAppUserId());
+        assertEquals("admin@school.edu", result.getUsername());
+        assertEquals("ROLE_ADMIN", result.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void shouldReturnFreshUserForCachedToken() {
+        // Given
+        AppUser authority = new AppUser(2, "authority@school.edu", "hash", UserRole.AUTHORITY, true);
+        String header = "Bearer " + jwtConverter.getTokenFromUser(authority);
+        // When
+        AppUser first = jwtConverter.getUserFromToken(header);
+        AppUser second = jwtConverter.getUserFromToken(header);
+        // Then
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(2, second.getAppUserId());
+    }
+
+    @Test
+    void shouldNotGetUserFromTamperedToken() {
+        // Given
+        AppUser admin = new AppUser(1, "admin@school.edu", "hash", UserRole.ADMIN, true);
+        String token = jwtConverter.getTokenFromUser(admin);
+        jwtConverter.getUserFromToken("Bearer " + token);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+        // When
+        AppUser result = jwtConverter.getUserFromToken("Bearer " + tampered);
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void shouldNotGetUserWithoutBearerPrefix() {
+        // Given
+        AppUser admin = new AppUser(1, "admin@school.edu", "hash", UserRole.ADMIN, true);
+        String token = jwtConverter.getTokenFromUser(admin);
+        // When
+        AppUser result = jwtConverter.getUserFromToken(token);
+        // Then
+        assertNull(result);
+    }
+}